@@ -17,6 +17,7 @@
 package org.eclipse.jface.text.source.projection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -971,7 +972,13 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			if (commandQueue.passedRedrawCostsThreshold()) {
 				setRedraw(false);
 				try {
-					executeProjectionCommands(commandQueue, false);
+					IDocument visibleDocument= getVisibleDocument();
+					if (visibleDocument instanceof ProjectionDocument) {
+						// many changes, e.g. collapse all: compute the resulting projection in one pass
+						commandQueue.clear();
+						replaceMasterDocumentRanges((ProjectionDocument) visibleDocument);
+					} else
+						executeProjectionCommands(commandQueue, false);
 				} catch (IllegalArgumentException x) {
 					reinitializeProjection();
 				} finally {
@@ -1193,32 +1200,74 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			IDocument master= getDocument();
 			if (master != null) {
 				IDocument slave= manager.createSlaveDocument(master);
-				if (slave instanceof ProjectionDocument) {
+				if (slave instanceof ProjectionDocument)
 					projection= (ProjectionDocument) slave;
-					addMasterDocumentRange(projection, 0, master.getLength());
-				}
 			}
 		}
 
-		if (projection != null) {
-			Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
-			while (e.hasNext()) {
-				ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
-				if (annotation.isCollapsed()) {
-					Position position= fProjectionAnnotationModel.getPosition(annotation);
-					if (position != null) {
-						IRegion[] regions= computeCollapsedRegions(position);
-						if (regions != null)
-							for (IRegion region : regions) {
-								removeMasterDocumentRange(projection, region.getOffset(), region.getLength());
+		if (projection != null)
+			replaceMasterDocumentRanges(projection);
+
+		replaceVisibleDocument(projection);
+	}
+
+	/**
+	 * Replaces the master ranges of the given projection document with the ranges that are not
+	 * hidden by a collapsed annotation of the projection annotation model. The projection is
+	 * computed in one pass over the annotations and applied as a single change.
+	 *
+	 * @param projection the projection document
+	 * @throws BadLocationException in case the annotations are not in sync with the document
+	 * @since 3.25
+	 */
+	private void replaceMasterDocumentRanges(ProjectionDocument projection) throws BadLocationException {
+		IDocument master= projection.getMasterDocument();
+
+		// the hidden ranges, each packed into a long as start offset and end offset
+		long[] hidden= new long[16];
+		int count= 0;
+		Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
+		while (e.hasNext()) {
+			ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
+			if (annotation.isCollapsed()) {
+				Position position= fProjectionAnnotationModel.getPosition(annotation);
+				if (position != null) {
+					IRegion[] regions= computeCollapsedRegions(position);
+					if (regions != null) {
+						for (IRegion region : regions) {
+							// make sure the document range is strictly line based, see removeMasterDocumentRange
+							int start= toLineStart(master, region.getOffset(), false);
+							int end= toLineStart(master, region.getOffset() + region.getLength(), true);
+							if (start < end) {
+								if (count == hidden.length)
+									hidden= Arrays.copyOf(hidden, 2 * count);
+								hidden[count++]= (long) start << 32 | end;
+							}
 						}
 					}
 				}
 			}
+		}
+		Arrays.sort(hidden, 0, count);
 
+		List<IRegion> visible= new ArrayList<>(count + 1);
+		int offset= 0;
+		for (int i= 0; i < count; i++) {
+			int start= (int) (hidden[i] >>> 32);
+			int end= (int) hidden[i];
+			if (offset < start)
+				visible.add(new Region(offset, start - offset));
+			offset= Math.max(offset, end);
 		}
+		if (offset < master.getLength())
+			visible.add(new Region(offset, master.getLength() - offset));
 
-		replaceVisibleDocument(projection);
+		try {
+			fHandleProjectionChanges= false;
+			projection.replaceMasterDocumentRanges(visible.toArray(new IRegion[visible.size()]));
+		} finally {
+			fHandleProjectionChanges= true;
+		}
 	}
 
 	@Override
@@ -13,9 +13,14 @@
  */
 package org.eclipse.jface.internal.text.codemining;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +32,7 @@ import java.util.stream.Collectors;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Rectangle;
 
 import org.eclipse.core.runtime.Assert;
@@ -36,9 +42,19 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
@@ -48,11 +64,110 @@ import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The manager can be made {@link #setViewportScoped(boolean) viewport-scoped}: it then only
+ * requests the code minings of the visible lines and of a prefetch margin around them, caches them
+ * per line and only requests the minings of the lines that are changed or scrolled into the
+ * margin.
+ * </p>
  *
  * @since 3.13
  */
 public class CodeMiningManager implements Runnable {
 
+	/**
+	 * The code minings of a line cached by a viewport-scoped manager. The position marks the start
+	 * of the line and is updated by the document. The positions of the minings belong to their
+	 * providers, so the line tracks copies of them.
+	 *
+	 * @since 3.25
+	 */
+	private static final class CachedLine extends Position {
+
+		/** The minings of the line, may be empty */
+		final List<ICodeMining> fMinings;
+
+		/** The copies of the positions of the minings, by mining */
+		final Map<ICodeMining, Position> fMiningPositions= new IdentityHashMap<>();
+
+		/** The distinct copies of the positions of the minings, registered with the document */
+		final Collection<Position> fPositions;
+
+		CachedLine(int offset, List<ICodeMining> minings) {
+			super(offset);
+			fMinings= minings;
+			Map<Position, Position> copies= new IdentityHashMap<>();
+			for (ICodeMining mining : minings) {
+				Position position= mining.getPosition();
+				fMiningPositions.put(mining, copies.computeIfAbsent(position, p -> new Position(p.getOffset(), p.getLength())));
+			}
+			fPositions= copies.values();
+		}
+	}
+
+	/**
+	 * Invalidates the cached lines touched by document changes and keeps track of the visible
+	 * lines and of the viewer input.
+	 *
+	 * @since 3.25
+	 */
+	private final class ViewportListener implements IViewportListener, IDocumentListener, ITextInputListener {
+
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			updateVisibleLines();
+			updateCodeMiningsOfViewport();
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			IDocument document= event.getDocument();
+			try {
+				int firstLine= document.getLineOfOffset(event.getOffset());
+				int lastLine= document.getLineOfOffset(event.getOffset() + event.getLength());
+				invalidateLines(document, firstLine, lastLine);
+			} catch (BadLocationException e) {
+				clearCache(document);
+			}
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			// the changed lines are requested again by the next update
+			updateVisibleLines();
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null) {
+				oldInput.removeDocumentListener(this);
+				disconnect(oldInput);
+			}
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null) {
+				connect(newInput);
+				newInput.addDocumentListener(this);
+			}
+		}
+	}
+
+	/**
+	 * The position category of the positions of the cached lines.
+	 *
+	 * @since 3.25
+	 */
+	private final String fPositionCategory= getClass().getName() + hashCode();
+
+	/**
+	 * The position updater of {@link #fPositionCategory}.
+	 *
+	 * @since 3.25
+	 */
+	private final IPositionUpdater fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+
 	/**
 	 * The source viewer
 	 */
@@ -73,6 +188,51 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The listener of a viewport-scoped manager, <code>null</code> if the manager is not
+	 * viewport-scoped.
+	 *
+	 * @since 3.25
+	 */
+	private volatile ViewportListener fViewportListener;
+
+	/**
+	 * The cached lines of a viewport-scoped manager. Access is synchronized on the list.
+	 *
+	 * @since 3.25
+	 */
+	private final List<CachedLine> fCachedLines= new ArrayList<>();
+
+	/**
+	 * The number of document changes seen by the cache, used to drop results computed for an
+	 * outdated content. Guarded by {@link #fCachedLines}.
+	 *
+	 * @since 3.25
+	 */
+	private int fCacheGeneration;
+
+	/**
+	 * The first line of the requested lines, including the prefetch margin.
+	 *
+	 * @since 3.25
+	 */
+	private volatile int fFirstRequestedLine;
+
+	/**
+	 * The last line of the requested lines, including the prefetch margin, <code>-1</code> if the
+	 * visible lines are unknown.
+	 *
+	 * @since 3.25
+	 */
+	private volatile int fLastRequestedLine= -1;
+
+	/**
+	 * The lines whose minings are computed with {@link #fMonitor}, <code>null</code> if none.
+	 *
+	 * @since 3.25
+	 */
+	private volatile int[] fPendingLines;
+
 	/**
 	 * Constructor of codemining manager with the given arguments.
 	 *
@@ -97,6 +257,10 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void setCodeMiningProviders(ICodeMiningProvider[] codeMiningProviders) {
 		cancel();
+		if (fViewportListener != null && fViewer.getDocument() != null) {
+			// the cached minings have been computed by the previous providers
+			clearCache(fViewer.getDocument());
+		}
 		if (fCodeMiningProviders != null) {
 			fCodeMiningProviders.stream().forEach(ICodeMiningProvider::dispose);
 		}
@@ -107,12 +271,53 @@ public class CodeMiningManager implements Runnable {
 	 * Uninstalls this codemining manager.
 	 */
 	public void uninstall() {
+		setViewportScoped(false);
 		cancel();
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
 	}
 
+	/**
+	 * Sets whether this manager is viewport-scoped. A viewport-scoped manager only requests the
+	 * code minings of the visible lines and of one viewport height above and below them, see
+	 * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IRegion, IProgressMonitor)}. The
+	 * minings are cached per line until the line is changed, and the requests for lines that are
+	 * scrolled out of the margin are cancelled.
+	 * <p>
+	 * Must be called in the UI thread. The default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param viewportScoped <code>true</code> if this manager should be viewport-scoped
+	 * @since 3.25
+	 */
+	public void setViewportScoped(boolean viewportScoped) {
+		if ((fViewportListener != null) == viewportScoped) {
+			return;
+		}
+		cancel();
+		IDocument document= fViewer.getDocument();
+		if (viewportScoped) {
+			fViewportListener= new ViewportListener();
+			fViewer.addTextInputListener(fViewportListener);
+			fViewer.addViewportListener(fViewportListener);
+			if (document != null) {
+				connect(document);
+				document.addDocumentListener(fViewportListener);
+			}
+			updateVisibleLines();
+		} else {
+			fViewer.removeTextInputListener(fViewportListener);
+			fViewer.removeViewportListener(fViewportListener);
+			if (document != null) {
+				document.removeDocumentListener(fViewportListener);
+				disconnect(document);
+			}
+			fViewportListener= null;
+			fLastRequestedLine= -1;
+		}
+	}
+
 	/**
 	 * Collect, resolve and render the code minings of the viewer.
 	 */
@@ -133,6 +338,10 @@ public class CodeMiningManager implements Runnable {
 	 * Update the code minings.
 	 */
 	private void updateCodeMinings() {
+		if (fViewportListener != null) {
+			updateCodeMiningsOfLines();
+			return;
+		}
 		// Refresh the code minings by using the new progress monitor.
 		fMonitor= new CancellationExceptionMonitor();
 		IProgressMonitor monitor= fMonitor;
@@ -155,6 +364,318 @@ public class CodeMiningManager implements Runnable {
 		if (fMonitor != null) {
 			fMonitor.setCanceled(true);
 		}
+		fPendingLines= null;
+	}
+
+	/**
+	 * Requests the code minings of the lines near the viewport that are not cached yet, and
+	 * renders the cached code minings once they are known.
+	 *
+	 * @since 3.25
+	 */
+	private void updateCodeMiningsOfLines() {
+		IDocument document= fViewer.getDocument();
+		int firstLine= fFirstRequestedLine;
+		int lastLine= fLastRequestedLine;
+		if (document == null || lastLine < 0) {
+			return;
+		}
+		lastLine= Math.min(lastLine, document.getNumberOfLines() - 1);
+		int[] missingLines;
+		int generation;
+		synchronized (fCachedLines) {
+			missingLines= computeMissingLines(document, firstLine, lastLine);
+			generation= fCacheGeneration;
+		}
+
+		fMonitor= new CancellationExceptionMonitor();
+		IProgressMonitor monitor= fMonitor;
+		if (missingLines == null) {
+			renderCachedCodeMinings(Collections.emptySet(), monitor);
+			return;
+		}
+
+		IRegion region;
+		try {
+			int start= document.getLineOffset(missingLines[0]);
+			IRegion last= document.getLineInformation(missingLines[1]);
+			region= new Region(start, last.getOffset() + last.getLength() - start);
+		} catch (BadLocationException e) {
+			// the document has been changed in the meantime
+			return;
+		}
+		fPendingLines= missingLines;
+		getCodeMinings(fViewer, region, fCodeMiningProviders, monitor).thenAccept(symbols -> {
+			// check if request was canceled.
+			monitor.isCanceled();
+			StyledText widget= fViewer.getTextWidget();
+			if (widget == null || widget.isDisposed()) {
+				symbols.forEach(ICodeMining::dispose);
+				return;
+			}
+			// the cache positions are updated by the document in the UI thread
+			widget.getDisplay().asyncExec(() -> {
+				try {
+					Set<Position> changedPositions= cacheLines(document, missingLines, symbols, generation);
+					if (changedPositions != null) {
+						renderCachedCodeMinings(changedPositions, monitor);
+					}
+				} catch (CancellationException e) {
+					// a newer request renders the cached minings
+				}
+			});
+		});
+	}
+
+	/**
+	 * Requests the code minings of the lines which are scrolled into the prefetch margin, and
+	 * cancels the request for lines which are scrolled out of it.
+	 *
+	 * @since 3.25
+	 */
+	private void updateCodeMiningsOfViewport() {
+		if (fCodeMiningProviders == null || fCodeMiningProviders.isEmpty() || fViewer.getAnnotationModel() == null) {
+			return;
+		}
+		IDocument document= fViewer.getDocument();
+		if (document == null) {
+			return;
+		}
+		int firstLine= fFirstRequestedLine;
+		int lastLine= Math.min(fLastRequestedLine, document.getNumberOfLines() - 1);
+		int[] missingLines;
+		synchronized (fCachedLines) {
+			missingLines= computeMissingLines(document, firstLine, lastLine);
+		}
+		int[] pendingLines= fPendingLines;
+		if (missingLines == null || pendingLines != null && pendingLines[0] <= missingLines[0] && missingLines[1] <= pendingLines[1]) {
+			// the lines are known or being computed
+			return;
+		}
+		run();
+	}
+
+	/**
+	 * Computes the first and the last line of the viewport including the prefetch margin.
+	 * Must be called in the UI thread.
+	 *
+	 * @since 3.25
+	 */
+	private void updateVisibleLines() {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed()) {
+			return;
+		}
+		int top= fViewer.getTopIndex();
+		if (top < 0) {
+			return;
+		}
+		// the line count does not depend on the content, which may not be set in the widget yet
+		int visibleLines= Math.max(1, widget.getClientArea().height / Math.max(1, widget.getLineHeight()));
+		fFirstRequestedLine= Math.max(0, top - visibleLines);
+		fLastRequestedLine= top + 2 * visibleLines;
+	}
+
+	/**
+	 * Returns the first and the last of the given lines that are not cached.
+	 *
+	 * @param document the document
+	 * @param firstLine the first line
+	 * @param lastLine the last line
+	 * @return the first and the last line that is not cached, or <code>null</code> if all lines
+	 *         are cached
+	 */
+	private int[] computeMissingLines(IDocument document, int firstLine, int lastLine) {
+		if (lastLine < firstLine) {
+			return null;
+		}
+		BitSet cached= new BitSet(lastLine - firstLine + 1);
+		for (CachedLine line : fCachedLines) {
+			try {
+				int lineNumber= document.getLineOfOffset(line.getOffset());
+				if (lineNumber >= firstLine && lineNumber <= lastLine) {
+					cached.set(lineNumber - firstLine);
+				}
+			} catch (BadLocationException e) {
+				// ignore, the line is invalidated by the pending change
+			}
+		}
+		int first= cached.nextClearBit(0);
+		if (first > lastLine - firstLine) {
+			return null;
+		}
+		int last= lastLine - firstLine;
+		while (cached.get(last)) {
+			last--;
+		}
+		return new int[] { firstLine + first, firstLine + last };
+	}
+
+	/**
+	 * Caches the given minings of the given lines, ignoring the lines that have been cached in the
+	 * meantime. Must be called in the UI thread.
+	 *
+	 * @param document the document
+	 * @param lines the first and last line of the requested lines
+	 * @param minings the minings computed for the lines
+	 * @param generation the generation of the cache the lines have been requested in
+	 * @return the positions of the newly cached minings, or <code>null</code> if the document has
+	 *         been changed since the request
+	 */
+	private Set<Position> cacheLines(IDocument document, int[] lines, List<? extends ICodeMining> minings, int generation) {
+		Set<Position> changedPositions= new HashSet<>();
+		List<ICodeMining> ignoredMinings= new ArrayList<>();
+		synchronized (fCachedLines) {
+			if (generation != fCacheGeneration || fViewportListener == null || document != fViewer.getDocument()) {
+				ignoredMinings.addAll(minings);
+				changedPositions= null;
+			} else {
+				BitSet cached= new BitSet();
+				for (CachedLine line : fCachedLines) {
+					try {
+						cached.set(document.getLineOfOffset(line.getOffset()));
+					} catch (BadLocationException e) {
+						// cannot happen, the document is unchanged
+					}
+				}
+				Map<Integer, List<ICodeMining>> miningsByLine= new LinkedHashMap<>();
+				for (int i= lines[0]; i <= lines[1]; i++) {
+					if (!cached.get(i)) {
+						miningsByLine.put(Integer.valueOf(i), new ArrayList<>());
+					}
+				}
+				for (ICodeMining mining : minings) {
+					List<ICodeMining> lineMinings= null;
+					try {
+						lineMinings= miningsByLine.get(Integer.valueOf(document.getLineOfOffset(mining.getPosition().getOffset())));
+					} catch (BadLocationException e) {
+						// ignore the mining
+					}
+					if (lineMinings != null) {
+						lineMinings.add(mining);
+					} else {
+						ignoredMinings.add(mining);
+					}
+				}
+				try {
+					for (Map.Entry<Integer, List<ICodeMining>> entry : miningsByLine.entrySet()) {
+						CachedLine line= new CachedLine(document.getLineOffset(entry.getKey().intValue()), entry.getValue());
+						document.addPosition(fPositionCategory, line);
+						for (Position position : line.fPositions) {
+							document.addPosition(fPositionCategory, position);
+						}
+						changedPositions.addAll(line.fPositions);
+						fCachedLines.add(line);
+					}
+				} catch (BadLocationException | BadPositionCategoryException e) {
+					logCodeMiningProviderException(e);
+				}
+			}
+			if (fPendingLines == lines) {
+				fPendingLines= null;
+			}
+		}
+		ignoredMinings.forEach(ICodeMining::dispose);
+		return changedPositions;
+	}
+
+	/**
+	 * Removes the cached lines between the given lines from the cache.
+	 *
+	 * @param document the document
+	 * @param firstLine the first line to invalidate
+	 * @param lastLine the last line to invalidate
+	 */
+	private void invalidateLines(IDocument document, int firstLine, int lastLine) {
+		synchronized (fCachedLines) {
+			fCacheGeneration++;
+			for (Iterator<CachedLine> iter= fCachedLines.iterator(); iter.hasNext();) {
+				CachedLine line= iter.next();
+				int lineNumber;
+				try {
+					lineNumber= document.getLineOfOffset(line.getOffset());
+				} catch (BadLocationException e) {
+					lineNumber= firstLine;
+				}
+				if (lineNumber >= firstLine && lineNumber <= lastLine) {
+					iter.remove();
+					removePositions(document, line);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all lines from the cache.
+	 *
+	 * @param document the document the lines are cached for
+	 */
+	private void clearCache(IDocument document) {
+		synchronized (fCachedLines) {
+			fCacheGeneration++;
+			for (CachedLine line : fCachedLines) {
+				removePositions(document, line);
+			}
+			fCachedLines.clear();
+		}
+	}
+
+	private void removePositions(IDocument document, CachedLine line) {
+		try {
+			document.removePosition(fPositionCategory, line);
+			for (Position position : line.fPositions) {
+				document.removePosition(fPositionCategory, position);
+			}
+		} catch (BadPositionCategoryException e) {
+			// the document is disconnected
+		}
+	}
+
+	/**
+	 * Registers the position category of the cached lines with the given document.
+	 *
+	 * @param document the document
+	 */
+	private void connect(IDocument document) {
+		document.addPositionCategory(fPositionCategory);
+		document.addPositionUpdater(fPositionUpdater);
+	}
+
+	/**
+	 * Clears the cache and removes the position category of the cached lines from the given
+	 * document.
+	 *
+	 * @param document the document
+	 */
+	private void disconnect(IDocument document) {
+		cancel();
+		clearCache(document);
+		document.removePositionUpdater(fPositionUpdater);
+		try {
+			document.removePositionCategory(fPositionCategory);
+		} catch (BadPositionCategoryException e) {
+			// the category is not registered
+		}
+	}
+
+	/**
+	 * Renders the cached code minings.
+	 *
+	 * @param changedPositions the positions whose minings have been cached since the last
+	 *            rendering
+	 * @param monitor the progress monitor
+	 */
+	private void renderCachedCodeMinings(Set<Position> changedPositions, IProgressMonitor monitor) {
+		List<ICodeMining> minings= new ArrayList<>();
+		Map<ICodeMining, Position> positions= new IdentityHashMap<>();
+		synchronized (fCachedLines) {
+			for (CachedLine line : fCachedLines) {
+				minings.addAll(line.fMinings);
+				positions.putAll(line.fMiningPositions);
+			}
+		}
+		Map<Position, List<ICodeMining>> groups= groupByLines(minings, positions::get, fCodeMiningProviders);
+		renderCodeMinings(groups, changedPositions, fViewer, monitor);
 	}
 
 	private static void logCodeMiningProviderException(Throwable e) {
@@ -185,8 +706,25 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
 			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
+		return getCodeMinings(viewer, null, providers, monitor);
+	}
+
+	/**
+	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
+	 * for the given region of the given <code>viewer</code> by using the given providers.
+	 *
+	 * @param viewer    the text viewer.
+	 * @param region    the region of the requested lines, <code>null</code> for the whole document.
+	 * @param providers the CodeMining list providers.
+	 * @param monitor   the progress monitor.
+	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
+	 *         for the given region by using the given providers.
+	 * @since 3.25
+	 */
+	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer, IRegion region,
+			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
 		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
+				.map(provider -> region == null ? provider.provideCodeMinings(viewer, monitor) : provider.provideCodeMinings(viewer, region, monitor))
 				.filter(c -> c != null)
 				.map(future -> future.exceptionally(e -> {
 					logCodeMiningProviderException(e);
@@ -206,11 +744,25 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private static Map<Position, List<ICodeMining>> groupByLines(List<? extends ICodeMining> codeMinings,
 			List<ICodeMiningProvider> providers) {
+		return groupByLines(codeMinings, ICodeMining::getPosition, providers);
+	}
+
+	/**
+	 * Returns a sorted Map which groups the given code minings by same position line.
+	 *
+	 * @param codeMinings list of code minings to group.
+	 * @param positions   the function returning the position of a code mining.
+	 * @param providers   CodeMining providers used to retrieve code minings.
+	 * @return a sorted Map which groups the given code minings by same position line.
+	 * @since 3.25
+	 */
+	private static Map<Position, List<ICodeMining>> groupByLines(List<? extends ICodeMining> codeMinings,
+			Function<ICodeMining, Position> positions, List<ICodeMiningProvider> providers) {
 		// sort code minings by lineNumber and provider-rank if
 		Collections.sort(codeMinings, (a, b) -> {
-			if (a.getPosition().offset < b.getPosition().offset) {
+			if (positions.apply(a).offset < positions.apply(b).offset) {
 				return -1;
-			} else if (a.getPosition().offset > b.getPosition().offset) {
+			} else if (positions.apply(a).offset > positions.apply(b).offset) {
 				return 1;
 			} else if (providers.indexOf(a.getProvider()) < providers.indexOf(b.getProvider())) {
 				return -1;
@@ -220,7 +772,7 @@ public class CodeMiningManager implements Runnable {
 				return 0;
 			}
 		});
-		return codeMinings.stream().collect(Collectors.groupingBy(ICodeMining::getPosition, LinkedHashMap::new,
+		return codeMinings.stream().collect(Collectors.groupingBy(positions, LinkedHashMap::new,
 				Collectors.mapping(Function.identity(), Collectors.toList())));
 	}
 
@@ -233,6 +785,21 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer,
 			IProgressMonitor monitor) {
+		renderCodeMinings(groups, null, viewer, monitor);
+	}
+
+	/**
+	 * Render the codemining grouped by line position.
+	 *
+	 * @param groups           code minings grouped by lines position
+	 * @param changedPositions the positions whose minings have changed since the last rendering,
+	 *                         <code>null</code> if all have changed
+	 * @param viewer           the viewer
+	 * @param monitor          the progress monitor
+	 * @since 3.25
+	 */
+	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, Set<Position> changedPositions,
+			ISourceViewer viewer, IProgressMonitor monitor) {
 		// check if request was canceled.
 		monitor.isCanceled();
 		IDocument document= viewer != null ? viewer.getDocument() : null;
@@ -253,6 +820,11 @@ public class CodeMiningManager implements Runnable {
 			boolean inLineHeader= !minings.isEmpty() ? (minings.get(0) instanceof LineHeaderCodeMining) : true;
 			// Try to find existing annotation
 			AbstractInlinedAnnotation ann= fInlinedAnnotationSupport.findExistingAnnotation(pos);
+			if (ann != null && changedPositions != null && !changedPositions.contains(g.getKey())) {
+				// the annotation already shows the cached minings
+				currentAnnotations.add(ann);
+				return;
+			}
 			if (ann == null) {
 				// The annotation doesn't exists, create it.
 				ann= inLineHeader ? new CodeMiningLineHeaderAnnotation(pos, viewer) : new CodeMiningLineContentAnnotation(pos, viewer);
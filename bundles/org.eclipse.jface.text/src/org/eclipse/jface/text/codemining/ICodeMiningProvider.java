@@ -18,6 +18,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 
 /**
@@ -41,6 +42,26 @@ public interface ICodeMiningProvider {
 	 */
 	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor);
 
+	/**
+	 * Compute a list of code minings {@link ICodeMining} for the lines of the given region. This
+	 * is called instead of {@link #provideCodeMinings(ITextViewer, IProgressMonitor)} when the
+	 * viewer only shows the code minings near its visible lines. Minings outside of the region may
+	 * be returned and are then ignored.
+	 * <p>
+	 * The default implementation computes the code minings of the whole document.
+	 * </p>
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the region of the lines whose code minings are requested.
+	 * @param monitor A progress monitor.
+	 * @return An array of future of code minings that resolves to such. The lack of a result can be
+	 *         signaled by returning null, or an empty array.
+	 * @since 3.25
+	 */
+	default CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+		return provideCodeMinings(viewer, monitor);
+	}
+
 	/**
 	 * Dispose code mining provider.
 	 */
@@ -27,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -70,16 +71,56 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 
 	private PopupVisibleTimer fPopupVisibleTimer= new PopupVisibleTimer();
 
+	/**
+	 * The latencies of the processors of the last request built by
+	 * {@link #buildCompletionFuturesOrJobs(int)}.
+	 */
+	private List<ProcessorLatency> fProcessorLatencies= Collections.emptyList();
+
+	/**
+	 * Records how long a content assist processor takes to compute its proposals.
+	 */
+	static final class ProcessorLatency {
+
+		private final String fName;
+		private final long fStartTime;
+		private volatile long fEndTime;
+
+		ProcessorLatency(IContentAssistProcessor processor) {
+			fName= processor.getClass().getName();
+			fStartTime= System.nanoTime();
+		}
+
+		void done() {
+			fEndTime= System.nanoTime();
+		}
+
+		boolean isDone() {
+			return fEndTime != 0;
+		}
+
+		String getName() {
+			return fName;
+		}
+
+		long getMillis() {
+			long endTime= fEndTime;
+			return TimeUnit.NANOSECONDS.toMillis((endTime != 0 ? endTime : System.nanoTime()) - fStartTime);
+		}
+	}
+
 	private static final class ComputingProposal implements ICompletionProposal, ICompletionProposalExtension {
 
 		private final int fOffset;
 		private final int fSize;
 		private int fRemaining;
+		private final List<ProcessorLatency> fLatencies;
 
-		ComputingProposal(int offset, int size) {
+		ComputingProposal(int offset, int size, List<ProcessorLatency> latencies) {
 			fSize= size;
 			fRemaining = size;
 			fOffset = offset;
+			fLatencies= latencies;
 		}
 
 		@Override
@@ -109,10 +150,20 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 
 		@Override
 		public String getAdditionalProposalInfo() {
-			 return NLS.bind(JFaceTextMessages.getString("AsyncCompletionProposalPopup.computingDetails"), new Object[] { //$NON-NLS-1$;
+			StringBuilder info= new StringBuilder(NLS.bind(JFaceTextMessages.getString("AsyncCompletionProposalPopup.computingDetails"), new Object[] { //$NON-NLS-1$;
 				Integer.valueOf(fSize),
 				Integer.valueOf(fSize - fRemaining),
-				Integer.valueOf(fRemaining) });
+				Integer.valueOf(fRemaining) }));
+			// report the pending processors first, so the slow ones are easy to spot
+			for (ProcessorLatency latency : fLatencies) {
+				if (!latency.isDone())
+					info.append(NLS.bind(JFaceTextMessages.getString("AsyncCompletionProposalPopup.pendingProcessor"), latency.getName(), Long.valueOf(latency.getMillis()))); //$NON-NLS-1$
+			}
+			for (ProcessorLatency latency : fLatencies) {
+				if (latency.isDone())
+					info.append(NLS.bind(JFaceTextMessages.getString("AsyncCompletionProposalPopup.completedProcessor"), latency.getName(), Long.valueOf(latency.getMillis()))); //$NON-NLS-1$
+			}
+			return info.toString();
 		}
 
 		@Override
@@ -186,9 +237,11 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 
 	private void computeAndPopulateProposals(int offset, Consumer<List<ICompletionProposal>> callback, boolean createSelector, boolean autoActivated, boolean autoInsert) {
 		List<CompletableFuture<List<ICompletionProposal>>> computationFutures= buildCompletionFuturesOrJobs(offset);
+		List<ProcessorLatency> latencies= fProcessorLatencies;
 		toCancelFutures.addAll(computationFutures);
 		fComputedProposals= Collections.synchronizedList(new ArrayList<>());
-		List<CompletableFuture<Void>> populateFutures= computationFutures.stream().map(future -> future.thenAccept(fComputedProposals::addAll)).collect(Collectors.toList());
+		final List<ICompletionProposal> computedProposals= fComputedProposals;
+		List<CompletableFuture<Void>> populateFutures= computationFutures.stream().map(future -> future.thenAccept(computedProposals::addAll)).collect(Collectors.toList());
 		toCancelFutures.addAll(populateFutures);
 		CompletableFuture<?> aggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
 		toCancelFutures.add(aggregatedPopulateFuture);
@@ -226,10 +279,11 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			if (createSelector) {
 				createProposalSelector();
 			}
-			ComputingProposal computingProposal= new ComputingProposal(offset, populateFutures.size());
+			ComputingProposal computingProposal= new ComputingProposal(offset, populateFutures.size(), latencies);
 			fComputedProposals.add(0, computingProposal);
 			setProposals(fComputedProposals, false);
 			AtomicInteger remaining= new AtomicInteger(populateFutures.size());
+			AtomicBoolean updateScheduled= new AtomicBoolean();
 			final List<ICompletionProposal> requestSpecificProposals= fComputedProposals; //fComputedProposals can be changed/reset later
 			populateFutures= populateFutures.stream().map(future -> future.thenRun(() -> {
 				computingProposal.setRemaining(remaining.decrementAndGet());
@@ -237,8 +291,10 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 					requestSpecificProposals.remove(computingProposal);
 				}
 				Control control= fContentAssistSubjectControlAdapter.getControl();
-				if (!control.isDisposed() && offset == fInvocationOffset) {
+				// processors completing while an update is scheduled are picked up by that update
+				if (!control.isDisposed() && offset == fInvocationOffset && updateScheduled.compareAndSet(false, true)) {
 					control.getDisplay().asyncExec(() -> {
+						updateScheduled.set(false);
 						// Skip if offset has changed while runnable was scheduled
 						// nor when completion "session" was modified or canceled.
 						if (offset != fInvocationOffset || fComputedProposals != requestSpecificProposals) {
@@ -368,10 +424,14 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			// ignore
 		}
 		if (processors == null) {
+			fProcessorLatencies= Collections.emptyList();
 			return Collections.emptyList();
 		}
 		List<CompletableFuture<List<ICompletionProposal>>> futures = new ArrayList<>(processors.size());
+		List<ProcessorLatency> latencies= new ArrayList<>(processors.size());
 		for (IContentAssistProcessor processor : processors) {
+			ProcessorLatency latency= new ProcessorLatency(processor);
+			latencies.add(latency);
 			futures.add(CompletableFuture.supplyAsync(() -> {
 				AtomicReference<List<ICompletionProposal>> result= new AtomicReference<>();
 				SafeRunner.run(() -> {
@@ -382,6 +442,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 						result.set(Arrays.asList(proposals));
 					}
 				});
+				latency.done();
 				List<ICompletionProposal> proposals= result.get();
 				if (proposals == null) { // an error occurred during computeCompletionProposal,
 					// possible improvement: give user feedback by returning an error "proposal" shown
@@ -391,6 +452,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 				return proposals;
 			}));
 		}
+		fProcessorLatencies= latencies;
 		return futures;
 	}
 
@@ -227,6 +227,22 @@ class CompletionProposalPopup implements IContentAssistListener {
 		}
 	}
 
+	/**
+	 * The proposals that are valid after typing a prefix.
+	 *
+	 * @since 3.25
+	 */
+	private static final class FilterStep {
+
+		final String fPrefix;
+		final List<ICompletionProposal> fProposals;
+
+		FilterStep(String prefix, List<ICompletionProposal> proposals) {
+			fPrefix= prefix;
+			fProposals= proposals;
+		}
+	}
+
 	final class ProposalSelectionListener implements KeyListener {
 		@Override
 		public void keyPressed(KeyEvent e) {
@@ -395,6 +411,20 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 * @since 3.1.1
 	 */
 	private final AtomicBoolean fIsFilterPending= new AtomicBoolean(false);
+	/**
+	 * The prefixes typed since the invocation together with the proposals that were valid for
+	 * them, shortest prefix first. Each entry holds a subset of the proposals of the previous
+	 * entry.
+	 *
+	 * @since 3.25
+	 */
+	private final List<FilterStep> fFilterSteps= new ArrayList<>();
+	/**
+	 * The computed proposals on which {@link #fFilterSteps} are based.
+	 *
+	 * @since 3.25
+	 */
+	private List<ICompletionProposal> fFilterStepsBase;
 	/**
 	 * The info message at the bottom of the popup, or <code>null</code> for no popup (if
 	 * ContentAssistant does not provide one).
@@ -1107,6 +1137,9 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 		fLastCompletionOffset= -1;
 
+		fFilterSteps.clear();
+		fFilterStepsBase= null;
+
 		fContentAssistant.fireSessionEndEvent();
 	}
 
@@ -1167,6 +1200,10 @@ class CompletionProposalPopup implements IContentAssistListener {
 		if (oldProposals != fFilteredProposals) // reentrant call was first - abort
 			return;
 
+		// the computed proposals may have grown since the filter steps were recorded
+		if (proposals == fComputedProposals)
+			fFilterSteps.clear();
+
 		if (isValid(fProposalTable)) {
 			if (oldProposal instanceof ICompletionProposalExtension2 && fViewer != null)
 				((ICompletionProposalExtension2) oldProposal).unselected(fViewer);
@@ -1544,8 +1581,14 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return fComputedProposals;
 		}
 
+		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
+		String prefix= getFilterPrefix(document, offset);
+
 		List<ICompletionProposal> proposals;
-		if (offset < fFilterOffset) {
+		if (prefix != null) {
+			proposals= getFilterStepProposals(prefix);
+			fIsFilteredSubset= proposals != fComputedProposals;
+		} else if (offset < fFilterOffset) {
 			proposals= fComputedProposals;
 			fIsFilteredSubset= false;
 		} else {
@@ -1558,7 +1601,6 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
-		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
 		for (ICompletionProposal proposal : proposals) {
@@ -1591,9 +1633,66 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 		}
 
+		if (prefix != null)
+			addFilterStep(prefix, filtered);
 		return filtered;
 	}
 
+	/**
+	 * Returns the text typed between the invocation offset and the given offset.
+	 *
+	 * @param document the document
+	 * @param offset the offset
+	 * @return the typed text or <code>null</code> if it is not available
+	 * @since 3.25
+	 */
+	private String getFilterPrefix(IDocument document, int offset) {
+		if (document == null)
+			return null;
+		try {
+			return document.get(fInvocationOffset, offset - fInvocationOffset);
+		} catch (BadLocationException x) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the proposals that have been valid for the longest already filtered prefix of the
+	 * given prefix. As proposals do not become valid again by typing further, only these proposals
+	 * need to be validated for the given prefix.
+	 *
+	 * @param prefix the text typed since the invocation
+	 * @return the narrowest proposals to filter, the computed proposals if there are none
+	 * @since 3.25
+	 */
+	private List<ICompletionProposal> getFilterStepProposals(String prefix) {
+		if (fFilterStepsBase != fComputedProposals) {
+			fFilterSteps.clear();
+			fFilterStepsBase= fComputedProposals;
+		}
+		for (int i= fFilterSteps.size() - 1; i >= 0; i--) {
+			FilterStep step= fFilterSteps.get(i);
+			if (prefix.startsWith(step.fPrefix))
+				return step.fProposals;
+			fFilterSteps.remove(i);
+		}
+		return fComputedProposals;
+	}
+
+	/**
+	 * Remembers the proposals that are valid for the given prefix.
+	 *
+	 * @param prefix the text typed since the invocation
+	 * @param proposals the proposals valid for the prefix
+	 * @since 3.25
+	 */
+	private void addFilterStep(String prefix, List<ICompletionProposal> proposals) {
+		int last= fFilterSteps.size() - 1;
+		if (last >= 0 && fFilterSteps.get(last).fPrefix.equals(prefix))
+			fFilterSteps.remove(last);
+		fFilterSteps.add(new FilterStep(prefix, proposals));
+	}
+
 	/**
 	 * Requests the proposal shell to take focus.
 	 *
@@ -19,6 +19,9 @@ import java.util.Iterator;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.ControlListener;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +43,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -52,10 +57,16 @@ import org.eclipse.jface.text.TypedPosition;
  * Standard implementation of <code>IPresentationReconciler</code>. This
  * implementation assumes that the tasks performed by its presentation damagers
  * and repairers are lightweight and of low cost. This presentation reconciler
- * runs in the UI thread and always repairs the complete damage caused by a
+ * runs in the UI thread and by default repairs the complete damage caused by a
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * If a viewport margin is set, only the damage within the lines shown by the
+ * viewer, extended by the margin, is repaired right away. The remaining damage
+ * is remembered and repaired once it is scrolled into view. See
+ * {@link #setViewportMargin(int)}.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  */
@@ -64,13 +75,20 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * Prefix of the name of the position category for tracking the damage not yet repaired.
+	 * @since 3.25
+	 */
+	private final static String PENDING_DAMAGE= "__reconciler_pending_damage"; //$NON-NLS-1$
+
 
 	/**
 	 * Internal listener class.
 	 */
 	class InternalListener implements
 			ITextInputListener, IDocumentListener, ITextListener,
-			IDocumentPartitioningListener, IDocumentPartitioningListenerExtension, IDocumentPartitioningListenerExtension2 {
+			IDocumentPartitioningListener, IDocumentPartitioningListenerExtension, IDocumentPartitioningListenerExtension2,
+			IViewportListener, ControlListener {
 
 		/** Set to <code>true</code> if between a document about to be changed and a changed event. */
 		private boolean fDocumentChanging= false;
@@ -92,6 +110,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
 
+					oldDocument.removePositionUpdater(fPendingDamageUpdater);
+					oldDocument.removePositionCategory(fPendingDamageCategory);
+
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
 				}
@@ -112,6 +133,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 				newDocument.addPositionCategory(fPositionCategory);
 				newDocument.addPositionUpdater(fPositionUpdater);
 
+				newDocument.addPositionCategory(fPendingDamageCategory);
+				newDocument.addPositionUpdater(fPendingDamageUpdater);
+
 				newDocument.addDocumentPartitioningListener(this);
 				newDocument.addDocumentListener(this);
 				fViewer.addTextListener(this);
@@ -218,6 +242,20 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 			fChangedDocumentPartitions= null;
 		}
 
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			processPendingDamage();
+		}
+
+		@Override
+		public void controlResized(ControlEvent e) {
+			processPendingDamage();
+		}
+
+		@Override
+		public void controlMoved(ControlEvent e) {
+		}
+
 		/**
 		 * Translates the given text event into the corresponding range of the viewer's document.
 		 *
@@ -265,6 +303,22 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * The name of the position category to track the damage not yet repaired.
+	 * @since 3.25
+	 */
+	private String fPendingDamageCategory;
+	/**
+	 * The position updater for the damage not yet repaired.
+	 * @since 3.25
+	 */
+	private IPositionUpdater fPendingDamageUpdater;
+	/**
+	 * The number of lines above and below the viewport that are repaired right away, or
+	 * <code>-1</code> if the complete damage is repaired.
+	 * @since 3.25
+	 */
+	private int fViewportMargin= -1;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -276,6 +330,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= IDocumentExtension3.DEFAULT_PARTITIONING;
 		fPositionCategory= TRACKED_PARTITION + hashCode();
 		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+		fPendingDamageCategory= PENDING_DAMAGE + hashCode();
+		fPendingDamageUpdater= new DefaultPositionUpdater(fPendingDamageCategory);
 	}
 
 	/**
@@ -298,6 +354,38 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		return fPartitioning;
 	}
 
+	/**
+	 * Sets the number of lines above and below the viewer's viewport whose damage is repaired
+	 * right away. Damage outside of this range is remembered and repaired when it is scrolled into
+	 * view. This avoids rescanning large parts of a big document when a change, such as opening a
+	 * multi-line comment, damages everything up to its end.
+	 * <p>
+	 * The damage is split at line boundaries, where the only state carried over from the preceding
+	 * lines is the content type of the partition, which is tracked by the document partitioner.
+	 * </p>
+	 *
+	 * @param margin the number of lines to repair along with the viewport, or <code>-1</code> to
+	 *            always repair the complete damage, which is the default
+	 * @since 3.25
+	 */
+	public void setViewportMargin(int margin) {
+		Assert.isLegal(margin >= -1);
+		fViewportMargin= margin;
+		if (fViewer != null && margin == -1)
+			processPendingDamage();
+	}
+
+	/**
+	 * Returns the number of lines above and below the viewer's viewport whose damage is repaired
+	 * right away.
+	 *
+	 * @return the viewport margin, or <code>-1</code> if the complete damage is repaired
+	 * @since 3.25
+	 */
+	public int getViewportMargin() {
+		return fViewportMargin;
+	}
+
 	/**
 	 * Registers the given presentation damager for a particular content type.
 	 * If there is already a damager registered for this type, the old damager
@@ -346,6 +434,10 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fInternalListener);
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null)
+			textWidget.addControlListener(fInternalListener);
 
 		IDocument document= viewer.getDocument();
 		if (document != null)
@@ -355,6 +447,10 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fInternalListener);
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed())
+			textWidget.removeControlListener(fInternalListener);
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -546,9 +642,139 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			int offset= damage.getOffset();
+			int end= offset + damage.getLength();
+			IRegion window= computeRepairWindow(document);
+			if (window != null) {
+				int windowEnd= window.getOffset() + window.getLength();
+				if (offset < window.getOffset())
+					addPendingDamage(offset, Math.min(end, window.getOffset()), document);
+				if (end > windowEnd)
+					addPendingDamage(Math.max(offset, windowEnd), end, document);
+				offset= Math.max(offset, window.getOffset());
+				end= Math.min(end, windowEnd);
+			}
+			if (offset < end)
+				repair(offset, end, document);
+		}
+	}
+
+	/**
+	 * Repairs the given range and forgets about any pending damage within it.
+	 *
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range, exclusive
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.25
+	 */
+	private void repair(int offset, int end, IDocument document) {
+		removePendingDamage(offset, end, document);
+		TextPresentation p= createPresentation(new Region(offset, end - offset), document);
+		if (p != null)
+			applyTextRegionCollection(p);
+	}
+
+	/**
+	 * Repairs the pending damage that is within the lines shown by the viewer.
+	 *
+	 * @since 3.25
+	 */
+	private void processPendingDamage() {
+		IDocument document= fViewer.getDocument();
+		if (document == null)
+			return;
+		try {
+			Position[] pending= document.getPositions(fPendingDamageCategory);
+			if (pending.length == 0)
+				return;
+			IRegion window= computeRepairWindow(document);
+			int windowOffset= window == null ? 0 : window.getOffset();
+			int windowEnd= window == null ? document.getLength() : windowOffset + window.getLength();
+			for (Position position : pending) {
+				int offset= Math.max(position.getOffset(), windowOffset);
+				int end= Math.min(position.getOffset() + position.getLength(), windowEnd);
+				if (!position.isDeleted() && offset < end)
+					repair(offset, end, document);
+			}
+		} catch (BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+	}
+
+	/**
+	 * Computes the range of the document whose damage is repaired right away, that is, the lines
+	 * shown by the viewer extended by the viewport margin.
+	 *
+	 * @param document the viewer's document
+	 * @return the range to repair, or <code>null</code> if the complete damage is to be repaired
+	 * @since 3.25
+	 */
+	private IRegion computeRepairWindow(IDocument document) {
+		if (fViewportMargin < 0)
+			return null;
+		int top= fViewer.getTopIndex();
+		int bottom= fViewer.getBottomIndex();
+		if (top < 0 || bottom < top)
+			return null;
+		try {
+			int lines= document.getNumberOfLines();
+			int startLine= Math.max(0, top - fViewportMargin);
+			int endLine= Math.min(lines, bottom + fViewportMargin + 1);
+			int offset= document.getLineOffset(startLine);
+			int end= endLine < lines ? document.getLineOffset(endLine) : document.getLength();
+			return new Region(offset, end - offset);
+		} catch (BadLocationException x) {
+			return null;
+		}
+	}
+
+	/**
+	 * Remembers the given range as damaged, joining it with overlapping or adjacent pending
+	 * damage.
+	 *
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range, exclusive
+	 * @param document the damaged document
+	 * @since 3.25
+	 */
+	private void addPendingDamage(int offset, int end, IDocument document) {
+		try {
+			for (Position position : document.getPositions(fPendingDamageCategory)) {
+				int positionEnd= position.getOffset() + position.getLength();
+				if (position.getOffset() <= end && offset <= positionEnd) {
+					offset= Math.min(offset, position.getOffset());
+					end= Math.max(end, positionEnd);
+					document.removePosition(fPendingDamageCategory, position);
+				}
+			}
+			document.addPosition(fPendingDamageCategory, new Position(offset, end - offset));
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+	}
+
+	/**
+	 * Forgets about the pending damage within the given range.
+	 *
+	 * @param offset the start offset of the range
+	 * @param end the end offset of the range, exclusive
+	 * @param document the damaged document
+	 * @since 3.25
+	 */
+	private void removePendingDamage(int offset, int end, IDocument document) {
+		try {
+			for (Position position : document.getPositions(fPendingDamageCategory)) {
+				int positionEnd= position.getOffset() + position.getLength();
+				if (position.getOffset() < end && offset < positionEnd) {
+					document.removePosition(fPendingDamageCategory, position);
+					if (position.getOffset() < offset)
+						document.addPosition(fPendingDamageCategory, new Position(position.getOffset(), offset - position.getOffset()));
+					if (end < positionEnd)
+						document.addPosition(fPendingDamageCategory, new Position(end, positionEnd - end));
+				}
+			}
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen on input documents
 		}
 	}
 
@@ -109,4 +109,19 @@ public class DirtyRegion implements ITypedRegion {
 		fLength= end - start;
 		fText= (dr.fText == null ? fText : (fText == null) ? dr.fText : fText + dr.fText);
 	}
+
+	/**
+	 * Modify the receiver, which must be an insertion, so that it no longer contains the text
+	 * removed by the given dirty region. The removed range must lie within the receiver.
+	 *
+	 * @param dr the removal to fold into the receiver
+	 * @since 3.25
+	 */
+	void removeText(DirtyRegion dr) {
+		int start= dr.fOffset - fOffset;
+		int end= start + dr.fLength;
+		fLength-= dr.fLength;
+		if (fText != null)
+			fText= fText.substring(0, start) + fText.substring(end);
+	}
 }
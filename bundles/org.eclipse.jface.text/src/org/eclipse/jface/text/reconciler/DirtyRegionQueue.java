@@ -20,7 +20,9 @@ import java.util.List;
 /**
  * Queue used by {@link org.eclipse.jface.text.reconciler.AbstractReconciler} to manage
  * dirty regions. When a dirty region is inserted into the queue, the queue tries
- * to fold it into the neighboring dirty region.
+ * to fold it into the neighboring dirty region. Adjacent insertions and adjacent
+ * removals are merged, and a removal of text inserted by the last dirty region
+ * shrinks that insertion.
  *
  * @see org.eclipse.jface.text.reconciler.AbstractReconciler
  * @see org.eclipse.jface.text.reconciler.DirtyRegion
@@ -61,6 +63,14 @@ class DirtyRegionQueue {
 					}
 				}
 
+		// If the dirty region being added removes text that the last dirty region
+		// inserted (e.g. a typo corrected while typing) then shrink the insertion.
+		if (lastDR != null && !wasMerged && lastDR.getType() == DirtyRegion.INSERT && dr.getType() == DirtyRegion.REMOVE)
+			if (lastDR.getOffset() <= dr.getOffset() && dr.getOffset() + dr.getLength() <= lastDR.getOffset() + lastDR.getLength()) {
+				lastDR.removeText(dr);
+				wasMerged= true;
+			}
+
 		if (!wasMerged)
 			// Don't merge- just add the new one onto the queue.
 			fDirtyRegions.add(dr);
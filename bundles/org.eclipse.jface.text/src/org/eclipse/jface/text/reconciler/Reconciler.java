@@ -16,8 +16,17 @@ package org.eclipse.jface.text.reconciler;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -39,6 +48,11 @@ import org.eclipse.jface.text.TypedRegion;
  * The reconciler is configured with a set of {@linkplain org.eclipse.jface.text.reconciler.IReconcilingStrategy reconciling strategies}
  * each of which is responsible for a particular content type.
  * <p>
+ * The strategies responsible for the different content types of a dirty region
+ * are called one after the other, unless the reconciler is configured to
+ * {@linkplain #setMaximalParallelism(int) run them in parallel}.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  *
@@ -57,6 +71,25 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 	 */
 	private String fPartitioning;
 
+	/**
+	 * The maximal number of strategies that reconcile in parallel.
+	 * @since 3.25
+	 */
+	private int fMaximalParallelism= 1;
+
+	/**
+	 * The executor running strategies in parallel, or <code>null</code> if they run in the
+	 * reconciler thread only.
+	 * @since 3.25
+	 */
+	private volatile ExecutorService fExecutor;
+
+	/**
+	 * The time in nanoseconds each strategy spent in the last reconcile pass.
+	 * @since 3.25
+	 */
+	private final Map<IReconcilingStrategy, Long> fReconcileTimes= new ConcurrentHashMap<>();
+
 	/**
 	 * Creates a new reconciler with the following configuration: it is
 	 * an incremental reconciler with a standard delay of 500 milliseconds. There
@@ -110,6 +143,42 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 		}
 	}
 
+	/**
+	 * Sets the maximal number of reconciling strategies that run in parallel. The strategies
+	 * registered for the different content types of a dirty region are independent of each other;
+	 * with a parallelism greater than one they reconcile their partitions concurrently on a pool of
+	 * background threads, and partitions not yet started are skipped once the progress monitor is
+	 * canceled by a new change. A strategy registered for several content types never runs
+	 * concurrently with itself.
+	 * <p>
+	 * Strategies run in parallel must not rely on running in the reconciler thread. This method
+	 * must be called before the reconciler is installed. The default is <code>1</code>, i.e. all
+	 * strategies run one after the other in the reconciler thread.
+	 * </p>
+	 *
+	 * @param parallelism the maximal number of strategies running in parallel, e.g.
+	 *            {@link Runtime#availableProcessors()}
+	 * @since 3.25
+	 */
+	public void setMaximalParallelism(int parallelism) {
+		Assert.isLegal(parallelism > 0);
+		fMaximalParallelism= parallelism;
+	}
+
+	/**
+	 * Returns the time the strategy registered for the given content type spent reconciling during
+	 * the last processed dirty region.
+	 *
+	 * @param contentType the content type
+	 * @return the time in milliseconds, <code>0</code> if the strategy did not take part
+	 * @since 3.25
+	 */
+	public long getReconcileTime(String contentType) {
+		IReconcilingStrategy strategy= getReconcilingStrategy(contentType);
+		Long time= strategy != null ? fReconcileTimes.get(strategy) : null;
+		return time != null ? TimeUnit.NANOSECONDS.toMillis(time.longValue()) : 0;
+	}
+
 	@Override
 	public IReconcilingStrategy getReconcilingStrategy(String contentType) {
 
@@ -140,15 +209,95 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 
 		ITypedRegion[] regions= computePartitioning(region.getOffset(), region.getLength());
 
+		fReconcileTimes.clear();
+		ExecutorService executor= fExecutor;
+		if (executor != null) {
+			Map<IReconcilingStrategy, List<ITypedRegion>> partitions= new LinkedHashMap<>();
+			for (ITypedRegion r : regions) {
+				IReconcilingStrategy s= getReconcilingStrategy(r.getType());
+				if (s != null)
+					partitions.computeIfAbsent(s, k -> new ArrayList<>()).add(r);
+			}
+			if (partitions.size() > 1) {
+				List<Runnable> tasks= new ArrayList<>(partitions.size());
+				partitions.forEach((s, list) -> tasks.add(() -> {
+					for (ITypedRegion r : list) {
+						if (getProgressMonitor().isCanceled())
+							return;
+						reconcile(s, dirtyRegion, r);
+					}
+				}));
+				runInParallel(executor, tasks);
+				return;
+			}
+		}
+
 		for (ITypedRegion r : regions) {
 			IReconcilingStrategy s= getReconcilingStrategy(r.getType());
 			if (s == null)
 				continue;
 
+			reconcile(s, dirtyRegion, r);
+		}
+	}
+
+	/**
+	 * Lets the given strategy reconcile the given partition and records the time it takes.
+	 *
+	 * @param s the strategy
+	 * @param dirtyRegion the dirty region or <code>null</code> if the whole document is dirty
+	 * @param r the partition
+	 * @since 3.25
+	 */
+	private void reconcile(IReconcilingStrategy s, DirtyRegion dirtyRegion, ITypedRegion r) {
+		long start= System.nanoTime();
+		try {
 			if(dirtyRegion != null)
 				s.reconcile(dirtyRegion, r);
 			else
 				s.reconcile(r);
+		} finally {
+			fReconcileTimes.merge(s, Long.valueOf(System.nanoTime() - start), Long::sum);
+		}
+	}
+
+	/**
+	 * Runs the given tasks in parallel and waits for their completion. The last task runs in the
+	 * calling thread. Exceptions thrown by the tasks are rethrown.
+	 *
+	 * @param executor the executor
+	 * @param tasks the tasks to run
+	 * @since 3.25
+	 */
+	private void runInParallel(ExecutorService executor, List<Runnable> tasks) {
+		List<Future<?>> futures= new ArrayList<>(tasks.size() - 1);
+		for (Runnable task : tasks.subList(0, tasks.size() - 1)) {
+			try {
+				futures.add(executor.submit(task));
+			} catch (RejectedExecutionException e) {
+				// the reconciler has been uninstalled meanwhile
+				task.run();
+			}
+		}
+		try {
+			tasks.get(tasks.size() - 1).run();
+		} finally {
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					futures.forEach(f -> f.cancel(true));
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					Throwable cause= e.getCause();
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					if (cause instanceof Error)
+						throw (Error) cause;
+					throw new RuntimeException(cause);
+				}
+			}
 		}
 	}
 
@@ -166,6 +315,17 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 
 	@Override
 	public void install(ITextViewer textViewer) {
+		if (fMaximalParallelism > 1 && fExecutor == null) {
+			String name= getClass().getName();
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(fMaximalParallelism - 1, fMaximalParallelism - 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, name);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fExecutor= executor;
+		}
 		super.install(textViewer);
 		if (fStrategies != null) {
 			Iterator<IReconcilingStrategy> e= fStrategies.values().iterator();
@@ -190,6 +350,10 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 			}
 		}
 		super.uninstall();
+		if (fExecutor != null) {
+			fExecutor.shutdown();
+			fExecutor= null;
+		}
 	}
 
 	@Override
@@ -212,6 +376,8 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 	protected void initialProcess() {
 		ITypedRegion[] regions= computePartitioning(0, getDocument().getLength());
 		List<String> contentTypes= new ArrayList<>(regions.length);
+		ExecutorService executor= fExecutor;
+		List<IReconcilingStrategyExtension> extensions= new ArrayList<>();
 		for (ITypedRegion region : regions) {
 			String contentType= region.getType();
 			if( contentTypes.contains(contentType))
@@ -220,9 +386,18 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 			IReconcilingStrategy s= getReconcilingStrategy(contentType);
 			if (s instanceof IReconcilingStrategyExtension) {
 				IReconcilingStrategyExtension e= (IReconcilingStrategyExtension) s;
-				e.initialReconcile();
+				if (executor == null)
+					e.initialReconcile();
+				else if (!extensions.contains(e))
+					extensions.add(e);
 			}
 		}
+		if (!extensions.isEmpty()) {
+			List<Runnable> tasks= new ArrayList<>(extensions.size());
+			for (IReconcilingStrategyExtension e : extensions)
+				tasks.add(e::initialReconcile);
+			runInParallel(executor, tasks);
+		}
 	}
 
 	/**
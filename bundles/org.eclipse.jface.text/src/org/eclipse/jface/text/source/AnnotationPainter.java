@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -51,6 +51,7 @@ import org.eclipse.jface.text.ITextPresentationListener;
 import org.eclipse.jface.text.ITextViewerExtension2;
 import org.eclipse.jface.text.ITextViewerExtension4;
 import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -65,6 +66,12 @@ import org.eclipse.jface.text.TextPresentation;
  * strategy defines the visual presentation of a particular type of annotation
  * decoration.</p>
  * <p>
+ * For annotation models with many annotations, the painter can be made
+ * {@link #setViewportScoped(boolean) viewport-scoped}: it then applies
+ * annotation model events incrementally, looks up the decorations to paint
+ * through the model's region queries, and limits the text presentation
+ * updates to the viewport.</p>
+ * <p>
  * Clients usually instantiate and configure objects of this class.</p>
  *
  * @since 2.1
@@ -444,6 +451,32 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 */
 	private ReusableRegion fReusableRegion= new ReusableRegion();
 
+	/**
+	 * Tells whether this painter is viewport-scoped.
+	 * @since 3.25
+	 */
+	private boolean fIsViewportScoped= false;
+
+	/**
+	 * The position manager, or <code>null</code> if none.
+	 * @since 3.25
+	 */
+	private IPaintPositionManager fPaintPositionManager;
+
+	/**
+	 * The managed document ranges whose text presentation must be invalidated
+	 * once they get close to the viewport.
+	 * @since 3.25
+	 */
+	private List<Position> fPendingHighlightRanges= new ArrayList<>();
+
+	/**
+	 * The viewport listener that invalidates pending highlight ranges, or
+	 * <code>null</code> if none is installed.
+	 * @since 3.25
+	 */
+	private IViewportListener fViewportListener;
+
 	/**
 	 * Creates a new annotation painter for the given source viewer and with the
 	 * given annotation access. The painter is not initialized, i.e. no
@@ -549,15 +582,19 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		IRegion clippingRegion= computeClippingRegion(null, true);
 		IDocument document= fSourceViewer.getDocument();
 
-		int highlightAnnotationRangeStart= Integer.MAX_VALUE;
-		int highlightAnnotationRangeEnd= -1;
-
-		int drawRangeStart= Integer.MAX_VALUE;
-		int drawRangeEnd= -1;
-
 		Map<Annotation, Decoration> decorationsMap;
 		Map<Annotation, Decoration> highlightedDecorationsMap;
 
+		if (fIsViewportScoped) {
+			// update the maps in place instead of copying them on each event
+			synchronized (fDecorationMapLock) {
+				synchronized (fHighlightedDecorationsMapLock) {
+					catchupWithModel(event, fDecorationsMap, fHighlightedDecorationsMap, clippingRegion, document);
+				}
+			}
+			return;
+		}
+
 		// Clone decoration maps
 		synchronized (fDecorationMapLock) {
 			decorationsMap= new HashMap<>(fDecorationsMap);
@@ -566,6 +603,28 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
 		}
 
+		catchupWithModel(event, decorationsMap, highlightedDecorationsMap, clippingRegion, document);
+	}
+
+	/**
+	 * Updates the given decoration maps based on the current state of the
+	 * painter's annotation model and installs them.
+	 *
+	 * @param event the annotation model event
+	 * @param decorationsMap the decorations to update
+	 * @param highlightedDecorationsMap the highlighted decorations to update
+	 * @param clippingRegion the region in which removed decorations are cleared
+	 * @param document the viewer's document
+	 */
+	private void catchupWithModel(AnnotationModelEvent event, Map<Annotation, Decoration> decorationsMap, Map<Annotation, Decoration> highlightedDecorationsMap, IRegion clippingRegion,
+			IDocument document) {
+
+		int highlightAnnotationRangeStart= Integer.MAX_VALUE;
+		int highlightAnnotationRangeEnd= -1;
+
+		int drawRangeStart= Integer.MAX_VALUE;
+		int drawRangeEnd= -1;
+
 		boolean isWorldChange= false;
 
 		Iterator<Annotation> e;
@@ -575,12 +634,18 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			if (DEBUG && event == null)
 				System.out.println("AP: INTERNAL CHANGE"); //$NON-NLS-1$
 
-			Iterator<Entry<Annotation, Decoration>> iter= decorationsMap.entrySet().iterator();
-			while (iter.hasNext()) {
-				Entry<Annotation, Decoration> entry= iter.next();
-				Annotation annotation= entry.getKey();
-				Decoration decoration= entry.getValue();
-				drawDecoration(decoration, null, annotation, clippingRegion, document);
+			if (fIsViewportScoped) {
+				// only the visible decorations need to be cleared
+				if (!decorationsMap.isEmpty() && fTextWidget != null && !fTextWidget.isDisposed())
+					fTextWidget.redraw();
+			} else {
+				Iterator<Entry<Annotation, Decoration>> iter= decorationsMap.entrySet().iterator();
+				while (iter.hasNext()) {
+					Entry<Annotation, Decoration> entry= iter.next();
+					Annotation annotation= entry.getKey();
+					Decoration decoration= entry.getValue();
+					drawDecoration(decoration, null, annotation, clippingRegion, document);
+				}
 			}
 
 			decorationsMap.clear();
@@ -964,28 +1029,212 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			return;
 
 		if (fSourceViewer instanceof ITextViewerExtension2) {
-			if (DEBUG)
-				System.out.println("AP: invalidating offset: " + r.getOffset() + ", length= " + r.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
+			if (fIsViewportScoped && fPaintPositionManager != null) {
+				IRegion viewport= computeViewportRegion();
+				if (viewport != null) {
+					invalidateTextPresentation(r, viewport);
+					return;
+				}
+			}
 
-			((ITextViewerExtension2)fSourceViewer).invalidateTextPresentation(r.getOffset(), r.getLength());
+			invalidateTextPresentation(r.getOffset(), r.getLength());
 
 		} else {
 			fSourceViewer.invalidateTextPresentation();
 		}
 	}
 
+	/**
+	 * Invalidates the text presentation of the part of the given range that
+	 * intersects with the given viewport region and defers the invalidation of
+	 * the remaining parts until they get close to the viewport.
+	 *
+	 * @param r the range to invalidate
+	 * @param viewport the viewport region including its margin
+	 */
+	private void invalidateTextPresentation(IRegion r, IRegion viewport) {
+		int start= r.getOffset();
+		int end= start + r.getLength();
+		int viewportStart= viewport.getOffset();
+		int viewportEnd= viewportStart + viewport.getLength();
+
+		if (start < viewportStart)
+			addPendingHighlightRange(start, Math.min(end, viewportStart));
+		if (end > viewportEnd)
+			addPendingHighlightRange(Math.max(start, viewportEnd), end);
+
+		int visibleStart= Math.max(start, viewportStart);
+		int visibleEnd= Math.min(end, viewportEnd);
+		if (visibleStart < visibleEnd || start == end && start >= viewportStart && start <= viewportEnd)
+			invalidateTextPresentation(visibleStart, Math.max(visibleEnd - visibleStart, 0));
+	}
+
+	/**
+	 * Invalidates the text presentation of the given range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 */
+	private void invalidateTextPresentation(int offset, int length) {
+		if (DEBUG)
+			System.out.println("AP: invalidating offset: " + offset + ", length= " + length); //$NON-NLS-1$ //$NON-NLS-2$
+
+		((ITextViewerExtension2)fSourceViewer).invalidateTextPresentation(offset, length);
+	}
+
+	/**
+	 * Remembers the given range for a later invalidation of its text presentation,
+	 * merging it with touching or overlapping pending ranges.
+	 *
+	 * @param start the start offset of the range
+	 * @param end the end offset of the range
+	 */
+	private void addPendingHighlightRange(int start, int end) {
+		for (Iterator<Position> iter= fPendingHighlightRanges.iterator(); iter.hasNext();) {
+			Position p= iter.next();
+			if (!p.isDeleted() && !regionsTouchOrOverlap(start, end - start, p.getOffset(), p.getLength()))
+				continue;
+			if (!p.isDeleted()) {
+				start= Math.min(start, p.getOffset());
+				end= Math.max(end, p.getOffset() + p.getLength());
+			}
+			fPaintPositionManager.unmanagePosition(p);
+			iter.remove();
+		}
+		Position pending= new Position(start, end - start);
+		fPaintPositionManager.managePosition(pending);
+		fPendingHighlightRanges.add(pending);
+	}
+
+	/**
+	 * Invalidates the text presentation of the pending ranges that intersect
+	 * with the viewport and its margin.
+	 */
+	private void invalidatePendingHighlightRanges() {
+		if (fPendingHighlightRanges.isEmpty())
+			return;
+
+		IRegion viewport= computeViewportRegion();
+		if (viewport == null)
+			return;
+
+		int viewportStart= viewport.getOffset();
+		int viewportEnd= viewportStart + viewport.getLength();
+		int invalidStart= Integer.MAX_VALUE;
+		int invalidEnd= -1;
+
+		List<Position> pending= new ArrayList<>(fPendingHighlightRanges);
+		fPendingHighlightRanges.clear();
+		for (Position p : pending) {
+			int start= p.getOffset();
+			int end= start + p.getLength();
+			if (!p.isDeleted() && (end <= viewportStart || start >= viewportEnd)) {
+				fPendingHighlightRanges.add(p);
+				continue;
+			}
+
+			fPaintPositionManager.unmanagePosition(p);
+			if (p.isDeleted())
+				continue;
+
+			invalidStart= Math.min(invalidStart, Math.max(start, viewportStart));
+			invalidEnd= Math.max(invalidEnd, Math.min(end, viewportEnd));
+			if (start < viewportStart)
+				addPendingHighlightRange(start, viewportStart);
+			if (end > viewportEnd)
+				addPendingHighlightRange(viewportEnd, end);
+		}
+
+		if (invalidStart < invalidEnd)
+			invalidateTextPresentation(invalidStart, invalidEnd - invalidStart);
+	}
+
+	/**
+	 * Invalidates the text presentation of all pending ranges and forgets them.
+	 */
+	private void flushPendingHighlightRanges() {
+		List<Position> pending= new ArrayList<>(fPendingHighlightRanges);
+		fPendingHighlightRanges.clear();
+		for (Position p : pending) {
+			fPaintPositionManager.unmanagePosition(p);
+			if (!p.isDeleted())
+				invalidateTextPresentation(p.getOffset(), p.getLength());
+		}
+	}
+
+	/**
+	 * Returns the document region of the source viewer's view port, extended by
+	 * one view port height above and below.
+	 *
+	 * @return the extended view port region or <code>null</code> if it cannot be computed
+	 */
+	private IRegion computeViewportRegion() {
+		if (fTextWidget == null || fTextWidget.isDisposed())
+			return null;
+
+		IDocument document= fSourceViewer.getDocument();
+		if (document == null)
+			return null;
+
+		int top= JFaceTextUtil.getPartialTopIndex(fSourceViewer);
+		int bottom= JFaceTextUtil.getPartialBottomIndex(fSourceViewer);
+		if (top < 0 || bottom < top)
+			return null;
+
+		int margin= bottom - top + 1;
+		top= Math.max(top - margin, 0);
+		bottom= Math.min(bottom + margin, document.getNumberOfLines() - 1);
+		try {
+			int offset= document.getLineOffset(top);
+			return new Region(offset, document.getLineOffset(bottom) + document.getLineLength(bottom) - offset);
+		} catch (BadLocationException x) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the drawn or highlighted decorations that might touch or overlap
+	 * with the given region. The caller must still check the decoration positions.
+	 *
+	 * @param highlighted <code>true</code> for the highlighted decorations
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return a copy of the candidate decorations
+	 */
+	private Collection<Entry<Annotation, Decoration>> getDecorations(boolean highlighted, int offset, int length) {
+		Object lock= highlighted ? fHighlightedDecorationsMapLock : fDecorationMapLock;
+		if (!fIsViewportScoped || !(fModel instanceof IAnnotationModelExtension2)) {
+			synchronized (lock) {
+				Map<Annotation, Decoration> decorationsMap= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+				return new ArrayList<>(decorationsMap.entrySet());
+			}
+		}
+
+		// let the model's position index find the candidates instead of scanning all decorations
+		int start= Math.max(offset - 1, 0);
+		Iterator<Annotation> iter= ((IAnnotationModelExtension2) fModel).getAnnotationIterator(start, offset + length + 1 - start, true, true);
+		Collection<Entry<Annotation, Decoration>> decorations= new ArrayList<>();
+		synchronized (lock) {
+			Map<Annotation, Decoration> decorationsMap= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+			while (iter.hasNext()) {
+				Annotation annotation= iter.next();
+				Decoration decoration= decorationsMap.get(annotation);
+				if (decoration != null)
+					decorations.add(new SimpleImmutableEntry<>(annotation, decoration));
+			}
+		}
+		return decorations;
+	}
+
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
-
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
-
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
 		}
 
 		IRegion region= tp.getExtent();
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(true, region.getOffset(), region.getLength());
 
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1126,6 +1375,8 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 				@Override
 				public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
 					fInputDocumentAboutToBeChanged= true;
+					// the positions of the old document are no longer managed
+					fPendingHighlightRanges.clear();
 				}
 
 				@Override
@@ -1273,6 +1524,13 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			fAnnotationType2PaintingStrategyId= null;
 		}
 
+		if (fViewportListener != null) {
+			fSourceViewer.removeViewportListener(fViewportListener);
+			fViewportListener= null;
+		}
+		fPendingHighlightRanges.clear();
+		fPaintPositionManager= null;
+
 		fTextWidget= null;
 		fSourceViewer= null;
 		fAnnotationAccess= null;
@@ -1357,11 +1615,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		final GC gc= event != null ? event.gc : null;
 
 		// Clone decorations
-		Collection<Entry<Annotation, Decoration>> decorations;
-		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
-		}
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(false, vOffset, vLength);
 
 		/*
 		 * Create a new list of annotations to be drawn, since removing from decorations is more
@@ -1641,5 +1895,40 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void setPositionManager(IPaintPositionManager manager) {
+		if (fPaintPositionManager != null) {
+			for (Position p : fPendingHighlightRanges)
+				fPaintPositionManager.unmanagePosition(p);
+			fPendingHighlightRanges.clear();
+		}
+		fPaintPositionManager= manager;
+	}
+
+	/**
+	 * Sets whether this painter is viewport-scoped. A viewport-scoped painter
+	 * applies annotation model events to its decorations in place instead of
+	 * copying them, uses the region queries of an {@link IAnnotationModelExtension2}
+	 * model to find the decorations to draw, and only invalidates the text
+	 * presentation of highlighted annotations near the viewport. The text
+	 * presentation of the remaining annotations is updated once they are
+	 * scrolled close to the viewport.
+	 * <p>
+	 * The default is <code>false</code>.</p>
+	 *
+	 * @param viewportScoped <code>true</code> if this painter should be viewport-scoped
+	 * @since 3.25
+	 */
+	public void setViewportScoped(boolean viewportScoped) {
+		if (fIsViewportScoped == viewportScoped)
+			return;
+
+		fIsViewportScoped= viewportScoped;
+		if (viewportScoped) {
+			fViewportListener= verticalOffset -> invalidatePendingHighlightRanges();
+			fSourceViewer.addViewportListener(fViewportListener);
+		} else {
+			fSourceViewer.removeViewportListener(fViewportListener);
+			fViewportListener= null;
+			flushPendingHighlightRanges();
+		}
 	}
 }
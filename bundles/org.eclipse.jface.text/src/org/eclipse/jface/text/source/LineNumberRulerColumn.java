@@ -386,6 +386,16 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 	private int fLastBottomModelLine;
 	/** Last canvas height used. */
 	private int fLastHeight= -1;
+	/**
+	 * Tells whether a redraw of the whole column has been requested since the buffer was painted.
+	 * @since 3.25
+	 */
+	private boolean fIsBufferDirty= true;
+	/**
+	 * The area of the buffer to repaint, <code>null</code> if none.
+	 * @since 3.25
+	 */
+	private Rectangle fBufferDamage;
 	/**
 	 * Redraw runnable lock
 	 * @since 3.0
@@ -414,7 +424,7 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 	 *
 	 * @since 3.13
 	 */
-	private Consumer<StyledText> lineHeightChangeHandler= t -> postRedraw();
+	private Consumer<StyledText> lineHeightChangeHandler= t -> redrawBelow(VisibleLinesTracker.getChangedLinesTop(t));
 
 	/**
 	 * Constructs a new vertical ruler column.
@@ -593,6 +603,19 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 		VisibleLinesTracker.track(fCachedTextViewer, lineHeightChangeHandler);
 
 		fCanvas= new Canvas(parentControl, SWT.NO_FOCUS ) {
+			@Override
+			public void redraw() {
+				fIsBufferDirty= true;
+				super.redraw();
+			}
+
+			@Override
+			public void redraw(int x, int y, int width, int height, boolean all) {
+				Rectangle damage= new Rectangle(x, y, width, height);
+				fBufferDamage= fBufferDamage == null ? damage : fBufferDamage.union(damage);
+				super.redraw(x, y, width, height, all);
+			}
+
 			@Override
 			public void addMouseListener(MouseListener listener) {
 				// see bug 40889, bug 230073 and AnnotationRulerColumn#isPropagatingMouseListener()
@@ -681,6 +704,19 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 			return;
 		}
 
+		if (fBuffer != null && !fIsBufferDirty && fCachedTextWidget.getTopPixel() == fLastTopPixel
+				&& visibleLines.getStartLine() == fLastTopModelLine && visibleLines.getNumberOfLines() == fLastNumberOfLines) {
+			// nothing moved: only repaint the damaged area, if any
+			if (fBufferDamage != null) {
+				paintBufferDamage(size);
+				fBufferDamage= null;
+			}
+			dest.drawImage(fBuffer, 0, 0);
+			return;
+		}
+		fIsBufferDirty= false;
+		fBufferDamage= null;
+
 		boolean bufferStillValid = fBuffer != null;
 		if (fBuffer == null) {
 			fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
@@ -779,6 +815,32 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 		dest.drawImage(fBuffer, 0, 0);
 	}
 
+	/**
+	 * Repaints the lines intersecting the damaged area of the buffer.
+	 *
+	 * @param size the size of the buffer
+	 * @since 3.25
+	 */
+	private void paintBufferDamage(Point size) {
+		int top= Math.max(0, fBufferDamage.y);
+		int bottom= Math.min(size.y, fBufferDamage.y + fBufferDamage.height);
+		if (bottom <= top) {
+			return;
+		}
+		int firstLine= JFaceTextUtil.widgetLine2ModelLine(fCachedTextViewer, fCachedTextWidget.getLineIndex(top));
+		int lastLine= JFaceTextUtil.widgetLine2ModelLine(fCachedTextViewer, fCachedTextWidget.getLineIndex(bottom - 1));
+		GC gc= new GC(fBuffer);
+		try {
+			gc.setClipping(0, top, size.x, bottom - top);
+			initializeGC(gc, 0, top, size.x, bottom - top);
+			if (firstLine >= 0 && lastLine >= firstLine) {
+				doPaint(gc, new LineRange(firstLine, lastLine - firstLine + 1));
+			}
+		} finally {
+			gc.dispose();
+		}
+	}
+
 	private void initializeGC(GC gc, int x, int y, int width, int height) {
 		gc.setFont(fCanvas.getFont());
 		if (fForeground != null) {
@@ -948,6 +1010,26 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 		}
 	}
 
+	/**
+	 * Redraws the part of this column below the given pixel, or the whole column if a relayout is
+	 * required.
+	 *
+	 * @param y the top pixel of the part to redraw
+	 * @since 3.25
+	 */
+	private void redrawBelow(int y) {
+		if (fRelayoutRequired) {
+			postRedraw();
+			return;
+		}
+		if (!isDisposed()) {
+			Point size= fCanvas.getSize();
+			if (y < size.y) {
+				fCanvas.redraw(0, y, size.x, size.y - y, false);
+			}
+		}
+	}
+
 	@Override
 	public void redraw() {
 
@@ -957,6 +1039,7 @@ public class LineNumberRulerColumn implements IVerticalRulerColumn {
 		}
 
 		if (!isDisposed()) {
+			fIsBufferDirty= true;
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
 			} else {
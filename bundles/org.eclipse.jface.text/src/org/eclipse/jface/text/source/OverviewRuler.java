@@ -14,12 +14,15 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
@@ -386,6 +389,36 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * The rectangles of the annotations of one type and style, bucketed by pixel row. Annotations
+	 * with the same rectangle share one entry, so the number of entries is bounded by the height
+	 * of the ruler rather than by the number of annotations.
+	 *
+	 * @since 3.25
+	 */
+	private static final class AnnotationRows {
+
+		/** The annotation type of the layer */
+		final Object fAnnotationType;
+		/** The style, either {@link FilterIterator#PERSISTENT} or {@link FilterIterator#TEMPORARY} */
+		final int fStyle;
+		/** The top rows of the rectangles, by rectangle height */
+		final Map<Integer, BitSet> fRowsByHeight= new TreeMap<>();
+
+		AnnotationRows(Object annotationType, int style) {
+			fAnnotationType= annotationType;
+			fStyle= style;
+		}
+
+		void add(int y, int height) {
+			fRowsByHeight.computeIfAbsent(Integer.valueOf(height), h -> new BitSet()).set(y);
+		}
+
+		boolean isEmpty() {
+			return fRowsByHeight.isEmpty();
+		}
+	}
+
 	private static final boolean DEBUG_DRAW= false;
 	private static final boolean DEBUG_COMPUTE_Y= false;
 	private static final boolean DEBUG_TO_DOCUMENT_LINE_NUMBER= false;
@@ -467,6 +500,42 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 */
 	private List<Annotation> fCachedAnnotations= new ArrayList<>();
 
+	/**
+	 * The annotation rectangles painted into {@link #fBuffer}, <code>null</code> if unknown.
+	 *
+	 * @since 3.25
+	 */
+	private List<AnnotationRows> fAnnotationRows;
+
+	/**
+	 * Tells whether the annotations, the visible document or the drawn annotation types have
+	 * changed since {@link #fAnnotationRows} have been computed.
+	 *
+	 * @since 3.25
+	 */
+	private volatile boolean fAreAnnotationRowsDirty= true;
+
+	/**
+	 * Tells whether a redraw has been requested since {@link #fBuffer} has been painted.
+	 *
+	 * @since 3.25
+	 */
+	private boolean fIsBufferDirty= true;
+
+	/**
+	 * Tells whether the next paint must repaint all rows, for example because colors changed.
+	 *
+	 * @since 3.25
+	 */
+	private volatile boolean fRepaintAll= true;
+
+	/**
+	 * The background color {@link #fBuffer} has been painted with.
+	 *
+	 * @since 3.25
+	 */
+	private Color fBufferBackground;
+
 	/**
 	 * Redraw runnable lock
 	 * @since 3.3
@@ -585,7 +654,19 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			});
 		}
 
-		fCanvas= new Canvas(parent, SWT.NO_BACKGROUND);
+		fCanvas= new Canvas(parent, SWT.NO_BACKGROUND) {
+			@Override
+			public void redraw() {
+				fIsBufferDirty= true;
+				super.redraw();
+			}
+
+			@Override
+			public void redraw(int x, int y, int width, int height, boolean all) {
+				fIsBufferDirty= true;
+				super.redraw(x, y, width, height, all);
+			}
+		};
 
 		fCanvas.addPaintListener(event -> {
 			if (fTextViewer != null)
@@ -645,6 +726,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fBuffer.dispose();
 			fBuffer= null;
 		}
+		fAnnotationRows= null;
 
 		synchronized (fRunnableLock){
 			fConfiguredAnnotationTypes.clear();
@@ -658,7 +740,9 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	}
 
 	/**
-	 * Double buffer drawing.
+	 * Double buffer drawing. The buffer is only repainted if a redraw has been requested since the
+	 * last paint, and then only in the rows whose annotation rectangles have changed. The rectangles
+	 * are only computed again after the annotations or the visible document have changed.
 	 *
 	 * @param dest the GC to draw into
 	 */
@@ -674,22 +758,54 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			if (r.width != size.x || r.height != size.y) {
 				fBuffer.dispose();
 				fBuffer= null;
+				fAreAnnotationRowsDirty= true;
 			}
 		}
-		if (fBuffer == null)
-			fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
-
-		GC gc= new GC(fBuffer);
-		try {
-			gc.setBackground(fCanvas.getBackground());
-			gc.fillRectangle(0, 0, size.x, size.y);
 
-			cacheAnnotations();
-
-			doPaint(gc);
-
-		} finally {
-			gc.dispose();
+		if (fBuffer == null || fIsBufferDirty) {
+			Color background= fCanvas.getBackground();
+			boolean paintAll= fBuffer == null || fRepaintAll || fAnnotationRows == null || !background.equals(fBufferBackground);
+			fIsBufferDirty= false;
+			fRepaintAll= false;
+			fBufferBackground= background;
+			if (fBuffer == null)
+				fBuffer= new Image(fCanvas.getDisplay(), size.x, size.y);
+
+			List<AnnotationRows> annotationRows= fAnnotationRows;
+			if (annotationRows == null || fAreAnnotationRowsDirty) {
+				fAreAnnotationRowsDirty= false;
+				cacheAnnotations();
+				annotationRows= computeAnnotationRows();
+			}
+			BitSet damage;
+			if (paintAll)
+				damage= null;
+			else if (annotationRows == fAnnotationRows)
+				damage= new BitSet();
+			else
+				damage= computeDamage(fAnnotationRows, annotationRows);
+			fAnnotationRows= annotationRows;
+
+			GC gc= new GC(fBuffer);
+			try {
+				gc.setBackground(background);
+				if (damage == null) {
+					gc.fillRectangle(0, 0, size.x, size.y);
+					doPaint(gc, annotationRows, 0, size.y);
+				} else {
+					int start= damage.nextSetBit(0);
+					while (start >= 0 && start < size.y) {
+						int end= Math.min(damage.nextClearBit(start), size.y);
+						gc.setClipping(0, start, size.x, end - start);
+						gc.setBackground(background);
+						gc.fillRectangle(0, start, size.x, end - start);
+						doPaint(gc, annotationRows, start, end);
+						start= damage.nextSetBit(end);
+					}
+				}
+			} finally {
+				gc.dispose();
+			}
 		}
 
 		dest.drawImage(fBuffer, 0, 0);
@@ -714,14 +830,14 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	}
 
 	/**
-	 * Draws this overview ruler.
+	 * Computes the rectangles of the cached annotations, bucketed by annotation type, style and
+	 * pixel row. The returned list is in drawing order.
 	 *
-	 * @param gc the GC to draw into
+	 * @return the rectangles of the annotations to draw
+	 * @since 3.25
 	 */
-	private void doPaint(GC gc) {
-
-		Rectangle r= new Rectangle(0, 0, 0, 0);
-		int yy, hh= ANNOTATION_HEIGHT;
+	private List<AnnotationRows> computeAnnotationRows() {
+		List<AnnotationRows> result= new ArrayList<>();
 
 		IDocument document= fTextViewer.getDocument();
 		StyledText textWidget= fTextViewer.getTextWidget();
@@ -732,21 +848,34 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		else
 			visible= fTextViewer.getVisibleRegion(); // legacy support
 
+		// group the annotations by type once instead of filtering all annotations for each layer
+		Map<Object, List<Annotation>> annotationsByType= new LinkedHashMap<>();
+		for (Annotation annotation : fCachedAnnotations)
+			annotationsByType.computeIfAbsent(annotation.getType(), t -> new ArrayList<>()).add(annotation);
+
 		WidgetInfos infos= null;
 
 		for (Object annotationType : fAnnotationsSortedByLayer) {
 			if (skip(annotationType))
 				continue;
 
+			List<Annotation> annotations= new ArrayList<>();
+			for (Map.Entry<Object, List<Annotation>> entry : annotationsByType.entrySet()) {
+				Object type= entry.getKey();
+				if (annotationType.equals(type) || !fConfiguredAnnotationTypes.contains(type) && isSubtype(type, annotationType))
+					annotations.addAll(entry.getValue());
+			}
+			if (annotations.isEmpty())
+				continue;
+
 			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
 			for (int element : style) {
-				boolean areColorsComputed= false;
-				Color fill= null;
-				Color stroke= null;
+				AnnotationRows rows= new AnnotationRows(annotationType, element);
+
+				for (Annotation a : annotations) {
+					if (a.isPersistent() != (element == FilterIterator.PERSISTENT))
+						continue;
 
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
-				while (e.hasNext()) {
-					Annotation a= e.next();
 					Position p= fModel.getPosition(a);
 
 					if (p == null)
@@ -767,17 +896,15 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 							continue;
 					}
 
-					if (infos == null) {
+					if (infos == null)
 						infos= new WidgetInfos(textWidget, fCanvas);
-						r.x= INSET;
-						r.width= infos.bounds.width - (2 * INSET);
-					}
 
 					try {
 						int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
 						int startLine= textWidget.getLineAtOffset(startOffset);
 
-						yy= computeY(startLine, infos);
+						int yy= computeY(startLine, infos);
+						int hh= ANNOTATION_HEIGHT;
 
 						if (ANNOTATION_HEIGHT_SCALABLE) {
 							int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
@@ -789,46 +916,124 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 							if (numberOfLines > 1) {
 								int yy2= computeY(startLine + numberOfLines - 1, infos);
 								hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
-							} else {
-								hh= ANNOTATION_HEIGHT;
 							}
 						}
 						fAnnotationHeight= hh;
-
-						if (!areColorsComputed) {
-							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
-							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
-							areColorsComputed= true;
-						}
-
-						if (fill != null) {
-							gc.setBackground(fill);
-							gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
-						}
-
-						if (stroke != null) {
-							gc.setForeground(stroke);
-							r.y= yy;
-							if (yy + hh == infos.bounds.height)
-								r.y--;
-							r.height= hh;
-							gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
-							gc.drawRectangle(r);
-						}
+						rows.add(yy, hh);
 					} catch (BadLocationException | IllegalArgumentException x) {
 						// We don't care if the widget's content is changed since the annotation was created
 						// and do not match the annotation line/offset etc
 					}
 				}
+
+				if (!rows.isEmpty())
+					result.add(rows);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the given annotation type is a subtype of the given layer type.
+	 *
+	 * @param annotationType the annotation type
+	 * @param layerType the annotation type of the layer
+	 * @return <code>true</code> if the annotation type is a subtype of the layer type
+	 * @since 3.25
+	 */
+	private boolean isSubtype(Object annotationType, Object layerType) {
+		if (fAnnotationAccess instanceof IAnnotationAccessExtension) {
+			IAnnotationAccessExtension extension= (IAnnotationAccessExtension) fAnnotationAccess;
+			return extension.isSubtype(annotationType, layerType);
+		}
+		return layerType.equals(annotationType);
+	}
+
+	/**
+	 * Computes the rows whose content differs between the given annotation rectangles.
+	 *
+	 * @param oldRows the rectangles painted last
+	 * @param newRows the rectangles to paint
+	 * @return the rows to repaint, or <code>null</code> if all rows must be repainted
+	 * @since 3.25
+	 */
+	private static BitSet computeDamage(List<AnnotationRows> oldRows, List<AnnotationRows> newRows) {
+		if (oldRows.size() != newRows.size())
+			return null;
+
+		BitSet damage= new BitSet();
+		for (int i= 0; i < newRows.size(); i++) {
+			AnnotationRows oldGroup= oldRows.get(i);
+			AnnotationRows newGroup= newRows.get(i);
+			if (!oldGroup.fAnnotationType.equals(newGroup.fAnnotationType) || oldGroup.fStyle != newGroup.fStyle)
+				return null;
+
+			Set<Integer> heights= new HashSet<>(oldGroup.fRowsByHeight.keySet());
+			heights.addAll(newGroup.fRowsByHeight.keySet());
+			for (Integer height : heights) {
+				BitSet changed= new BitSet();
+				BitSet oldBits= oldGroup.fRowsByHeight.get(height);
+				BitSet newBits= newGroup.fRowsByHeight.get(height);
+				if (oldBits != null)
+					changed.or(oldBits);
+				if (newBits != null)
+					changed.xor(newBits);
+				int hh= height.intValue();
+				for (int yy= changed.nextSetBit(0); yy >= 0; yy= changed.nextSetBit(yy + 1)) {
+					// the stroke covers the rows from yy - 1 (at the bottom) to yy + hh
+					damage.set(Math.max(0, yy - 1), yy + hh + 1);
+				}
+			}
+		}
+		return damage;
+	}
+
+	/**
+	 * Draws the annotation rectangles intersecting the given rows.
+	 *
+	 * @param gc the GC to draw into
+	 * @param annotationRows the annotation rectangles in drawing order
+	 * @param startRow the first row to draw
+	 * @param endRow the row after the last row to draw
+	 * @since 3.25
+	 */
+	private void doPaint(GC gc, List<AnnotationRows> annotationRows, int startRow, int endRow) {
+
+		Rectangle bounds= fCanvas.getBounds();
+		Rectangle r= new Rectangle(INSET, 0, bounds.width - (2 * INSET), 0);
+
+		for (AnnotationRows rows : annotationRows) {
+			boolean temporary= rows.fStyle == FilterIterator.TEMPORARY;
+			Color stroke= getStrokeColor(rows.fAnnotationType, temporary);
+			Color fill= fUseSaturatedColors ? stroke : getFillColor(rows.fAnnotationType, temporary);
+
+			for (Map.Entry<Integer, BitSet> entry : rows.fRowsByHeight.entrySet()) {
+				int hh= entry.getKey().intValue();
+				BitSet bits= entry.getValue();
+				for (int yy= bits.nextSetBit(Math.max(0, startRow - hh - 1)); yy >= 0 && yy <= endRow; yy= bits.nextSetBit(yy + 1)) {
+					if (fill != null) {
+						gc.setBackground(fill);
+						gc.fillRectangle(INSET, yy, bounds.width - (2 * INSET), hh);
+					}
+
+					if (stroke != null) {
+						gc.setForeground(stroke);
+						r.y= yy;
+						if (yy + hh == bounds.height)
+							r.y--;
+						r.height= hh;
+						gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
+						gc.drawRectangle(r);
+					}
+				}
 			}
 		}
 
 		if (DEBUG_DRAW) {
 			// draw debugging guides (boundaries):
-			if (infos == null)
-				infos= new WidgetInfos(textWidget, fCanvas);
+			WidgetInfos infos= new WidgetInfos(fTextViewer.getTextWidget(), fCanvas);
 			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
-			yy= infos.thumbHeight / 2;
+			int yy= infos.thumbHeight / 2;
 			gc.drawLine(0, yy, infos.bounds.x/2, yy);
 			yy= infos.bounds.height - infos.thumbHeight / 2;
 			gc.drawLine(0, yy, infos.bounds.x/2, yy);
@@ -903,6 +1108,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			return;
 
 		if (fCanvas != null && !fCanvas.isDisposed()) {
+			fAreAnnotationRowsDirty= true;
+			fIsBufferDirty= true;
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
 			} else {
@@ -1160,6 +1367,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fAreAnnotationRowsDirty= true;
+		fRepaintAll= true;
 	}
 
 	@Override
@@ -1168,6 +1377,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fAreAnnotationRowsDirty= true;
+		fRepaintAll= true;
 	}
 
 	@Override
@@ -1187,6 +1398,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fLayersSortedByLayer.add(i, layerObj);
 			fAnnotationsSortedByLayer.add(i, annotationType);
 		}
+		fAreAnnotationRowsDirty= true;
+		fRepaintAll= true;
 	}
 
 	@Override
@@ -1195,6 +1408,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fAnnotationTypes2Colors.put(annotationType, color);
 		else
 			fAnnotationTypes2Colors.remove(annotationType);
+		fRepaintAll= true;
 	}
 
 	/**
@@ -1533,5 +1747,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	@Override
 	public void setUseSaturatedColors(boolean useSaturatedColor) {
 		fUseSaturatedColors= useSaturatedColor;
+		fRepaintAll= true;
 	}
 }
@@ -392,6 +392,12 @@ public class SourceViewer extends TextViewer
 	 * @since 3.13
 	 */
 	private CodeMiningManager fCodeMiningManager;
+	/**
+	 * Tells whether the code minings are only computed near the visible lines.
+	 *
+	 * @since 3.25
+	 */
+	private boolean fCodeMiningsViewportScoped;
 
 	private final List<ITextViewerLifecycle> lifecycles;
 
@@ -1316,6 +1322,7 @@ public class SourceViewer extends TextViewer
 			}
 			if (fCodeMiningManager == null) {
 				fCodeMiningManager= new CodeMiningManager(this, fInlinedAnnotationSupport, fCodeMiningProviders);
+				fCodeMiningManager.setViewportScoped(fCodeMiningsViewportScoped);
 			}
 			// now trigger an update
 			updateCodeMinings();
@@ -1334,6 +1341,28 @@ public class SourceViewer extends TextViewer
 		}
 	}
 
+	/**
+	 * Sets whether the code minings of this viewer are only computed for the visible lines and a
+	 * margin of one viewport height around them. The code minings are then cached per line until
+	 * the line is changed, and the providers are asked for the minings of the lines scrolled into
+	 * the margin through
+	 * {@link ICodeMiningProvider#provideCodeMinings(org.eclipse.jface.text.ITextViewer, IRegion, org.eclipse.core.runtime.IProgressMonitor)}.
+	 * <p>
+	 * The default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param viewportScoped <code>true</code> to compute the code minings near the visible lines
+	 *            only
+	 * @since 3.25
+	 */
+	public void setCodeMiningsViewportScoped(boolean viewportScoped) {
+		fCodeMiningsViewportScoped= viewportScoped;
+		if (fCodeMiningManager != null) {
+			fCodeMiningManager.setViewportScoped(viewportScoped);
+			updateCodeMinings();
+		}
+	}
+
 	@Override
 	public void setCodeMiningAnnotationPainter(AnnotationPainter painter) {
 		fAnnotationPainter= painter;
@@ -42,6 +42,11 @@ class VisibleLinesTracker implements PaintListener {
 
 	private Map<Integer, Rectangle> oldVisibleLineBounds= Collections.emptyMap();
 
+	/**
+	 * The top pixel of the first line whose bounds changed on the last change.
+	 */
+	private int changedLinesTop;
+
 	/**
 	 * List of handler to call when a visible line height change.
 	 */
@@ -62,11 +67,31 @@ class VisibleLinesTracker implements PaintListener {
 		StyledText textWidget= viewer.getTextWidget();
 		Map<Integer, Rectangle> newBounds= getVisibleLineBounds();
 		if (!oldVisibleLineBounds.equals(newBounds)) {
+			changedLinesTop= Math.min(getChangedLinesTop(oldVisibleLineBounds, newBounds), getChangedLinesTop(newBounds, oldVisibleLineBounds));
 			oldVisibleLineBounds= newBounds;
 			handlers.forEach(handler -> handler.accept(textWidget));
 		}
 	}
 
+	/**
+	 * Returns the top pixel of the first line of the given bounds whose bounds differ in the other
+	 * bounds.
+	 *
+	 * @param bounds the line bounds
+	 * @param otherBounds the line bounds to compare with
+	 * @return the top pixel of the first changed line, or {@link Integer#MAX_VALUE} if none
+	 */
+	private static int getChangedLinesTop(Map<Integer, Rectangle> bounds, Map<Integer, Rectangle> otherBounds) {
+		int top= Integer.MAX_VALUE;
+		for (Map.Entry<Integer, Rectangle> entry : bounds.entrySet()) {
+			Rectangle lineBounds= entry.getValue();
+			if (lineBounds.y < top && !lineBounds.equals(otherBounds.get(entry.getKey()))) {
+				top= lineBounds.y;
+			}
+		}
+		return top;
+	}
+
 	private Map<Integer, Rectangle> getVisibleLineBounds() {
 		StyledText textWidget= viewer.getTextWidget();
 		if (textWidget.isDisposed() || !textWidget.isVisible()) {
@@ -120,6 +145,21 @@ class VisibleLinesTracker implements PaintListener {
 		}
 	}
 
+	/**
+	 * Returns the top pixel of the first visible line whose bounds changed on the last change
+	 * reported to the handlers.
+	 *
+	 * @param textWidget the tracked text widget
+	 * @return the top pixel of the first changed line, <code>0</code> if unknown
+	 */
+	static int getChangedLinesTop(StyledText textWidget) {
+		VisibleLinesTracker tracker= textWidget != null ? (VisibleLinesTracker) textWidget.getData(DATA_KEY) : null;
+		if (tracker == null || tracker.changedLinesTop == Integer.MAX_VALUE) {
+			return 0;
+		}
+		return Math.max(0, tracker.changedLinesTop);
+	}
+
 	/**
 	 * Add the given handler.
 	 *
@@ -75,6 +75,25 @@ public abstract class TextSearchScope {
 	 */
 	public abstract boolean contains(IResourceProxy proxy);
 
+	/**
+	 * Returns whether {@link #contains(IResourceProxy)} may be called by different threads at the
+	 * same time. If so, the files of the scope are collected by several threads, and the files are
+	 * searched while they are collected.
+	 * <p>
+	 * Scopes that override {@link #evaluateFilesInScope(MultiStatus)} must not return true, as the
+	 * files of parallel scopes are collected without calling that method.
+	 * </p>
+	 * <p>
+	 * The default behavior is to collect the files in a single thread.
+	 * </p>
+	 *
+	 * @return If true, the resources of the scope are visited in parallel.
+	 * @since 3.17
+	 */
+	public boolean canRunInParallel() {
+		return false;
+	}
+
 
 	/**
 	 * Evaluates all files in this scope.
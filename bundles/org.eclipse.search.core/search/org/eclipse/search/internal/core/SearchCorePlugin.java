@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -36,6 +37,7 @@ public class SearchCorePlugin extends Plugin {
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndexManager fTrigramIndexManager;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +60,12 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndexManager != null) {
+				fTrigramIndexManager.shutdown();
+				fTrigramIndexManager = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -76,6 +83,17 @@ public class SearchCorePlugin extends Plugin {
 		return fDirtyFileSearchParticipant;
 	}
 
+	/**
+	 * @return the manager of the index used by the indexed text search engine, created and started
+	 *         when first requested
+	 */
+	public synchronized TrigramIndexManager getTrigramIndexManager() {
+		if (fTrigramIndexManager == null) {
+			fTrigramIndexManager = new TrigramIndexManager(getStateLocation());
+		}
+		return fTrigramIndexManager;
+	}
+
 	/**
 	 * Log status to platform log
 	 * 
@@ -13,17 +13,24 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core.text;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 
 public class FileCharSequenceProvider {
 
@@ -33,15 +40,38 @@ public class FileCharSequenceProvider {
 	 **/
 	private static final int MAX_BUFFER_LENGTH = 999_999; // max 2MB.
 
+	/**
+	 * Larger files are read through buffers instead of being read at once.
+	 */
+	private static final int MAX_READ_LENGTH = 8 * 1024 * 1024;
+
+	/**
+	 * Larger files that are not viewed as bytes are read through buffers instead of being decoded
+	 * at once.
+	 */
+	private static final int MAX_DECODED_LENGTH = 4 * 1024 * 1024;
+
 	private static int NUMBER_OF_BUFFERS = 3;
 	public static int BUFFER_SIZE = 2 << 18; // public for testing
 
 	private FileCharSequence fReused= null;
 
+	/** The buffer the content of large files is read into, reused for the next file. */
+	private ByteBuffer fReadBuffer= null;
+
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
-		String string = toShortString(file);
-		if (string != null) {
-			return string;
+		File localFile = toLocalFile(file);
+		if (localFile == null || localFile.length() < MAX_BUFFER_LENGTH) {
+			String string = toShortString(file);
+			if (string != null) {
+				return string;
+			}
+		}
+		if (localFile != null) {
+			CharSequence read = toReadCharSequence(file, localFile);
+			if (read != null) {
+				return read;
+			}
 		}
 		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
@@ -139,6 +169,61 @@ public class FileCharSequenceProvider {
 	}
 
 
+	/**
+	 * A view of bytes as characters, valid for content in ISO-8859-1 and for ASCII content in any
+	 * charset that maps ASCII bytes to the same characters.
+	 */
+	private static final class ByteCharSequence implements CharSequence {
+
+		private final ByteBuffer fBuffer;
+		private final int fOffset;
+		private final int fLength;
+
+		public ByteCharSequence(ByteBuffer buffer, int offset, int length) {
+			fBuffer= buffer;
+			fOffset= offset;
+			fLength= length;
+		}
+
+		@Override
+		public int length() {
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0) {
+				throw new IndexOutOfBoundsException("index must be larger than 0"); //$NON-NLS-1$
+			}
+			if (index >= fLength) {
+				throw new IndexOutOfBoundsException("index must be smaller than length"); //$NON-NLS-1$
+			}
+			return (char) (fBuffer.get(fOffset + index) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (end < start) {
+				throw new IndexOutOfBoundsException("end cannot be smaller than start"); //$NON-NLS-1$
+			}
+			if (start < 0) {
+				throw new IndexOutOfBoundsException("start must be larger than 0"); //$NON-NLS-1$
+			}
+			if (end > fLength) {
+				throw new IndexOutOfBoundsException("end must be smaller or equal than length"); //$NON-NLS-1$
+			}
+			return new ByteCharSequence(fBuffer, fOffset + start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			byte[] bytes= new byte[fLength];
+			fBuffer.get(fOffset, bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+
+
 	private static final class Buffer {
 		private final char[] fBuf;
 		private int fOffset;
@@ -508,6 +593,100 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	private static File toLocalFile(IFile file) {
+		IPath location = file.getLocation();
+		return location != null ? location.toFile() : null;
+	}
+
+	/*
+	 * Reads a large local file at once into the reused buffer and, without copying, views it as
+	 * characters if the charset allows, or decodes it at once. The view is only valid until the
+	 * next file is read. Returns null if the file has to be read through buffers: if it is out of
+	 * sync, too large, or binary (has a NUL in the first block, that is all TextSearchVisitor looks
+	 * at, in an ASCII compatible charset).
+	 */
+	private CharSequence toReadCharSequence(IFile file, File localFile) throws CoreException, IOException {
+		if (!file.isSynchronized(IResource.DEPTH_ZERO)) {
+			return null; // let getContents() report the problem or refresh
+		}
+		Charset charset = Charset.forName(file.getCharset());
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(localFile.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > MAX_READ_LENGTH) {
+				return null;
+			}
+			buffer = getReadBuffer((int) size);
+			// a file truncated meanwhile ends early, one that grew is cut at the old size
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// read on
+			}
+		}
+		buffer.flip();
+		int offset = 0;
+		if (StandardCharsets.UTF_8.equals(charset) && startsWith(buffer, IContentDescription.BOM_UTF_8)) {
+			offset = IContentDescription.BOM_UTF_8.length;
+		}
+		int length = buffer.limit() - offset;
+		if (StandardCharsets.ISO_8859_1.equals(charset) || isAsciiCompatible(charset) && isAscii(buffer, offset)) {
+			return new ByteCharSequence(buffer, offset, length);
+		}
+		if (length > MAX_DECODED_LENGTH || isAsciiCompatible(charset) && containsNul(buffer, offset, Math.min(length, BUFFER_SIZE))) {
+			return null;
+		}
+		return charset.decode(buffer.position(offset));
+	}
+
+	private ByteBuffer getReadBuffer(int size) {
+		if (fReadBuffer == null || fReadBuffer.capacity() < size) {
+			fReadBuffer = ByteBuffer.allocate(size);
+		}
+		fReadBuffer.clear().limit(size);
+		return fReadBuffer;
+	}
+
+	private static boolean isAsciiCompatible(Charset charset) {
+		String name = charset.name();
+		return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)
+				|| name.startsWith("ISO-8859-") || name.startsWith("windows-125"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static boolean isAscii(ByteBuffer buffer, int offset) {
+		int limit = buffer.limit();
+		int i = offset;
+		for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+			if ((buffer.getLong(i) & 0x8080808080808080L) != 0) {
+				return false;
+			}
+		}
+		for (; i < limit; i++) {
+			if (buffer.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsNul(ByteBuffer buffer, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			if (buffer.get(i) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean startsWith(ByteBuffer buffer, byte[] start) {
+		if (buffer.limit() < start.length) {
+			return false;
+		}
+		for (int i = 0; i < start.length; i++) {
+			if (buffer.get(i) != start[i])
+				return false;
+		}
+		return true;
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
@@ -48,7 +48,8 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 	private final IResource[] fRootElements;
 
 	private final Set<String> fFileNamePatterns;
-	private Matcher fFileNameMatcher;
+	private volatile Pattern fFileNamePattern;
+	private final ThreadLocal<Matcher> fFileNameMatcher;
 
 	private boolean fVisitDerived;
 
@@ -57,7 +58,8 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 		fDescription= description;
 		fRootElements= resources;
 		fFileNamePatterns=  new HashSet<>(3);
-		fFileNameMatcher= null;
+		fFileNamePattern= null;
+		fFileNameMatcher= new ThreadLocal<>();
 		fVisitDerived= visitDerived;
 	}
 
@@ -86,6 +88,11 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 		return true;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
+
 	/**
 	 * Adds an file name pattern to the scope.
 	 *
@@ -93,17 +100,27 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 	 */
 	public void addFileNamePattern(String pattern) {
 		if (fFileNamePatterns.add(pattern)) {
-			fFileNameMatcher= null; // clear cache
+			fFileNamePattern= null; // clear cache
 		}
 	}
 
 	public void setFileNamePattern(Pattern pattern) {
-		fFileNameMatcher= pattern.matcher(""); //$NON-NLS-1$
+		fFileNamePattern= pattern;
 	}
 
 
 	public Pattern getFileNamePattern() {
-		return getFileNameMatcher().pattern();
+		Pattern pattern= fFileNamePattern;
+		if (pattern == null) {
+			if (fFileNamePatterns.isEmpty()) {
+				pattern= Pattern.compile(".*"); //$NON-NLS-1$
+			} else {
+				String[] patternStrings= fFileNamePatterns.toArray(new String[fFileNamePatterns.size()]);
+				pattern= PatternConstructor.createPattern(patternStrings, IS_CASE_SENSITIVE_FILESYSTEM);
+			}
+			fFileNamePattern= pattern;
+		}
+		return pattern;
 	}
 
 	/**
@@ -117,17 +134,13 @@ public class FileNamePatternSearchScope extends TextSearchScope {
 
 
 	private Matcher getFileNameMatcher() {
-		if (fFileNameMatcher == null) {
-			Pattern pattern;
-			if (fFileNamePatterns.isEmpty()) {
-				pattern= Pattern.compile(".*"); //$NON-NLS-1$
-			} else {
-				String[] patternStrings= fFileNamePatterns.toArray(new String[fFileNamePatterns.size()]);
-				pattern= PatternConstructor.createPattern(patternStrings, IS_CASE_SENSITIVE_FILESYSTEM);
-			}
-			fFileNameMatcher= pattern.matcher(""); //$NON-NLS-1$
+		Pattern pattern= getFileNamePattern();
+		Matcher matcher= fFileNameMatcher.get();
+		if (matcher == null || matcher.pattern() != pattern) {
+			matcher= pattern.matcher(""); //$NON-NLS-1$
+			fFileNameMatcher.set(matcher);
 		}
-		return fFileNameMatcher;
+		return matcher;
 	}
 
 	/**
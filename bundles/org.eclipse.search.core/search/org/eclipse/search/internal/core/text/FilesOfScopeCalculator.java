@@ -14,55 +14,142 @@
 package org.eclipse.search.internal.core.text;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceProxy;
 import org.eclipse.core.resources.IResourceProxyVisitor;
 
 import org.eclipse.search.core.text.TextSearchScope;
 
-public class FilesOfScopeCalculator implements IResourceProxyVisitor {
+/**
+ * Collects the files of a {@link TextSearchScope}. If the scope
+ * {@link TextSearchScope#canRunInParallel() can run in parallel}, the resource tree is walked by
+ * several threads, one task per container, with the scope's filters applied in the walk.
+ * Otherwise the tree is walked in the calling thread.
+ */
+public class FilesOfScopeCalculator {
+
+	private static final int NUMBER_OF_LOGICAL_THREADS= Runtime.getRuntime().availableProcessors();
 
 	private final TextSearchScope fScope;
 	private final MultiStatus fStatus;
-	private ArrayList<IResource> fFiles;
+
+	/**
+	 * Visits the members of a container, reports the files and forks a task for each container.
+	 */
+	private final class ContainerTask extends RecursiveAction {
+		private static final long serialVersionUID= 1L;
+
+		private final IResource fResource;
+		private final boolean fIsRoot;
+		private final Consumer<IFile> fConsumer;
+		private final IProgressMonitor fMonitor;
+
+		ContainerTask(IResource resource, boolean isRoot, Consumer<IFile> consumer, IProgressMonitor monitor) {
+			fResource= resource;
+			fIsRoot= isRoot;
+			fConsumer= consumer;
+			fMonitor= monitor;
+		}
+
+		@Override
+		protected void compute() {
+			if (fMonitor.isCanceled()) {
+				return;
+			}
+			List<ContainerTask> tasks= new ArrayList<>();
+			boolean[] isResource= { true }; // the resource is visited before its members
+			try {
+				fResource.accept(proxy -> {
+					if (isResource[0]) {
+						isResource[0]= false;
+						if (!fIsRoot) {
+							return true; // already accepted by the task of the parent
+						}
+					} else if (proxy.getType() != IResource.FILE) {
+						// closed projects have no members to visit
+						if (proxy.isAccessible() && fScope.contains(proxy)) {
+							tasks.add(new ContainerTask(proxy.requestResource(), false, fConsumer, fMonitor));
+						}
+						return false;
+					}
+					if (!fScope.contains(proxy)) {
+						return false;
+					}
+					if (proxy.getType() == IResource.FILE) {
+						fConsumer.accept((IFile) proxy.requestResource());
+					}
+					return true;
+				}, IResource.DEPTH_ONE, IResource.NONE);
+			} catch (CoreException ex) {
+				// report and ignore
+				synchronized (fStatus) {
+					fStatus.add(ex.getStatus());
+				}
+			}
+			invokeAll(tasks);
+		}
+	}
 
 	public FilesOfScopeCalculator(TextSearchScope scope, MultiStatus status) {
 		fScope= scope;
 		fStatus= status;
 	}
 
-	@Override
-	public boolean visit(IResourceProxy proxy) {
-		boolean inScope= fScope.contains(proxy);
-
-		if (inScope && proxy.getType() == IResource.FILE) {
-			fFiles.add(proxy.requestResource());
-		}
-		return inScope;
+	public IFile[] process() {
+		ConcurrentLinkedQueue<IFile> files= new ConcurrentLinkedQueue<>();
+		process(files::add, new NullProgressMonitor());
+		return files.toArray(new IFile[files.size()]);
 	}
 
-	public IFile[] process() {
-		fFiles= new ArrayList<>();
-		try {
-			IResource[] roots= fScope.getRoots();
+	/**
+	 * Reports the files of the scope while they are found. The consumer is called by several
+	 * threads at the same time if the scope can run in parallel.
+	 *
+	 * @param consumer the consumer of the files
+	 * @param monitor the monitor to check for cancellation
+	 */
+	public void process(Consumer<IFile> consumer, IProgressMonitor monitor) {
+		IResource[] roots= fScope.getRoots();
+		if (!fScope.canRunInParallel()) {
+			IResourceProxyVisitor visitor= proxy -> {
+				boolean inScope= fScope.contains(proxy);
+				if (inScope && proxy.getType() == IResource.FILE) {
+					consumer.accept((IFile) proxy.requestResource());
+				}
+				return inScope && !monitor.isCanceled();
+			};
 			for (IResource resource : roots) {
 				try {
 					if (resource.isAccessible()) {
-						resource.accept(this, 0);
+						resource.accept(visitor, 0);
 					}
 				} catch (CoreException ex) {
 					// report and ignore
 					fStatus.add(ex.getStatus());
 				}
 			}
-			return fFiles.toArray(new IFile[fFiles.size()]);
+			return;
+		}
+		ForkJoinPool pool= new ForkJoinPool(NUMBER_OF_LOGICAL_THREADS);
+		try {
+			for (IResource resource : roots) {
+				if (resource.isAccessible()) {
+					pool.invoke(new ContainerTask(resource, true, consumer, monitor));
+				}
+			}
 		} finally {
-			fFiles= null;
+			pool.shutdown();
 		}
 	}
 }
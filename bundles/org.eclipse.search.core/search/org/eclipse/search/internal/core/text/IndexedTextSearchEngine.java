@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A text search engine that uses a {@link TrigramIndex} of the workspace files to skip the files
+ * that cannot contain a match. The remaining files are searched like by the default engine.
+ * <p>
+ * Files that are not indexed, changed since they were indexed, or open in a dirty editor are always
+ * searched. Patterns that do not require any literal of three or more characters, for example
+ * patterns with a top level alternative, are searched in all files.
+ * </p>
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		MultiStatus status= new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK, SearchCoreMessages.TextSearchEngine_statusMessage, null);
+		IFile[] files= scope.evaluateFilesInScope(status);
+		status.merge(search(files, requestor, searchPattern, monitor));
+		return status;
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		return new TextSearchVisitor(requestor, searchPattern, discovery).search(computeCandidates(scope, searchPattern, discovery), monitor);
+	}
+
+	private static IFile[] computeCandidates(IFile[] files, Pattern searchPattern, DirtyFileProvider discovery) {
+		int[] trigrams= TrigramIndex.computeTrigrams(searchPattern);
+		if (trigrams == null)
+			return files;
+		TrigramIndex index= SearchCorePlugin.getDefault().getTrigramIndexManager().getIndex();
+		Set<String> matching= index.findFiles(trigrams);
+		Map<IFile, IDocument> dirtyFiles= discovery != null ? discovery.dirtyFiles() : null;
+		List<IFile> candidates= new ArrayList<>();
+		for (IFile file : files) {
+			String key= TrigramIndexManager.getKey(file);
+			if (matching.contains(key) || index.getStamp(key) != file.getModificationStamp()
+					|| dirtyFiles != null && dirtyFiles.containsKey(file)) {
+				candidates.add(file);
+			}
+		}
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+}
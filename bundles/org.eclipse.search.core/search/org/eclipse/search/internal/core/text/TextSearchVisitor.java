@@ -22,11 +22,14 @@ import java.nio.charset.UnsupportedCharsetException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -72,11 +75,25 @@ public class TextSearchVisitor {
 	public static final boolean TRACING= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.search/perf")); //$NON-NLS-1$ //$NON-NLS-2$
 	private static final int NUMBER_OF_LOGICAL_THREADS= Runtime.getRuntime().availableProcessors();
 
+	/** The maximal number of found files that wait to be searched. */
+	private static final int MAX_QUEUED_FILES= 10000;
+
 	/**
-	 * Queue of files to be searched. IFile pointing to the same local file are
-	 * grouped together
+	 * Queue of the locations of the files to be searched, filled while the files are found.
 	 **/
-	private final Queue<List<IFile>> fileBatches;
+	private final BlockingQueue<String> fileBatches;
+
+	/**
+	 * The files to be searched by location. IFile pointing to the same local file are grouped
+	 * together until a job takes them out of the map.
+	 */
+	private final Map<String, List<IFile>> fFilesByLocation;
+
+	/** The number of batches offered to {@link #fileBatches}. */
+	private final AtomicInteger fNumberOfFilesToScan;
+
+	/** Whether all files to be searched have been offered to {@link #fileBatches}. */
+	private volatile boolean fDiscoveryDone;
 
 	public static class ReusableMatchAccess extends TextSearchMatchAccess {
 
@@ -166,20 +183,36 @@ public class TextSearchVisitor {
 			MultiStatus multiStatus=
 					new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
 							SearchCoreMessages.TextSearchEngine_statusMessage, null);
-			SubMonitor subMonitor = SubMonitor.convert(inner, fileBatches.size() / jobCount); // approximate
+			SubMonitor subMonitor = SubMonitor.convert(inner);
 			this.fileCharSequenceProvider= new FileCharSequenceProvider();
-			List<IFile> sameFiles;
-			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fProgressMonitor.isCanceled()) {
-				IStatus status = processFile(sameFiles, subMonitor.split(1));
-				// Only accumulate interesting status
-				if (!status.isOK())
-					multiStatus.add(status);
-				// Group cancellation is propagated to this job's monitor.
-				// Stop processing and return the status for the completed jobs.
-			}
-			fileCharSequenceProvider= null;
-			synchronized (fLock) {
-				fLock.notify();
+			try {
+				while (!fFatalError && !fProgressMonitor.isCanceled()) {
+					// read before polling: once discovery is done, an empty queue stays empty
+					boolean discoveryDone= fDiscoveryDone;
+					String location= fileBatches.poll(100, TimeUnit.MILLISECONDS);
+					if (location == null) {
+						if (discoveryDone)
+							break;
+						continue;
+					}
+					List<IFile> sameFiles= fFilesByLocation.remove(location);
+					if (sameFiles == null)
+						continue;
+					subMonitor.setWorkRemaining(fileBatches.size() / jobCount + 1); // approximate
+					IStatus status = processFile(sameFiles, subMonitor.split(1));
+					// Only accumulate interesting status
+					if (!status.isOK())
+						multiStatus.add(status);
+					// Group cancellation is propagated to this job's monitor.
+					// Stop processing and return the status for the completed jobs.
+				}
+			} catch (InterruptedException e) {
+				return Status.CANCEL_STATUS;
+			} finally {
+				fileCharSequenceProvider= null;
+				synchronized (fLock) {
+					fLock.notify();
+				}
 			}
 			return multiStatus;
 		}
@@ -306,19 +339,42 @@ public class TextSearchVisitor {
 		fSearchPattern= searchPattern;
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
-		fileBatches = new ConcurrentLinkedQueue<>();
+		fileBatches = new LinkedBlockingQueue<>(MAX_QUEUED_FILES);
+		fFilesByLocation = new ConcurrentHashMap<>();
+		fNumberOfFilesToScan = new AtomicInteger();
 	}
 
 	public IStatus search(IFile[] files, IProgressMonitor monitor) {
 		if (files.length == 0) {
 			return fStatus;
 		}
+		return search(consumer -> {
+			for (IFile file : files) {
+				consumer.accept(file);
+			}
+		}, files.length, Math.min(files.length, NUMBER_OF_LOGICAL_THREADS), monitor);
+	}
+
+	/**
+	 * Searches the files while they are found: the search jobs are started before the files are
+	 * looked up, and the files are handed over to the jobs through a bounded queue.
+	 *
+	 * @param discovery reports the files to search to the given consumer, possibly from several
+	 *            threads at the same time
+	 * @param totalWork the number of files the discovery reports, or
+	 *            {@link IProgressMonitor#UNKNOWN} if it is only known when the discovery is done
+	 * @param threadsNeeded the number of threads that can be used
+	 * @param monitor the progress monitor
+	 * @return the status of the search
+	 */
+	private IStatus search(Consumer<Consumer<IFile>> discovery, int totalWork, int threadsNeeded, IProgressMonitor monitor) {
 		fProgressMonitor = monitor == null ? new NullProgressMonitor() : monitor;
 		synchronized (fLock) {
 			fNumberOfScannedFiles = 0;
 			fCurrentFile = null;
 		}
-		int threadsNeeded = Math.min(files.length, NUMBER_OF_LOGICAL_THREADS);
+		fNumberOfFilesToScan.set(0);
+		fDiscoveryDone = false;
 		// All but 1 threads should search. 1 thread does the UI updates:
 		int jobCount = fCollector.canRunInParallel() && threadsNeeded > 1 ? threadsNeeded - 1 : 1;
 		long startTime= TRACING ? System.currentTimeMillis() : 0;
@@ -335,23 +391,6 @@ public class TextSearchVisitor {
 
 				Map<IFile, IDocument> documentsInEditors = findDirtyFiles();
 
-				// group files with same content together:
-				Map<String, List<IFile>> localFilesByLocation = new LinkedHashMap<>();
-				Map<String, List<IFile>> remoteFilesByLocation = new LinkedHashMap<>();
-
-				for (IFile file : files) {
-					IPath path = file.getLocation();
-					String key = path == null ? file.getLocationURI().toString() : path.toString();
-					Map<String, List<IFile>> filesByLocation = (path != null) ? localFilesByLocation
-							: remoteFilesByLocation;
-					filesByLocation.computeIfAbsent(key, k -> new ArrayList<>()).add(file);
-
-				}
-				localFilesByLocation.values().forEach(fileBatches::offer);
-				remoteFilesByLocation.values().forEach(fileBatches::offer);
-				int numberOfFilesToScan = fileBatches.size();
-				fProgressMonitor.beginTask(taskName, numberOfFilesToScan);
-
 				// Seed count over 1 can cause endless waits, see bug 543629
 				// comment 2
 				// TODO use seed = jobCount after the bug 543660 in JobGroup is
@@ -364,6 +403,14 @@ public class TextSearchVisitor {
 					job.setJobGroup(jobGroup);
 					job.schedule();
 				}
+				fProgressMonitor.beginTask(taskName, totalWork);
+				try {
+					discovery.accept(this::offerFile);
+				} finally {
+					fDiscoveryDone = true;
+				}
+				int numberOfFilesToScan = fNumberOfFilesToScan.get();
+
 				// update progress until finished or canceled:
 				int numberOfScannedFiles = 0;
 				int lastNumberOfScannedFiles = 0;
@@ -410,6 +457,7 @@ public class TextSearchVisitor {
 				throw new OperationCanceledException(SearchCoreMessages.TextSearchVisitor_canceled);
 			} finally {
 				fileBatches.clear();
+				fFilesByLocation.clear();
 			}
 		} finally {
 			fProgressMonitor.done();
@@ -422,6 +470,44 @@ public class TextSearchVisitor {
 		}
 	}
 
+	/**
+	 * Hands a found file over to the search jobs. Files with the same location are grouped
+	 * together as long as no job has taken the group yet; a file that is found after its group was
+	 * taken is searched on its own.
+	 *
+	 * @param file the file to search
+	 */
+	private void offerFile(IFile file) {
+		if (fFatalError || fProgressMonitor.isCanceled()) {
+			return;
+		}
+		IPath path = file.getLocation();
+		String key = path == null ? file.getLocationURI().toString() : path.toString();
+		boolean[] isNew= { false };
+		fFilesByLocation.compute(key, (k, sameFiles) -> {
+			if (sameFiles == null) {
+				sameFiles= new ArrayList<>(1);
+				isNew[0]= true;
+			}
+			sameFiles.add(file);
+			return sameFiles;
+		});
+		if (!isNew[0]) {
+			return;
+		}
+		fNumberOfFilesToScan.incrementAndGet();
+		try {
+			// the queue is bounded: wait for the jobs while they are behind
+			while (!fileBatches.offer(key, 100, TimeUnit.MILLISECONDS)) {
+				if (fFatalError || fProgressMonitor.isCanceled()) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			fProgressMonitor.setCanceled(true);
+		}
+	}
+
 	private Map<IFile, IDocument> findDirtyFiles() {
 		if (fDirtyDiscovery != null) {
 			Map<IFile, IDocument> ret = fDirtyDiscovery.dirtyFiles();
@@ -432,7 +518,12 @@ public class TextSearchVisitor {
 	}
 
 	public IStatus search(TextSearchScope scope, IProgressMonitor monitor) {
-		return search(scope.evaluateFilesInScope(fStatus), monitor);
+		if (!scope.canRunInParallel()) {
+			return search(scope.evaluateFilesInScope(fStatus), monitor);
+		}
+		FilesOfScopeCalculator calculator= new FilesOfScopeCalculator(scope, fStatus);
+		// the number of files is only known when the jobs are already searching them
+		return search(consumer -> calculator.process(consumer, fProgressMonitor), IProgressMonitor.UNKNOWN, NUMBER_OF_LOGICAL_THREADS, monitor);
 	}
 
 	private boolean hasBinaryContent(CharSequence seq, IFile file) throws CoreException {
@@ -0,0 +1,566 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * An index of the trigrams, that is, the sequences of three characters, occurring in the content
+ * of files. It is used to narrow down the files that can contain a match of a search pattern
+ * before they are searched.
+ * <p>
+ * Files are identified by their path and indexed together with a stamp that tells whether the
+ * indexed content is still current. The characters are case folded, so that the index serves both
+ * case sensitive and case insensitive searches, and the trigrams are hashed to <code>int</code>
+ * keys. Both only make the index report more files than necessary, never fewer.
+ * </p>
+ * <p>
+ * For each trigram, the index keeps the sorted ids of the files containing it. Updating a file
+ * gives it a new id, the ids no longer in use are dropped once they outnumber the ones in use and
+ * when the index is saved.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public class TrigramIndex {
+
+	/** The stamp of a file that is not indexed. */
+	public static final long NO_STAMP= Long.MIN_VALUE;
+
+	/** The version of the persisted format. */
+	private static final int VERSION= 1;
+
+	/** The sorted ids of the files containing a trigram. */
+	private static final class Postings {
+
+		int[] fIds= new int[2];
+		int fSize;
+
+		void add(int id) {
+			if (fSize == fIds.length)
+				fIds= Arrays.copyOf(fIds, 2 * fSize);
+			fIds[fSize++]= id;
+		}
+	}
+
+	/** The id of a file by path. */
+	private final Map<String, Integer> fIds= new HashMap<>();
+	/** The path of a file by id, <code>null</code> if the id is no longer in use. */
+	private final List<String> fPaths= new ArrayList<>();
+	/** The stamp of a file by id. */
+	private long[] fStamps= new long[16];
+	/** The files containing a trigram, by trigram key. */
+	private final Map<Integer, Postings> fPostings= new HashMap<>();
+	/** The number of ids no longer in use. */
+	private int fUnusedIds;
+
+	/**
+	 * Adds the given file to the index, replacing a former version of it.
+	 *
+	 * @param path the path of the file
+	 * @param stamp the stamp of the indexed content
+	 * @param trigrams the trigrams of the content, see {@link #computeTrigrams(Reader)}
+	 */
+	public synchronized void add(String path, long stamp, int[] trigrams) {
+		remove(path);
+		int id= fPaths.size();
+		fPaths.add(path);
+		if (id == fStamps.length)
+			fStamps= Arrays.copyOf(fStamps, 2 * id);
+		fStamps[id]= stamp;
+		fIds.put(path, Integer.valueOf(id));
+		for (int trigram : trigrams)
+			fPostings.computeIfAbsent(Integer.valueOf(trigram), key -> new Postings()).add(id);
+		if (fUnusedIds > fIds.size())
+			compact();
+	}
+
+	/**
+	 * Removes the given file from the index.
+	 *
+	 * @param path the path of the file
+	 */
+	public synchronized void remove(String path) {
+		Integer id= fIds.remove(path);
+		if (id != null) {
+			fPaths.set(id.intValue(), null);
+			fUnusedIds++;
+		}
+	}
+
+	/**
+	 * Drops the ids no longer in use, renumbering the others.
+	 */
+	private void compact() {
+		int[] newIds= new int[fPaths.size()];
+		int count= 0;
+		for (int id= 0; id < newIds.length; id++) {
+			String path= fPaths.get(id);
+			if (path == null) {
+				newIds[id]= -1;
+			} else {
+				newIds[id]= count;
+				fPaths.set(count, path);
+				fStamps[count]= fStamps[id];
+				fIds.put(path, Integer.valueOf(count));
+				count++;
+			}
+		}
+		fPaths.subList(count, fPaths.size()).clear();
+		Iterator<Postings> iterator= fPostings.values().iterator();
+		while (iterator.hasNext()) {
+			Postings postings= iterator.next();
+			int size= 0;
+			for (int i= 0; i < postings.fSize; i++) {
+				int id= newIds[postings.fIds[i]];
+				if (id != -1)
+					postings.fIds[size++]= id;
+			}
+			postings.fSize= size;
+			if (size == 0)
+				iterator.remove();
+		}
+		fUnusedIds= 0;
+	}
+
+	/**
+	 * Returns the stamp of the indexed content of the given file.
+	 *
+	 * @param path the path of the file
+	 * @return the stamp, or {@link #NO_STAMP} if the file is not indexed
+	 */
+	public synchronized long getStamp(String path) {
+		Integer id= fIds.get(path);
+		return id == null ? NO_STAMP : fStamps[id.intValue()];
+	}
+
+	/**
+	 * Returns the paths of all indexed files.
+	 *
+	 * @return the paths of the indexed files
+	 */
+	public synchronized Set<String> getPaths() {
+		return new HashSet<>(fIds.keySet());
+	}
+
+	/**
+	 * Returns the indexed files whose content contains all of the given trigrams.
+	 *
+	 * @param trigrams the trigrams, see {@link #computeTrigrams(Pattern)}
+	 * @return the paths of the indexed files containing the trigrams
+	 */
+	public synchronized Set<String> findFiles(int[] trigrams) {
+		Postings[] postings= new Postings[trigrams.length];
+		for (int i= 0; i < trigrams.length; i++) {
+			postings[i]= fPostings.get(Integer.valueOf(trigrams[i]));
+			if (postings[i] == null)
+				return new HashSet<>();
+		}
+		// intersect, starting with the rarest trigram
+		Arrays.sort(postings, (p1, p2) -> Integer.compare(p1.fSize, p2.fSize));
+		int[] ids= Arrays.copyOf(postings[0].fIds, postings[0].fSize);
+		int size= ids.length;
+		for (int i= 1; i < postings.length && size > 0; i++) {
+			Postings other= postings[i];
+			int count= 0;
+			int j= 0;
+			for (int k= 0; k < size; k++) {
+				int id= ids[k];
+				while (j < other.fSize && other.fIds[j] < id)
+					j++;
+				if (j < other.fSize && other.fIds[j] == id)
+					ids[count++]= id;
+			}
+			size= count;
+		}
+		Set<String> result= new HashSet<>();
+		for (int k= 0; k < size; k++) {
+			String path= fPaths.get(ids[k]);
+			if (path != null)
+				result.add(path);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes this index to the given stream, dropping the ids no longer in use.
+	 *
+	 * @param out the stream to write to, not closed by this method
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void save(OutputStream out) throws IOException {
+		if (fUnusedIds > 0)
+			compact();
+
+		DataOutputStream data= new DataOutputStream(out);
+		data.writeInt(VERSION);
+		writeVarInt(data, fPaths.size());
+		for (int id= 0; id < fPaths.size(); id++) {
+			data.writeUTF(fPaths.get(id));
+			data.writeLong(fStamps[id]);
+		}
+		writeVarInt(data, fPostings.size());
+		for (Map.Entry<Integer, Postings> entry : fPostings.entrySet()) {
+			Postings postings= entry.getValue();
+			data.writeInt(entry.getKey().intValue());
+			writeVarInt(data, postings.fSize);
+			int previous= 0;
+			for (int i= 0; i < postings.fSize; i++) {
+				// ids are ascending, store the gaps
+				writeVarInt(data, postings.fIds[i] - previous);
+				previous= postings.fIds[i];
+			}
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads an index written by {@link #save(OutputStream)}.
+	 *
+	 * @param in the stream to read from, not closed by this method
+	 * @return the index
+	 * @throws IOException if reading fails or the stream does not contain an index
+	 */
+	public static TrigramIndex load(InputStream in) throws IOException {
+		DataInputStream data= new DataInputStream(in);
+		if (data.readInt() != VERSION)
+			throw new IOException("unsupported index version"); //$NON-NLS-1$
+		TrigramIndex index= new TrigramIndex();
+		int count= readVarInt(data);
+		index.fStamps= new long[Math.max(16, count)];
+		for (int id= 0; id < count; id++) {
+			String path= data.readUTF();
+			index.fPaths.add(path);
+			index.fIds.put(path, Integer.valueOf(id));
+			index.fStamps[id]= data.readLong();
+		}
+		int trigramCount= readVarInt(data);
+		for (int i= 0; i < trigramCount; i++) {
+			int trigram= data.readInt();
+			int size= readVarInt(data);
+			Postings postings= new Postings();
+			postings.fIds= new int[Math.max(2, size)];
+			int id= 0;
+			for (int j= 0; j < size; j++) {
+				id+= readVarInt(data);
+				if (id >= count)
+					throw new IOException("corrupt index"); //$NON-NLS-1$
+				postings.fIds[j]= id;
+			}
+			postings.fSize= size;
+			if (size > 0)
+				index.fPostings.put(Integer.valueOf(trigram), postings);
+		}
+		return index;
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.writeByte(value & 0x7f | 0x80);
+			value>>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.readUnsignedByte();
+			value|= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("corrupt index"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Computes the trigrams of the given content.
+	 *
+	 * @param content the content
+	 * @return the distinct trigrams, sorted
+	 * @throws IOException if reading the content fails
+	 */
+	public static int[] computeTrigrams(Reader content) throws IOException {
+		int[] trigrams= new int[1024];
+		int count= 0;
+		char[] buffer= new char[8192];
+		char c1= 0;
+		char c2= 0;
+		int length= 0;
+		int read;
+		while ((read= content.read(buffer)) != -1) {
+			for (int i= 0; i < read; i++) {
+				char c3= fold(buffer[i]);
+				if (++length >= 3) {
+					if (count == trigrams.length) {
+						count= sortDistinct(trigrams, count);
+						if (count > trigrams.length / 2)
+							trigrams= Arrays.copyOf(trigrams, 2 * trigrams.length);
+					}
+					trigrams[count++]= hash(c1, c2, c3);
+				}
+				c1= c2;
+				c2= c3;
+			}
+		}
+		return Arrays.copyOf(trigrams, sortDistinct(trigrams, count));
+	}
+
+	/**
+	 * Computes the trigrams that the content of a file must contain for the given pattern to find
+	 * a match in it.
+	 *
+	 * @param pattern the search pattern
+	 * @return the distinct trigrams, sorted, or <code>null</code> if the pattern does not require
+	 *         any
+	 */
+	public static int[] computeTrigrams(Pattern pattern) {
+		List<String> literals= computeRequiredLiterals(pattern);
+		int[] trigrams= new int[0];
+		int count= 0;
+		for (String literal : literals) {
+			trigrams= Arrays.copyOf(trigrams, count + literal.length() - 2);
+			for (int i= 2; i < literal.length(); i++)
+				trigrams[count++]= hash(fold(literal.charAt(i - 2)), fold(literal.charAt(i - 1)), fold(literal.charAt(i)));
+		}
+		if (count == 0)
+			return null;
+		return Arrays.copyOf(trigrams, sortDistinct(trigrams, count));
+	}
+
+	/**
+	 * Computes literal strings of at least three characters that every match of the given pattern
+	 * contains. The regular expression is analyzed conservatively: alternatives, groups, character
+	 * classes and optional characters end a literal, unknown constructs give up.
+	 *
+	 * @param pattern the search pattern
+	 * @return the required literals, empty if none is known
+	 */
+	static List<String> computeRequiredLiterals(Pattern pattern) {
+		List<String> literals= new ArrayList<>();
+		String regex= pattern.pattern();
+		if ((pattern.flags() & Pattern.LITERAL) != 0) {
+			if (regex.length() >= 3)
+				literals.add(regex);
+			return literals;
+		}
+		if ((pattern.flags() & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0)
+			return literals;
+
+		StringBuilder literal= new StringBuilder();
+		boolean lastIsLiteral= false; // whether the last atom is the last character of literal
+		int depth= 0;
+		int length= regex.length();
+		int i= 0;
+		while (i < length) {
+			char c= regex.charAt(i++);
+			if (c == '\\') {
+				if (i == length)
+					return new ArrayList<>();
+				char next= regex.charAt(i++);
+				if (next == 'Q') {
+					int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+					if (end == -1)
+						end= length;
+					for (; i < end; i++)
+						lastIsLiteral= appendLiteral(literal, regex.charAt(i), depth);
+					i= Math.min(length, end + 2);
+					continue;
+				}
+				if (!Character.isLetterOrDigit(next)) {
+					lastIsLiteral= appendLiteral(literal, next, depth);
+					continue;
+				}
+				i= skipEscape(regex, i, next);
+				if (i == -1)
+					return new ArrayList<>();
+			} else if (c == '[') {
+				i= skipCharacterClass(regex, i);
+				if (i == -1)
+					return new ArrayList<>();
+			} else if (c == '(') {
+				if (i < length && regex.charAt(i) == '?') {
+					// inline flags may turn on comments
+					int end= i + 1;
+					while (end < length && Character.isLetter(regex.charAt(end)) || end < length && regex.charAt(end) == '-')
+						end++;
+					if (regex.substring(i + 1, end).indexOf('x') != -1)
+						return new ArrayList<>();
+				}
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '|') {
+				if (depth == 0)
+					return new ArrayList<>();
+			} else if (c == '?' || c == '*' || c == '{') {
+				// the last atom is optional
+				if (lastIsLiteral)
+					literal.setLength(literal.length() - 1);
+				if (c == '{') {
+					i= regex.indexOf('}', i);
+					if (i == -1)
+						return new ArrayList<>();
+					i++;
+				}
+			} else if (c != '+' && c != '.' && c != '^' && c != '$') {
+				lastIsLiteral= appendLiteral(literal, c, depth);
+				continue;
+			}
+			addLiteral(literals, literal);
+			lastIsLiteral= false;
+		}
+		addLiteral(literals, literal);
+		return literals;
+	}
+
+	private static boolean appendLiteral(StringBuilder literal, char c, int depth) {
+		if (depth != 0)
+			return false;
+		literal.append(c);
+		return true;
+	}
+
+	private static void addLiteral(List<String> literals, StringBuilder literal) {
+		if (literal.length() >= 3)
+			literals.add(literal.toString());
+		literal.setLength(0);
+	}
+
+	/**
+	 * Skips the arguments of an escape sequence starting with a letter or digit.
+	 *
+	 * @param regex the regular expression
+	 * @param i the index after the escaped character
+	 * @param c the escaped character
+	 * @return the index after the escape sequence, or <code>-1</code> if it is not known
+	 */
+	private static int skipEscape(String regex, int i, char c) {
+		int length= regex.length();
+		switch (c) {
+			case 'd': case 'D': case 's': case 'S': case 'w': case 'W': case 'b': case 'B':
+			case 'A': case 'G': case 'Z': case 'z': case 'R': case 'h': case 'H': case 'v': case 'V': case 'X':
+			case 't': case 'n': case 'r': case 'f': case 'a': case 'e':
+				return i;
+			case 'c':
+				return i < length ? i + 1 : -1;
+			case 'x':
+				if (i < length && regex.charAt(i) == '{')
+					return skipTo(regex, i, '}');
+				return Math.min(length, i + 2);
+			case 'u':
+				return Math.min(length, i + 4);
+			case 'p': case 'P': case 'N':
+				if (i < length && regex.charAt(i) == '{')
+					return skipTo(regex, i, '}');
+				return c == 'N' ? -1 : Math.min(length, i + 1);
+			case 'k':
+				return i < length && regex.charAt(i) == '<' ? skipTo(regex, i, '>') : -1;
+			case '0':
+				for (int end= i + 3; i < end && i < length && regex.charAt(i) >= '0' && regex.charAt(i) <= '7'; i++) {
+					// octal digits
+				}
+				return i;
+			default:
+				if (c >= '1' && c <= '9') {
+					while (i < length && Character.isDigit(regex.charAt(i)))
+						i++;
+					return i;
+				}
+				return -1;
+		}
+	}
+
+	private static int skipTo(String regex, int i, char c) {
+		int end= regex.indexOf(c, i);
+		return end == -1 ? -1 : end + 1;
+	}
+
+	/**
+	 * Skips a character class, including nested classes.
+	 *
+	 * @param regex the regular expression
+	 * @param i the index after the opening bracket
+	 * @return the index after the closing bracket, or <code>-1</code> if there is none
+	 */
+	private static int skipCharacterClass(String regex, int i) {
+		int length= regex.length();
+		int depth= 1;
+		if (i < length && regex.charAt(i) == '^')
+			i++;
+		if (i < length && regex.charAt(i) == ']')
+			i++;
+		while (i < length) {
+			char c= regex.charAt(i++);
+			if (c == '\\') {
+				if (i < length && regex.charAt(i) == 'Q') {
+					int end= regex.indexOf("\\E", i); //$NON-NLS-1$
+					if (end == -1)
+						return -1;
+					i= end + 2;
+				} else {
+					i++;
+				}
+			} else if (c == '[') {
+				depth++;
+			} else if (c == ']' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Folds the case of the given character such that characters matched by a case insensitive
+	 * pattern fold to the same character.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	private static char fold(char c) {
+		if (c < 128)
+			return c >= 'A' && c <= 'Z' ? (char) (c + 'a' - 'A') : c;
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int hash(char c1, char c2, char c3) {
+		int h= (c1 << 16 | c2) * 0x9E3779B1;
+		return (h ^ h >>> 15 ^ c3) * 0x85EBCA6B;
+	}
+
+	private static int sortDistinct(int[] values, int count) {
+		Arrays.sort(values, 0, count);
+		int distinct= 0;
+		for (int i= 0; i < count; i++) {
+			if (distinct == 0 || values[distinct - 1] != values[i])
+				values[distinct++]= values[i];
+		}
+		return distinct;
+	}
+}
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Keeps a {@link TrigramIndex} of the workspace files up to date.
+ * <p>
+ * The index is loaded from the plug-in state location when first requested. A job then indexes
+ * the files whose modification stamp differs from the indexed one and, from then on, the files
+ * reported by resource change events. The index is written back when the plug-in stops.
+ * </p>
+ */
+public class TrigramIndexManager implements IResourceChangeListener {
+
+	/** The family of the job updating the index. */
+	public static final Object FAMILY_INDEX_UPDATE= new Object();
+
+	private static final String INDEX_FILE_NAME= "trigram.index"; //$NON-NLS-1$
+
+	/** Files larger than this are not indexed and always searched. */
+	private static final long MAX_FILE_SIZE= 8 * 1024 * 1024;
+
+	private final File fIndexFile;
+	private final TrigramIndex fIndex;
+	private final IndexJob fJob;
+
+	/** The files to update in the index, guarded by itself. */
+	private final Set<IFile> fPendingFiles= new LinkedHashSet<>();
+	/** Whether the next run of the job has to visit the whole workspace, guarded by {@link #fPendingFiles}. */
+	private boolean fFullScanPending= true;
+
+	private class IndexJob extends Job {
+
+		public IndexJob() {
+			super(SearchCoreMessages.TrigramIndexManager_job_name);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			boolean fullScan;
+			synchronized (fPendingFiles) {
+				fullScan= fFullScanPending;
+				fFullScanPending= false;
+			}
+			if (fullScan) {
+				try {
+					scanWorkspace(monitor);
+				} catch (CoreException e) {
+					SearchCorePlugin.log(e);
+				}
+			}
+			while (!monitor.isCanceled()) {
+				IFile file;
+				synchronized (fPendingFiles) {
+					if (fPendingFiles.isEmpty())
+						break;
+					file= fPendingFiles.iterator().next();
+					fPendingFiles.remove(file);
+				}
+				update(file);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == FAMILY_INDEX_UPDATE;
+		}
+	}
+
+	/**
+	 * Creates the manager, loads the persisted index, and starts to keep it up to date.
+	 *
+	 * @param stateLocation the directory the index is persisted in
+	 */
+	public TrigramIndexManager(IPath stateLocation) {
+		fIndexFile= stateLocation.append(INDEX_FILE_NAME).toFile();
+		fIndex= load(fIndexFile);
+		fJob= new IndexJob();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fJob.schedule();
+	}
+
+	/**
+	 * Returns the index. The stamps of the indexed files have to be compared with the current
+	 * modification stamps of the files to find the files that are not up to date.
+	 *
+	 * @return the index
+	 */
+	public TrigramIndex getIndex() {
+		return fIndex;
+	}
+
+	/**
+	 * Returns the key of a file in the index.
+	 *
+	 * @param file the file
+	 * @return the key of the file
+	 */
+	public static String getKey(IFile file) {
+		return file.getFullPath().toString();
+	}
+
+	/**
+	 * Stops updating the index and writes it to the state location.
+	 */
+	public void shutdown() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fJob.cancel();
+		try {
+			fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		save();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		Set<IFile> files= new HashSet<>();
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() == IResource.FILE) {
+					if (child.getKind() == IResourceDelta.REMOVED) {
+						fIndex.remove(getKey((IFile) resource));
+					} else if ((child.getFlags() & ~IResourceDelta.MARKERS) != 0 || child.getKind() == IResourceDelta.ADDED) {
+						if ((child.getFlags() & IResourceDelta.ENCODING) != 0) {
+							// same stamp, but the content decodes differently: searched until re-indexed
+							fIndex.remove(getKey((IFile) resource));
+						}
+						files.add((IFile) resource);
+					}
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+			return;
+		}
+		if (!files.isEmpty()) {
+			synchronized (fPendingFiles) {
+				fPendingFiles.addAll(files);
+			}
+			fJob.schedule();
+		}
+	}
+
+	private void scanWorkspace(IProgressMonitor monitor) throws CoreException {
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		Set<String> indexed= fIndex.getPaths();
+		Set<IFile> files= new LinkedHashSet<>();
+		root.accept((IResourceProxy proxy) -> {
+			if (monitor.isCanceled())
+				return false;
+			if (proxy.getType() == IResource.FILE) {
+				String key= proxy.requestFullPath().toString();
+				indexed.remove(key);
+				if (fIndex.getStamp(key) != proxy.getModificationStamp())
+					files.add((IFile) proxy.requestResource());
+				return false;
+			}
+			return true;
+		}, IResource.NONE);
+		if (monitor.isCanceled()) {
+			synchronized (fPendingFiles) {
+				fFullScanPending= true;
+			}
+			return;
+		}
+		for (String path : indexed)
+			fIndex.remove(path);
+		synchronized (fPendingFiles) {
+			fPendingFiles.addAll(files);
+		}
+	}
+
+	private void update(IFile file) {
+		String key= getKey(file);
+		long stamp= file.getModificationStamp();
+		if (stamp == IResource.NULL_STAMP || !file.isAccessible()) {
+			fIndex.remove(key);
+			return;
+		}
+		if (stamp == fIndex.getStamp(key))
+			return;
+		IPath location= file.getLocation();
+		if (location == null || location.toFile().length() > MAX_FILE_SIZE) {
+			fIndex.remove(key);
+			return;
+		}
+		try (InputStream contents= file.getContents(); Reader reader= new BufferedReader(new InputStreamReader(contents, file.getCharset()))) {
+			fIndex.add(key, stamp, TrigramIndex.computeTrigrams(reader));
+		} catch (CoreException | IOException e) {
+			// not indexed: the file is always searched
+			fIndex.remove(key);
+		}
+	}
+
+	private static TrigramIndex load(File file) {
+		if (file.isFile()) {
+			try (InputStream in= new BufferedInputStream(new FileInputStream(file))) {
+				return TrigramIndex.load(in);
+			} catch (IOException e) {
+				// corrupt or outdated: rebuilt from scratch
+			}
+		}
+		return new TrigramIndex();
+	}
+
+	private void save() {
+		File tempFile= new File(fIndexFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (OutputStream out= new BufferedOutputStream(new FileOutputStream(tempFile))) {
+				fIndex.save(out);
+			}
+			Files.move(tempFile.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+}
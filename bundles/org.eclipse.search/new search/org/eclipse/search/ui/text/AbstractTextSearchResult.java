@@ -124,16 +124,25 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 
 	/**
 	 * Adds a number of Matches to this search result. This method does nothing for
-	 * matches that are already present.
+	 * matches that are already present. A single event is sent for all added matches,
+	 * so adding matches in batches is much cheaper for the listeners than adding them
+	 * one by one. Matches of the same element should be adjacent.
 	 * <p>
 	 * Subclasses may extend this method.
 	 * </p>
 	 * @param matches the matches to add
 	 */
 	public void addMatches(Match[] matches) {
-		Collection<Match> reallyAdded= new ArrayList<>();
+		Collection<Match> reallyAdded= new ArrayList<>(matches.length);
+		Object element= null;
+		Set<Match> elementMatches= null;
 		for (Match match : matches) {
-			if (didAddMatch(match)) {
+			updateFilterState(match);
+			if (elementMatches == null || match.getElement() != element) {
+				element= match.getElement();
+				elementMatches= fElementsToMatches.computeIfAbsent(element, k -> ConcurrentHashMap.newKeySet());
+			}
+			if (elementMatches.add(match)) {
 				reallyAdded.add(match);
 			}
 		}
@@ -234,6 +234,11 @@ public final class FileTextSearchScope extends TextSearchScope {
 		return true;
 	}
 
+	@Override
+	public boolean canRunInParallel() {
+		return true;
+	}
+
 	private Matcher createMatcher(String[] fileNamePatterns, boolean negativeMatcher) {
 		if (fileNamePatterns == null || fileNamePatterns.length == 0) {
 			return null;
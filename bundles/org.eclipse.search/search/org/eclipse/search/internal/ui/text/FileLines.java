@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.search.internal.ui.text;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IResource;
+
+/**
+ * The lines of a file that contain matches, stored in columns: parallel arrays with the line
+ * numbers, offsets and content ends, and the contents of all lines in one buffer. A
+ * {@link LineElement} is a view of one of the lines.
+ * <p>
+ * Lines are added while the file is searched. They must not be added anymore once the lines are
+ * visible to other threads.
+ * </p>
+ */
+public class FileLines {
+
+	private final IResource fParent;
+
+	private int[] fLineNumbers;
+	private int[] fOffsets;
+	/** The end of the contents of each line in {@link #fContents}, the start is the end of the previous line. */
+	private int[] fContentEnds;
+	private int fSize;
+	private final StringBuilder fContents;
+
+	public FileLines(IResource parent) {
+		fParent= parent;
+		fLineNumbers= new int[4];
+		fOffsets= new int[4];
+		fContentEnds= new int[4];
+		fContents= new StringBuilder();
+	}
+
+	/**
+	 * Adds a line.
+	 *
+	 * @param lineNumber the number of the line
+	 * @param lineStartOffset the offset of the line in the file
+	 * @param lineContents the contents of the line
+	 * @return the element for the added line
+	 */
+	public LineElement addLine(int lineNumber, int lineStartOffset, CharSequence lineContents) {
+		if (fSize == fLineNumbers.length) {
+			int capacity= fSize + (fSize >> 1);
+			fLineNumbers= Arrays.copyOf(fLineNumbers, capacity);
+			fOffsets= Arrays.copyOf(fOffsets, capacity);
+			fContentEnds= Arrays.copyOf(fContentEnds, capacity);
+		}
+		fContents.append(lineContents);
+		fLineNumbers[fSize]= lineNumber;
+		fOffsets[fSize]= lineStartOffset;
+		fContentEnds[fSize]= fContents.length();
+		return new LineElement(this, fSize++);
+	}
+
+	/**
+	 * Releases the memory reserved for further lines.
+	 */
+	public void trimToSize() {
+		if (fSize < fLineNumbers.length) {
+			fLineNumbers= Arrays.copyOf(fLineNumbers, fSize);
+			fOffsets= Arrays.copyOf(fOffsets, fSize);
+			fContentEnds= Arrays.copyOf(fContentEnds, fSize);
+		}
+		fContents.trimToSize();
+	}
+
+	IResource getParent() {
+		return fParent;
+	}
+
+	int getLine(int index) {
+		return fLineNumbers[index];
+	}
+
+	int getOffset(int index) {
+		return fOffsets[index];
+	}
+
+	int getLength(int index) {
+		return fContentEnds[index] - getContentStart(index);
+	}
+
+	String getContents(int index) {
+		return fContents.substring(getContentStart(index), fContentEnds[index]);
+	}
+
+	private int getContentStart(int index) {
+		return index == 0 ? 0 : fContentEnds[index - 1];
+	}
+}
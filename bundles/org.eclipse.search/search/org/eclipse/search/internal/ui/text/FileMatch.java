@@ -25,19 +25,22 @@ import org.eclipse.jface.text.Region;
 import org.eclipse.search.ui.text.Match;
 
 public class FileMatch extends Match {
-	private LineElement fLineElement;
+	/** The lines of the file, the line of the match is referenced by index to not keep an element per line. */
+	private FileLines fLines;
+	private int fLineIndex;
 	private Region fOriginalLocation;
 
 	public FileMatch(IFile element) {
 		super(element, -1, -1);
-		fLineElement= null;
+		fLines= null;
 		fOriginalLocation= null;
 	}
 
 	public FileMatch(IFile element, int offset, int length, LineElement lineEntry) {
 		super(element, offset, length);
 		Assert.isLegal(lineEntry != null);
-		fLineElement= lineEntry;
+		fLines= lineEntry.getLines();
+		fLineIndex= lineEntry.getIndex();
 	}
 
 	@Override
@@ -74,7 +77,15 @@ public class FileMatch extends Match {
 
 
 	public LineElement getLineElement() {
-		return fLineElement;
+		return fLines != null ? new LineElement(fLines, fLineIndex) : null;
+	}
+
+	FileLines getLines() {
+		return fLines;
+	}
+
+	int getLineIndex() {
+		return fLineIndex;
 	}
 
 	public IFile getFile() {
@@ -82,6 +93,6 @@ public class FileMatch extends Match {
 	}
 
 	public boolean isFileSearch() {
-		return fLineElement == null;
+		return fLines == null;
 	}
 }
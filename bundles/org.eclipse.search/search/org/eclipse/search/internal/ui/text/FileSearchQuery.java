@@ -47,6 +47,11 @@ import org.eclipse.search.ui.text.Match;
 
 public class FileSearchQuery implements ISearchQuery {
 
+	/** The number of matches of all files that are added to the result at once. */
+	public static int MAX_PENDING_MATCHES= 1000; // public for testing
+	/** The time after which pending matches are added, even if there are only a few. */
+	public static long MAX_PENDING_NANOS= 100_000_000L; // public for testing
+
 	private final static class TextSearchResultCollector extends TextSearchRequestor {
 
 		private final AbstractTextSearchResult fResult;
@@ -57,12 +62,21 @@ public class FileSearchQuery implements ISearchQuery {
 		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
 		private volatile boolean stop;
 
+		/**
+		 * The matches of the searched files that are not yet added to the result. Also serves as the
+		 * lock that makes the search jobs add them one at a time: a job reaching the limit blocks the
+		 * others until the result has taken the matches.
+		 */
+		private final List<Match> fPendingMatches;
+		private long fLastAdded;  // Protected by fPendingMatches
+
 		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
 			fResult= result;
 			fIsFileSearchOnly= isFileSearchOnly;
 			fSearchInBinaries= searchInBinaries;
 			fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 			fCachedMatches = new ConcurrentHashMap<>();
+			fPendingMatches= new ArrayList<>();
 		}
 
 		@Override
@@ -76,7 +90,7 @@ public class FileSearchQuery implements ISearchQuery {
 				return false;
 
 			if (fIsFileSearchOnly) {
-				fResult.addMatch(new FileMatch(file));
+				addPendingMatches(List.of(new FileMatch(file)), false);
 			}
 			return true;
 		}
@@ -111,6 +125,7 @@ public class FileSearchQuery implements ISearchQuery {
 		private LineElement getLineElement(int offset, TextSearchMatchAccess matchRequestor, ArrayList<FileMatch> matches) {
 			int lineNumber= 1;
 			int lineStart= 0;
+			FileLines lines;
 
 			if (matches != null) {
 				// match on same line as last?
@@ -119,9 +134,12 @@ public class FileSearchQuery implements ISearchQuery {
 				if (lineElement.contains(offset)) {
 					return lineElement;
 				}
+				lines= lineElement.getLines();
 				// start with the offset and line information from the last match
 				lineStart= lineElement.getOffset() + lineElement.getLength();
 				lineNumber= lineElement.getLine() + 1;
+			} else {
+				lines= new FileLines(matchRequestor.getFile());
 			}
 			if (offset < lineStart) {
 				return null; // offset before the last line
@@ -136,21 +154,21 @@ public class FileSearchQuery implements ISearchQuery {
 						i++;
 					}
 					if (offset < i) {
-						String lineContent= getContents(matchRequestor, lineStart, i); // include line delimiter
-						return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+						CharSequence lineContent= getContents(matchRequestor, lineStart, i); // include line delimiter
+						return lines.addLine(lineNumber, lineStart, lineContent);
 					}
 					lineNumber++;
 					lineStart= i;
 				}
 			}
 			if (offset < i) {
-				String lineContent= getContents(matchRequestor, lineStart, i); // until end of file
-				return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+				CharSequence lineContent= getContents(matchRequestor, lineStart, i); // until end of file
+				return lines.addLine(lineNumber, lineStart, lineContent);
 			}
 			return null; // offset outside of range
 		}
 
-		private static String getContents(TextSearchMatchAccess matchRequestor, int start, int end) {
+		private static CharSequence getContents(TextSearchMatchAccess matchRequestor, int start, int end) {
 			StringBuilder buf= new StringBuilder();
 			for (int i= start; i < end; i++) {
 				char ch= matchRequestor.getFileContentChar(i);
@@ -160,12 +178,15 @@ public class FileSearchQuery implements ISearchQuery {
 					buf.append(ch);
 				}
 			}
-			return buf.toString();
+			return buf;
 		}
 
 		@Override
 		public void beginReporting() {
 			stop = false;
+			synchronized (fPendingMatches) {
+				fLastAdded= System.nanoTime();
+			}
 		}
 
 		@Override
@@ -173,25 +194,47 @@ public class FileSearchQuery implements ISearchQuery {
 			stop = true;
 			flushMatches();
 			fCachedMatches.clear();
+			addPendingMatches(List.of(), true);
 		}
 
 		@Override
 		public void flushMatches(IFile file) {
 			List<FileMatch> matches = fCachedMatches.remove(file);
 			if (matches != null && !matches.isEmpty()) {
-				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+				matches.get(0).getLines().trimToSize();
 			}
+			addPendingMatches(matches != null ? matches : List.of(), false);
 		}
 
 		private void flushMatches() {
 			fCachedMatches.values().removeIf(matches -> {
 				if (matches != null && !matches.isEmpty()) {
-					fResult.addMatches(matches.toArray(new Match[matches.size()]));
+					addPendingMatches(matches, false);
 					return true;
 				}
 				return false;
 			});
 		}
+
+		/*
+		 * Collects the matches of several files, so that the result fires one event for all of them,
+		 * and adds them when there are enough, some time has passed, or if forced.
+		 */
+		private void addPendingMatches(List<? extends Match> matches, boolean force) {
+			synchronized (fPendingMatches) {
+				fPendingMatches.addAll(matches);
+				if (fPendingMatches.isEmpty()) {
+					return;
+				}
+				long now= System.nanoTime();
+				if (force || fPendingMatches.size() >= MAX_PENDING_MATCHES || now - fLastAdded >= MAX_PENDING_NANOS) {
+					Match[] pending= fPendingMatches.toArray(new Match[fPendingMatches.size()]);
+					fPendingMatches.clear();
+					fResult.addMatches(pending);
+					fLastAdded= System.nanoTime();
+				}
+			}
+		}
 	}
 
 	private final FileTextSearchScope fScope;
@@ -23,53 +23,76 @@ import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.Match;
 
 /**
- * Element representing a line in a file
+ * Element representing a line in a file. The line is stored in the {@link FileLines} of the file,
+ * elements are views that are equal if they refer to the same line.
  */
 public class LineElement {
 
-	private final IResource fParent;
-
-	private final int fLineNumber;
-	private final int fLineStartOffset;
-	private final String fLineContents;
+	private final FileLines fLines;
+	private final int fIndex;
 
 	public LineElement(IResource parent, int lineNumber, int lineStartOffset, String lineContents) {
-		fParent= parent;
-		fLineNumber= lineNumber;
-		fLineStartOffset= lineStartOffset;
-		fLineContents= lineContents;
+		this(new FileLines(parent), 0);
+		fLines.addLine(lineNumber, lineStartOffset, lineContents);
+	}
+
+	LineElement(FileLines lines, int index) {
+		fLines= lines;
+		fIndex= index;
+	}
+
+	FileLines getLines() {
+		return fLines;
+	}
+
+	int getIndex() {
+		return fIndex;
 	}
 
 	public IResource getParent() {
-		return fParent;
+		return fLines.getParent();
 	}
 
 	public int getLine() {
-		return fLineNumber;
+		return fLines.getLine(fIndex);
 	}
 
 	public String getContents() {
-		return fLineContents;
+		return fLines.getContents(fIndex);
 	}
 
 	public int getOffset() {
-		return fLineStartOffset;
+		return fLines.getOffset(fIndex);
 	}
 
 	public boolean contains(int offset) {
-		return fLineStartOffset <= offset && offset < fLineStartOffset + fLineContents.length();
+		int lineStartOffset= getOffset();
+		return lineStartOffset <= offset && offset < lineStartOffset + getLength();
 	}
 
 	public int getLength() {
-		return fLineContents.length();
+		return fLines.getLength(fIndex);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		return obj instanceof LineElement other && fLines == other.fLines && fIndex == other.fIndex;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(fLines) * 31 + fIndex;
 	}
 
 	public FileMatch[] getMatches(AbstractTextSearchResult result) {
 		ArrayList<FileMatch> res= new ArrayList<>();
-		Enumeration<Match> matches = result.getMatchSet(fParent);
+		Enumeration<Match> matches = result.getMatchSet(getParent());
 		while (matches.hasMoreElements()) {
 			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+			if (isLineOf(curr)) {
 				res.add(curr);
 			}
 		}
@@ -78,10 +101,10 @@ public class LineElement {
 
 	public int getNumberOfMatches(AbstractTextSearchResult result) {
 		int count= 0;
-		Enumeration<Match> matches = result.getMatchSet(fParent);
+		Enumeration<Match> matches = result.getMatchSet(getParent());
 		while (matches.hasMoreElements()) {
 			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+			if (isLineOf(curr)) {
 				count++;
 			}
 		}
@@ -89,13 +112,17 @@ public class LineElement {
 	}
 
 	public boolean hasMatches(AbstractTextSearchResult result) {
-		Enumeration<Match> matches = result.getMatchSet(fParent);
+		Enumeration<Match> matches = result.getMatchSet(getParent());
 		while (matches.hasMoreElements()) {
 			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+			if (isLineOf(curr)) {
 				return true;
 			}
 		}
 		return false;
 	}
+
+	private boolean isLineOf(FileMatch match) {
+		return match.getLines() == fLines && match.getLineIndex() == fIndex;
+	}
 }
@@ -15,6 +15,7 @@
 package org.eclipse.jface.text.projection;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jface.text.AbstractDocument;
@@ -27,6 +28,7 @@ import org.eclipse.jface.text.IDocumentExtension;
 import org.eclipse.jface.text.IDocumentInformationMapping;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.Position;
@@ -889,4 +891,147 @@ public class ProjectionDocument extends AbstractDocument {
 			internalError();
 		}
 	}
+
+	/**
+	 * Replaces all master document ranges with the given master document ranges. Unlike adding
+	 * and removing the ranges one by one, the projection is changed in one pass and this
+	 * projection document sends out a single projection change, covering the master document range
+	 * from the first to the last difference between the old and the new projection.
+	 * <p>
+	 * Overlapping and adjacent ranges are joined, empty ranges are ignored.
+	 * </p>
+	 *
+	 * @param masterRanges the master document ranges, sorted by offset
+	 * @throws BadLocationException if one of the ranges is not valid in the master document
+	 * @throws IllegalArgumentException if the ranges are not sorted by offset
+	 * @since 3.14
+	 */
+	public void replaceMasterDocumentRanges(IRegion[] masterRanges) throws BadLocationException {
+		int[] newBounds= new int[2 * masterRanges.length];
+		int newCount= 0;
+		int masterLength= fMasterDocument.getLength();
+		for (IRegion range : masterRanges) {
+			int offset= range.getOffset();
+			int end= offset + range.getLength();
+			if (offset < 0 || range.getLength() < 0 || end > masterLength)
+				throw new BadLocationException();
+			if (newCount > 0 && offset < newBounds[newCount - 2])
+				throw new IllegalArgumentException("ranges not sorted"); //$NON-NLS-1$
+			newCount= addBounds(newBounds, newCount, offset, end);
+		}
+
+		Position[] fragments= getFragments();
+		int[] oldBounds= new int[2 * fragments.length];
+		int oldCount= 0;
+		int oldEnd= 0;
+		for (Position fragment : fragments) {
+			oldCount= addBounds(oldBounds, oldCount, fragment.getOffset(), fragment.getOffset() + fragment.getLength());
+			oldEnd= Math.max(oldEnd, fragment.getOffset() + fragment.getLength());
+		}
+
+		// the projection differs between the first and the last differing bound
+		int first= 0;
+		while (first < oldCount && first < newCount && oldBounds[first] == newBounds[first])
+			first++;
+		if (first == oldCount && first == newCount)
+			return;
+		int lastOld= oldCount - 1;
+		int lastNew= newCount - 1;
+		while (lastOld >= first && lastNew >= first && oldBounds[lastOld] == newBounds[lastNew]) {
+			lastOld--;
+			lastNew--;
+		}
+		int startInMaster= Math.min(first < oldCount ? oldBounds[first] : Integer.MAX_VALUE, first < newCount ? newBounds[first] : Integer.MAX_VALUE);
+		int endInMaster= Math.max(lastOld >= first ? oldBounds[lastOld] : Integer.MIN_VALUE, lastNew >= first ? newBounds[lastNew] : Integer.MIN_VALUE);
+
+		int offsetInSlave= 0;
+		int lengthInSlave= 0;
+		for (Position f : fragments) {
+			Fragment fragment= (Fragment) f;
+			int end= fragment.getOffset() + fragment.getLength();
+			if (end <= startInMaster)
+				offsetInSlave= fragment.segment.getOffset() + fragment.segment.getLength();
+			else if (fragment.getOffset() < startInMaster)
+				offsetInSlave= fragment.segment.getOffset() + startInMaster - fragment.getOffset();
+			if (fragment.getOffset() >= endInMaster)
+				break;
+			lengthInSlave+= Math.max(0, Math.min(end, endInMaster) - Math.max(fragment.getOffset(), startInMaster));
+		}
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < newCount; i+= 2) {
+			int offset= Math.max(newBounds[i], startInMaster);
+			int end= Math.min(newBounds[i + 1], endInMaster);
+			if (offset < end)
+				text.append(fMasterDocument.get(offset, end - offset));
+		}
+
+		try {
+
+			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, offsetInSlave, lengthInSlave, text.toString(), startInMaster, endInMaster - startInMaster);
+			super.fireDocumentAboutToBeChanged(event);
+
+			fMasterDocument.removePositionCategory(fFragmentsCategory);
+			fMasterDocument.addPositionCategory(fFragmentsCategory);
+			List<Segment> segments= new ArrayList<>(newCount / 2 + 1);
+			int offset= 0;
+			for (int i= 0; i < newCount; i+= 2) {
+				Fragment fragment= new Fragment(newBounds[i], newBounds[i + 1] - newBounds[i]);
+				Segment segment= new Segment(offset, fragment.getLength());
+				segment.fragment= fragment;
+				fragment.segment= segment;
+				fMasterDocument.addPosition(fFragmentsCategory, fragment);
+				segments.add(segment);
+				offset+= fragment.getLength();
+			}
+			if (segments.isEmpty() || newBounds[newCount - 1] < oldEnd) {
+				// like removeMasterDocumentRange, keep an empty fragment where the removed end of the projection was
+				Fragment fragment= new Fragment(oldEnd, 0);
+				Segment segment= new Segment(offset, 0);
+				segment.fragment= fragment;
+				fragment.segment= segment;
+				fMasterDocument.addPosition(fFragmentsCategory, fragment);
+				segments.add(segment);
+			}
+			setPositions(fSegmentsCategory, segments);
+			fMapping.projectionChanged();
+
+			getTracker().replace(event.getOffset(), event.getLength(), event.getText());
+
+			// the segments are already up to date
+			IPositionUpdater[] updaters= getPositionUpdaters();
+			int index= Arrays.asList(updaters).indexOf(fSegmentUpdater);
+			removePositionUpdater(fSegmentUpdater);
+			try {
+				super.fireDocumentChanged(event);
+			} finally {
+				insertPositionUpdater(fSegmentUpdater, index);
+			}
+
+		} catch (BadPositionCategoryException x) {
+			internalError();
+		}
+	}
+
+	/**
+	 * Appends the given range to the given bounds, joining it with the last range if they overlap
+	 * or are adjacent.
+	 *
+	 * @param bounds the start and end offsets of the ranges
+	 * @param count the number of used bounds
+	 * @param start the start offset of the range to append
+	 * @param end the end offset of the range to append
+	 * @return the number of used bounds
+	 */
+	private static int addBounds(int[] bounds, int count, int start, int end) {
+		if (start == end)
+			return count;
+		if (count > 0 && start <= bounds[count - 1]) {
+			bounds[count - 1]= Math.max(bounds[count - 1], end);
+			return count;
+		}
+		bounds[count]= start;
+		bounds[count + 1]= end;
+		return count + 2;
+	}
 }
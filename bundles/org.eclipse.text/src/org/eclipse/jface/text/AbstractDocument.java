@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.PatternSyntaxException;
 
@@ -91,6 +92,48 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Index over the positions of a category ordered by offset. For each block of
+	 * {@link #BLOCK_SIZE} consecutive positions, the index stores the maximum end offset, so
+	 * that overlap queries can skip whole blocks of positions that end before the queried
+	 * region.
+	 * <p>
+	 * The index is computed lazily and discarded whenever the positions of the category may have
+	 * changed. Like the list of positions ordered by end offset, it reflects the positions as
+	 * they were adapted by the last document change; positions whose fields are modified
+	 * directly must be removed and added again.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	private static final class PositionBlockIndex {
+		/** The number of positions covered by one block. */
+		static final int BLOCK_SIZE= 32;
+
+		/** The number of indexed positions */
+		final int fSize;
+		/** The maximum inclusive end offset of the positions in each block */
+		final int[] fMaxEnds;
+
+		/**
+		 * Creates the index for the given positions.
+		 *
+		 * @param positions the positions ordered by offset
+		 */
+		PositionBlockIndex(List<Position> positions) {
+			fSize= positions.size();
+			fMaxEnds= new int[(fSize + BLOCK_SIZE - 1) / BLOCK_SIZE];
+			Arrays.fill(fMaxEnds, Integer.MIN_VALUE);
+			for (int i= 0; i < fSize; i++) {
+				Position position= positions.get(i);
+				int end= position.offset + Math.max(position.length - 1, 0);
+				int block= i / BLOCK_SIZE;
+				if (end > fMaxEnds[block])
+					fMaxEnds[block]= end;
+			}
+		}
+	}
+
 
 	/** The document's text store */
 	private ITextStore   fStore;
@@ -109,6 +152,12 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	private final Map<String, List<Position>> fEndPositions= new HashMap<>();
+	/**
+	 * Lazily computed block indices over the positions of each category. Computed by readers, so
+	 * the map must allow concurrent access.
+	 * @since 3.14
+	 */
+	private final Map<String, PositionBlockIndex> fPositionBlockIndices= new ConcurrentHashMap<>();
 	/** All registered document position updaters */
 	private final List<IPositionUpdater> fPositionUpdaters= new CopyOnWriteArrayList<>();
 	/**
@@ -248,6 +297,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @return the document's positions
 	 */
 	protected Map<String, List<Position>> getDocumentManagedPositions() {
+		fPositionBlockIndices.clear();
 		return fPositions;
 	}
 
@@ -351,7 +401,9 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		List<Position> endPositions= fEndPositions.get(category);
 		if (endPositions == null)
 			throw new BadPositionCategoryException();
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+		endPositions.add(computeIndexInPositionList(endPositions, getOffset(false, position), false), position);
+
+		fPositionBlockIndices.remove(category);
 	}
 
 	@Override
@@ -362,6 +414,32 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Replaces all positions of the given category with the given positions. Unlike
+	 * {@link #addPosition(String, Position)}, the positions are not checked against the length of
+	 * this document. This allows to set up the positions that the content of a document is derived
+	 * from, as done by projection documents.
+	 *
+	 * @param category the category of the positions
+	 * @param positions the new positions of the category
+	 * @throws BadPositionCategoryException if the category is undefined in this document
+	 * @since 3.14
+	 */
+	protected void setPositions(String category, List<? extends Position> positions) throws BadPositionCategoryException {
+		if (category == null || !containsPositionCategory(category))
+			throw new BadPositionCategoryException();
+
+		List<Position> list= new ArrayList<>(positions.size());
+		List<Position> endPositions= new ArrayList<>(positions.size());
+		for (Position position : positions) {
+			list.add(computeIndexInPositionList(list, position.offset, true), position);
+			endPositions.add(computeIndexInPositionList(endPositions, getOffset(false, position), false), position);
+		}
+		fPositions.put(category, list);
+		fEndPositions.put(category, endPositions);
+		fPositionBlockIndices.remove(category);
+	}
+
 	@Override
 	public void addPositionCategory(String category) {
 
@@ -987,6 +1065,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (endPositions == null)
 			throw new BadPositionCategoryException();
 		removeFromPositionsList(endPositions, position, false);
+
+		fPositionBlockIndices.remove(category);
 	}
 
 	/**
@@ -1001,7 +1081,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
-		int index= computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length - 1, orderedByOffset);
+		int index= computeIndexInPositionList(positions, getOffset(orderedByOffset, position), orderedByOffset);
 		if (index < size && positions.get(index) == position) {
 			positions.remove(index);
 			return;
@@ -1047,6 +1127,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		fPositions.remove(category);
 		fEndPositions.remove(category);
+		fPositionBlockIndices.remove(category);
 	}
 
 	@Override
@@ -1073,6 +1154,38 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return fModificationStamp;
 	}
 
+	/**
+	 * Returns an immutable snapshot of this document. The snapshot has the current content, line
+	 * delimiters and modification stamp of this document and is not affected by subsequent changes
+	 * to this document. It has no positions and no partitioners, and changing its content throws
+	 * an <code>UnsupportedOperationException</code>.
+	 * <p>
+	 * Unlike this document, the snapshot may be read concurrently by any number of threads. This
+	 * allows background jobs to read a consistent state of the document without blocking changes
+	 * to it. If this document is {@link ISynchronizable synchronizable}, the snapshot is created
+	 * while holding its lock object; otherwise this method must be called by the thread that
+	 * changes this document.
+	 * </p>
+	 * <p>
+	 * <strong>Performance:</strong> The snapshot shares the content with this document if the text
+	 * store supports it, which is the case for {@link Document}. Then this method performs in
+	 * <i>O(1)</i> except for the first snapshot after the first modification of a document smaller
+	 * than several megabytes, which copies the content once. Other text stores are copied. The line
+	 * information of the snapshot is computed on its first use.
+	 * </p>
+	 *
+	 * @return a snapshot of this document
+	 * @since 3.14
+	 */
+	public IDocument createSnapshot() {
+		Object lockObject= this instanceof ISynchronizable ? ((ISynchronizable) this).getLockObject() : null;
+		if (lockObject == null)
+			return new DocumentSnapshot(DocumentSnapshot.createSnapshot(getStore()), getLegalLineDelimiters(), getModificationStamp());
+		synchronized (lockObject) {
+			return new DocumentSnapshot(DocumentSnapshot.createSnapshot(getStore()), getLegalLineDelimiters(), getModificationStamp());
+		}
+	}
+
 	@Override
 	public void replace(int pos, int length, String text, long modificationStamp) throws BadLocationException {
 		if ((0 > pos) || (0 > length) || (pos + length > getLength()))
@@ -1140,9 +1253,81 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 *            the positions
 	 */
 	protected void updatePositions(DocumentEvent event) {
+		/*
+		 * Position updaters only adapt positions that end at or after the change. Remember where
+		 * these start in the sorted lists, so that the order can be restored afterwards in time
+		 * proportional to the number of adapted positions.
+		 */
+		int affectedOffset= event.getOffset() - 1;
+		Map<String, int[]> affected= new HashMap<>(fPositions.size() * 2);
+		for (Entry<String, List<Position>> entry : fPositions.entrySet()) {
+			String category= entry.getKey();
+			int startIndex= computeIndexInPositionList(entry.getValue(), affectedOffset, true);
+			int endIndex= computeIndexInPositionList(fEndPositions.get(category), affectedOffset, false);
+			affected.put(category, new int[] { startIndex, endIndex });
+		}
+
 		for(IPositionUpdater u: fPositionUpdaters) {
 			u.update(event);
 		}
+
+		fPositionBlockIndices.clear();
+		for (Entry<String, int[]> entry : affected.entrySet()) {
+			String category= entry.getKey();
+			List<Position> positions= fPositions.get(category);
+			if (positions != null) {
+				int[] indices= entry.getValue();
+				restorePositionOrder(positions, indices[0], true);
+				restorePositionOrder(fEndPositions.get(category), indices[1], false);
+			}
+		}
+	}
+
+	/**
+	 * Restores the order of a list of positions that is sorted up to the given index, using
+	 * insertion sort. Runs in linear time if the remainder of the list is still sorted or
+	 * almost sorted, which is the case after positions have been adapted to a document change.
+	 * The relative order of positions with the same offset is preserved.
+	 *
+	 * @param positions the list of positions
+	 * @param sortedIndex the index up to which the list is known to be sorted
+	 * @param orderedByOffset <code>true</code> if ordered by offset, false if ordered by end position
+	 * @since 3.14
+	 */
+	private void restorePositionOrder(List<Position> positions, int sortedIndex, boolean orderedByOffset) {
+		int size= positions.size();
+		for (int i= Math.max(sortedIndex, 1); i < size; i++) {
+			Position position= positions.get(i);
+			int offset= getOffset(orderedByOffset, position);
+			int j= i;
+			while (j > 0 && getOffset(orderedByOffset, positions.get(j - 1)) > offset) {
+				positions.set(j, positions.get(j - 1));
+				j--;
+			}
+			if (j != i)
+				positions.set(j, position);
+		}
+	}
+
+	/**
+	 * Returns the positions of the given category which may be affected by a change at the given
+	 * offset, i.e. all positions that end at or after <code>offset - 1</code>. The positions are
+	 * ordered by their end positions.
+	 *
+	 * @param category the position category
+	 * @param offset the offset of the change
+	 * @return the positions that may be affected by the change
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.14
+	 */
+	Position[] getPositionsAffectedByChange(String category, int offset) throws BadPositionCategoryException {
+		List<Position> positions= category == null ? null : fEndPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		int index= computeIndexInPositionList(positions, offset - 1, false);
+		List<Position> affected= positions.subList(index, positions.size());
+		return affected.toArray(new Position[affected.size()]);
 	}
 
 	/**
@@ -1582,17 +1767,13 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	public Position[] getPositions(String category, int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
-		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
-			List<Position> documentPositions;
-			if (canStartBefore && canEndAfter) {
-				if (offset < getLength() / 2) {
-					documentPositions= getStartingPositions(category, 0, offset + length);
-				} else {
-					documentPositions= getEndingPositions(category, offset, getLength() - offset + 1);
-				}
-			} else {
-				documentPositions= getStartingPositions(category, offset, length);
-			}
+		if (canStartBefore && canEndAfter) {
+			List<Position> list= getOverlappingPositions(category, offset, length);
+			Position[] positions= new Position[list.size()];
+			list.toArray(positions);
+			return positions;
+		} else if (!canStartBefore && !canEndAfter) {
+			List<Position> documentPositions= getStartingPositions(category, offset, length);
 
 			ArrayList<Position> list= new ArrayList<>(documentPositions.size());
 
@@ -1638,6 +1819,48 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * A list of positions in the given category which overlap with the given region. Uses the
+	 * block index of the category to skip positions that end before the region. The positions
+	 * are ordered by offset.
+	 *
+	 * @param category the position category
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return a list of the positions overlapping with the region
+	 * @throws BadPositionCategoryException if category is undefined in this document
+	 * @since 3.14
+	 */
+	private List<Position> getOverlappingPositions(String category, int offset, int length) throws BadPositionCategoryException {
+		List<Position> positions= category == null ? null : fPositions.get(category);
+		if (positions == null)
+			throw new BadPositionCategoryException();
+
+		PositionBlockIndex index= fPositionBlockIndices.get(category);
+		if (index == null || index.fSize != positions.size()) {
+			index= new PositionBlockIndex(positions);
+			fPositionBlockIndices.put(category, index);
+		}
+
+		// an empty region overlaps with positions starting at its offset
+		int upper= computeIndexInPositionList(positions, length == 0 ? offset + 1 : offset + length, true);
+
+		List<Position> list= new ArrayList<>();
+		Position region= new Position(offset, length);
+		int[] maxEnds= index.fMaxEnds;
+		for (int block= 0, start= 0; start < upper; block++, start+= PositionBlockIndex.BLOCK_SIZE) {
+			if (maxEnds[block] < offset)
+				continue;
+			int end= Math.min(start + PositionBlockIndex.BLOCK_SIZE, upper);
+			for (int i= start; i < end; i++) {
+				Position position= positions.get(i);
+				if (isWithinRegion(region, position, true, true))
+					list.add(position);
+			}
+		}
+		return list;
+	}
+
 	/**
 	 * A list of positions in the given category with an offset inside the given
 	 * region. The order of the positions is arbitrary.
@@ -31,6 +31,10 @@ import java.util.List;
  * <li> "a\nbc\n" -&gt; [0,2], [2,3], [5,0]
  * </ul>
  * <p>
+ * Very large texts passed to {@link #set(String)} are tracked in a compact representation that
+ * needs a few bytes per line.
+ * </p>
+ * <p>
  * This class must be subclassed.
  * </p>
  */
@@ -43,6 +47,15 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 */
 	private static final boolean DEBUG= false;
 
+	/**
+	 * The text length above which {@link #set(String)} uses a {@link CompactLineTracker}, which
+	 * needs a few bytes per line instead of the objects allocated per line by
+	 * {@link ListLineTracker} and {@link TreeLineTracker}.
+	 *
+	 * @since 3.14
+	 */
+	private static final int COMPACT_TRACKER_THRESHOLD= 8 * 1024 * 1024;
+
 	/**
 	 * Combines the information of the occurrence of a line delimiter. <code>delimiterIndex</code>
 	 * is the index where a line delimiter starts, whereas <code>delimiterLength</code>,
@@ -188,17 +201,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 *
 	 * @since 3.2
 	 */
-	private volatile ILineTracker fDelegate= new ListLineTracker() {
-		@Override
-		public String[] getLegalLineDelimiters() {
-			return AbstractLineTracker.this.getLegalLineDelimiters();
-		}
-
-		@Override
-		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
-			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
-		}
-	};
+	private volatile ILineTracker fDelegate= createListLineTracker();
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
 	 */
@@ -275,7 +278,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 			return;
 		}
 
-		fDelegate.set(text);
+		boolean large= text != null && text.length() > COMPACT_TRACKER_THRESHOLD;
+		if (large != fDelegate instanceof CompactLineTracker)
+			switchImplementation(large, text);
+		else
+			fDelegate.set(text);
 	}
 
 	@Override
@@ -312,6 +319,50 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		}
 	}
 
+	/**
+	 * Replaces the implementation by a new one that is initialized with the given text. Large
+	 * texts are tracked by a {@link CompactLineTracker}, all others start with a
+	 * {@link ListLineTracker} that is converted on the first modification.
+	 *
+	 * @param large whether to use a {@link CompactLineTracker}
+	 * @param text the text to track
+	 * @since 3.14
+	 */
+	private synchronized void switchImplementation(boolean large, String text) {
+		ILineTracker delegate= large ? createCompactLineTracker() : createListLineTracker();
+		delegate.set(text);
+		fNeedsConversion= !large;
+		fDelegate= delegate;
+	}
+
+	private ILineTracker createListLineTracker() {
+		return new ListLineTracker() {
+			@Override
+			public String[] getLegalLineDelimiters() {
+				return AbstractLineTracker.this.getLegalLineDelimiters();
+			}
+
+			@Override
+			protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+				return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
+			}
+		};
+	}
+
+	private ILineTracker createCompactLineTracker() {
+		return new CompactLineTracker() {
+			@Override
+			public String[] getLegalLineDelimiters() {
+				return AbstractLineTracker.this.getLegalLineDelimiters();
+			}
+
+			@Override
+			protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+				return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
+			}
+		};
+	}
+
 	/**
 	 * Returns the information about the first delimiter found in the given text starting at the
 	 * given offset.
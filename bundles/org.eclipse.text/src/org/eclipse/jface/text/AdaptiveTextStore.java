@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A text store that selects its implementation by content size. Small content is kept in a
+ * {@link GapTextStore}, which performs best for co-located typing; content larger than
+ * {@link #PIECE_TABLE_THRESHOLD} characters is kept in a {@link PieceTableTextStore}, which never
+ * moves the existing content on a change.
+ * <p>
+ * The store switches to the piece table when content above the threshold is {@link #set(String)
+ * set} or when a change makes the content grow above the threshold. It only switches back on a
+ * {@link #set(String) set} of content below the threshold, so that editing around the threshold
+ * does not cause repeated copying.
+ * </p>
+ * <p>
+ * A {@link #createSnapshot() snapshot} also switches to the piece table, which shares its content
+ * with its snapshots, so that only the first snapshot of content below the threshold copies it.
+ * </p>
+ *
+ * @since 3.14
+ */
+class AdaptiveTextStore implements ITextStore {
+
+	/** The content length above which a {@link PieceTableTextStore} is used. */
+	static final int PIECE_TABLE_THRESHOLD= 8 * 1024 * 1024;
+
+	/** The delegate text store */
+	private ITextStore fStore= new GapTextStore();
+
+	@Override
+	public char get(int offset) {
+		return fStore.get(offset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		return fStore.get(offset, length);
+	}
+
+	@Override
+	public void get(int offset, int length, char[] dest, int destPos) {
+		fStore.get(offset, length, dest, destPos);
+	}
+
+	@Override
+	public int getLength() {
+		return fStore.getLength();
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (!(fStore instanceof PieceTableTextStore)) {
+			int newLength= fStore.getLength() - length + (text == null ? 0 : text.length());
+			if (newLength > PIECE_TABLE_THRESHOLD) {
+				ITextStore store= new PieceTableTextStore();
+				store.set(fStore.get(0, fStore.getLength()));
+				fStore= store;
+			}
+		}
+		fStore.replace(offset, length, text);
+	}
+
+	@Override
+	public void set(String text) {
+		boolean large= text != null && text.length() > PIECE_TABLE_THRESHOLD;
+		if (large != fStore instanceof PieceTableTextStore)
+			fStore= large ? new PieceTableTextStore() : new GapTextStore();
+		fStore.set(text);
+	}
+
+	/**
+	 * Returns an immutable text store with the current content of this store. For internal use
+	 * only.
+	 *
+	 * @return a snapshot of the current content
+	 */
+	ITextStore createSnapshot() {
+		if (!(fStore instanceof PieceTableTextStore)) {
+			ITextStore store= new PieceTableTextStore();
+			store.set(fStore.get(0, fStore.getLength()));
+			fStore= store;
+		}
+		return ((PieceTableTextStore) fStore).createSnapshot();
+	}
+
+	/**
+	 * Returns the text store currently in use. For internal use only.
+	 *
+	 * @return the current delegate text store
+	 */
+	ITextStore getStore() {
+		return fStore;
+	}
+}
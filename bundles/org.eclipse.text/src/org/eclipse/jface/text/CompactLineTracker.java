@@ -0,0 +1,581 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+
+/**
+ * Abstract implementation of <code>ILineTracker</code> that stores the lines in primitive arrays.
+ * It lets the definition of line delimiters to subclasses and defines the same line scheme as
+ * {@link TreeLineTracker}.
+ * <p>
+ * The lines are kept in blocks of at most {@link #BLOCK_SIZE} lines. A block stores the line
+ * lengths (including the delimiter) in an <code>int[]</code> and the delimiters as indices into
+ * a small table of the delimiters seen so far in a <code>byte[]</code>, which amounts to five
+ * bytes per line. Two Fenwick trees over the blocks hold the number of characters and lines of
+ * each block.
+ * </p>
+ * <p>
+ * This class must be subclassed.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> The query operations perform in <i>O(log b + B)</i> where
+ * <var>b</var> is the number of blocks and <var>B</var> the block size. Changes within a block
+ * perform in <i>O(log b + B + l)</i> where <var>l</var> is the number of added lines; changes that
+ * span blocks or split a block rebuild the Fenwick trees in <i>O(b)</i>.
+ * </p>
+ *
+ * @see TreeLineTracker
+ * @since 3.14
+ */
+abstract class CompactLineTracker implements ILineTracker {
+
+	/** The delimiter of the last line */
+	private static final String NO_DELIM= ""; //$NON-NLS-1$
+
+	/** The maximal number of lines in a block */
+	private static final int BLOCK_SIZE= 256;
+	/** Blocks with fewer lines than this are merged with their successor on the next change. */
+	private static final int MIN_BLOCK_SIZE= BLOCK_SIZE / 4;
+
+	/** The line lengths per block, including the delimiters */
+	private int[][] fLengths;
+	/** The delimiter indices into {@link #fDelimiters} per block */
+	private byte[][] fKinds;
+	/** The number of lines per block */
+	private int[] fLineCounts;
+	/** The number of characters per block */
+	private int[] fCharCounts;
+	/** The number of blocks */
+	private int fBlockCount;
+
+	/** The Fenwick tree over {@link #fCharCounts} */
+	private int[] fCharTree;
+	/** The Fenwick tree over {@link #fLineCounts} */
+	private int[] fLineTree;
+	/** The highest power of two not greater than {@link #fBlockCount} */
+	private int fTopBit;
+
+	/** The total number of lines */
+	private int fNumberOfLines;
+
+	/** The table of the known delimiters, index 0 is {@link #NO_DELIM} */
+	private String[] fDelimiters= { NO_DELIM };
+
+	/** The lengths of the lines computed by a change */
+	private int[] fNewLengths= new int[16];
+	/** The delimiter indices of the lines computed by a change */
+	private byte[] fNewKinds= new byte[16];
+	/** The number of lines computed by a change */
+	private int fNewCount;
+
+	/**
+	 * Creates a new line tracker.
+	 */
+	protected CompactLineTracker() {
+		set(null);
+	}
+
+	/**
+	 * Returns the information about the first delimiter found in the given text starting at the
+	 * given offset.
+	 *
+	 * @param text the text to be searched
+	 * @param offset the offset in the given text
+	 * @return the information of the first found delimiter or <code>null</code>
+	 */
+	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
+
+	/**
+	 * Returns the location of the line containing the given offset. As in {@link TreeLineTracker},
+	 * an offset at the end of a line belongs to the next line unless the line is the last one.
+	 *
+	 * @param offset the offset
+	 * @return the block index in the upper and the index in the block in the lower half
+	 * @throws BadLocationException if the offset is invalid
+	 */
+	private long locateOffset(int offset) throws BadLocationException {
+		if (offset < 0)
+			throw new BadLocationException();
+
+		int block= 0;
+		int remaining= offset;
+		for (int step= fTopBit; step > 0; step >>= 1) {
+			int next= block + step;
+			if (next <= fBlockCount && fCharTree[next] <= remaining) {
+				block= next;
+				remaining-= fCharTree[next];
+			}
+		}
+		if (block == fBlockCount) {
+			block--;
+			remaining+= fCharCounts[block];
+		}
+
+		int[] lengths= fLengths[block];
+		int last= fLineCounts[block] - 1;
+		boolean lastBlock= block == fBlockCount - 1;
+		for (int i= 0; i <= last; i++) {
+			int length= lengths[i];
+			if (remaining < length || remaining == length && lastBlock && i == last)
+				return (long) block << 32 | i;
+			remaining-= length;
+		}
+		throw new BadLocationException();
+	}
+
+	/**
+	 * Returns the location of the given line.
+	 *
+	 * @param line the line
+	 * @return the block index in the upper and the index in the block in the lower half
+	 * @throws BadLocationException if the line is invalid
+	 */
+	private long locateLine(int line) throws BadLocationException {
+		if (line < 0 || line >= fNumberOfLines)
+			throw new BadLocationException();
+
+		int block= 0;
+		int remaining= line;
+		for (int step= fTopBit; step > 0; step >>= 1) {
+			int next= block + step;
+			if (next <= fBlockCount && fLineTree[next] <= remaining) {
+				block= next;
+				remaining-= fLineTree[next];
+			}
+		}
+		return (long) block << 32 | remaining;
+	}
+
+	private static int blockOf(long location) {
+		return (int) (location >>> 32);
+	}
+
+	private static int indexOf(long location) {
+		return (int) location;
+	}
+
+	/**
+	 * Returns the offset of the line at the given location.
+	 *
+	 * @param block the block index
+	 * @param index the index in the block
+	 * @return the offset of the line
+	 */
+	private int offsetOf(int block, int index) {
+		int offset= prefixSum(fCharTree, block);
+		int[] lengths= fLengths[block];
+		for (int i= 0; i < index; i++)
+			offset+= lengths[i];
+		return offset;
+	}
+
+	private String delimiterOf(int block, int index) {
+		return fDelimiters[fKinds[block][index] & 0xFF];
+	}
+
+	/**
+	 * Returns the index of the given delimiter in {@link #fDelimiters}, adding it if needed.
+	 *
+	 * @param delimiter the delimiter
+	 * @return the index of the delimiter
+	 */
+	private byte kindOf(String delimiter) {
+		for (int i= 0; i < fDelimiters.length; i++) {
+			if (fDelimiters[i].equals(delimiter))
+				return (byte) i;
+		}
+		int kind= fDelimiters.length;
+		if (kind > 0xFF)
+			throw new IllegalStateException("Too many different line delimiters"); //$NON-NLS-1$
+		String[] delimiters= new String[kind + 1];
+		System.arraycopy(fDelimiters, 0, delimiters, 0, kind);
+		delimiters[kind]= delimiter;
+		fDelimiters= delimiters;
+		return (byte) kind;
+	}
+
+	@Override
+	public final void replace(int offset, int length, String text) throws BadLocationException {
+		long first= locateOffset(offset);
+		int firstBlock= blockOf(first);
+		int firstIndex= indexOf(first);
+		int firstOffset= offsetOf(firstBlock, firstIndex);
+		int firstLength= fLengths[firstBlock][firstIndex];
+
+		long last;
+		int lastEnd;
+		if (offset + length < firstOffset + firstLength) {
+			last= first;
+			lastEnd= firstOffset + firstLength;
+		} else {
+			last= locateOffset(offset + length);
+			lastEnd= offsetOf(blockOf(last), indexOf(last)) + fLengths[blockOf(last)][indexOf(last)];
+		}
+		int lastBlock= blockOf(last);
+		int lastIndex= indexOf(last);
+
+		// compute the lines replacing the lines from first to last
+		int head= offset - firstOffset;
+		int tail= lastEnd - offset - length;
+		byte tailKind= fKinds[lastBlock][lastIndex];
+		int textLength= text == null ? 0 : text.length();
+		fNewCount= 0;
+		DelimiterInfo info= text == null ? null : nextDelimiterInfo(text, 0);
+		if (info == null || info.delimiter == null) {
+			addNewLine(head + textLength + tail, tailKind);
+		} else {
+			int consumed= info.delimiterIndex + info.delimiterLength;
+			addNewLine(head + consumed, kindOf(info.delimiter));
+			info= nextDelimiterInfo(text, consumed);
+			while (info != null) {
+				int lineLength= info.delimiterIndex - consumed + info.delimiterLength;
+				addNewLine(lineLength, kindOf(info.delimiter));
+				consumed+= lineLength;
+				info= nextDelimiterInfo(text, consumed);
+			}
+			addNewLine(textLength - consumed + tail, tailKind);
+		}
+
+		if (first == last && fNewCount == 1) {
+			// typing case: a single line changes its length
+			int delta= fNewLengths[0] - firstLength;
+			fLengths[firstBlock][firstIndex]= fNewLengths[0];
+			fCharCounts[firstBlock]+= delta;
+			add(fCharTree, firstBlock, delta);
+		} else {
+			replaceLines(firstBlock, firstIndex, lastBlock, lastIndex);
+		}
+	}
+
+	private void addNewLine(int length, byte kind) {
+		if (fNewCount == fNewLengths.length) {
+			int[] lengths= new int[fNewCount * 2];
+			System.arraycopy(fNewLengths, 0, lengths, 0, fNewCount);
+			fNewLengths= lengths;
+			byte[] kinds= new byte[fNewCount * 2];
+			System.arraycopy(fNewKinds, 0, kinds, 0, fNewCount);
+			fNewKinds= kinds;
+		}
+		fNewLengths[fNewCount]= length;
+		fNewKinds[fNewCount]= kind;
+		fNewCount++;
+	}
+
+	/**
+	 * Replaces the lines from the first to the last given location (inclusive) by the new lines.
+	 *
+	 * @param firstBlock the block of the first line to replace
+	 * @param firstIndex the index of the first line in its block
+	 * @param lastBlock the block of the last line to replace
+	 * @param lastIndex the index of the last line in its block
+	 */
+	private void replaceLines(int firstBlock, int firstIndex, int lastBlock, int lastIndex) {
+		int removed= lastIndex - firstIndex + 1;
+		if (firstBlock == lastBlock) {
+			int count= fLineCounts[firstBlock];
+			int newCount= count - removed + fNewCount;
+			if (newCount <= BLOCK_SIZE && (newCount >= MIN_BLOCK_SIZE || firstBlock == fBlockCount - 1)) {
+				replaceInBlock(firstBlock, firstIndex, removed, newCount);
+				return;
+			}
+		} else {
+			for (int block= firstBlock; block < lastBlock; block++)
+				removed+= fLineCounts[block];
+		}
+
+		// re-chunk the affected blocks, taking along the successor if the result is small
+		int lastAffected= lastBlock;
+		int lineCount= firstIndex + fNewCount + fLineCounts[lastBlock] - lastIndex - 1;
+		if (lineCount < MIN_BLOCK_SIZE && lastAffected < fBlockCount - 1) {
+			lastAffected++;
+			lineCount+= fLineCounts[lastAffected];
+		}
+
+		int[] lengths= new int[lineCount];
+		byte[] kinds= new byte[lineCount];
+		System.arraycopy(fLengths[firstBlock], 0, lengths, 0, firstIndex);
+		System.arraycopy(fKinds[firstBlock], 0, kinds, 0, firstIndex);
+		int filled= firstIndex;
+		System.arraycopy(fNewLengths, 0, lengths, filled, fNewCount);
+		System.arraycopy(fNewKinds, 0, kinds, filled, fNewCount);
+		filled+= fNewCount;
+		int tailCount= fLineCounts[lastBlock] - lastIndex - 1;
+		System.arraycopy(fLengths[lastBlock], lastIndex + 1, lengths, filled, tailCount);
+		System.arraycopy(fKinds[lastBlock], lastIndex + 1, kinds, filled, tailCount);
+		filled+= tailCount;
+		for (int block= lastBlock + 1; block <= lastAffected; block++) {
+			System.arraycopy(fLengths[block], 0, lengths, filled, fLineCounts[block]);
+			System.arraycopy(fKinds[block], 0, kinds, filled, fLineCounts[block]);
+			filled+= fLineCounts[block];
+		}
+
+		int newBlocks= (lineCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int delta= newBlocks - (lastAffected - firstBlock + 1);
+		int oldBlockCount= fBlockCount;
+		ensureBlockCapacity(oldBlockCount + delta);
+		int moved= oldBlockCount - lastAffected - 1;
+		System.arraycopy(fLengths, lastAffected + 1, fLengths, lastAffected + 1 + delta, moved);
+		System.arraycopy(fKinds, lastAffected + 1, fKinds, lastAffected + 1 + delta, moved);
+		System.arraycopy(fLineCounts, lastAffected + 1, fLineCounts, lastAffected + 1 + delta, moved);
+		System.arraycopy(fCharCounts, lastAffected + 1, fCharCounts, lastAffected + 1 + delta, moved);
+		fBlockCount= oldBlockCount + delta;
+		for (int i= fBlockCount; i < oldBlockCount; i++) {
+			fLengths[i]= null;
+			fKinds[i]= null;
+		}
+
+		// distribute the lines evenly over the new blocks
+		int start= 0;
+		for (int i= 0; i < newBlocks; i++) {
+			int end= (int) ((long) lineCount * (i + 1) / newBlocks);
+			setBlock(firstBlock + i, lengths, kinds, start, end - start);
+			start= end;
+		}
+
+		fNumberOfLines+= fNewCount - removed;
+		buildTrees();
+	}
+
+	/**
+	 * Replaces lines within a single block.
+	 *
+	 * @param block the block
+	 * @param index the index of the first line to replace
+	 * @param removed the number of lines to replace
+	 * @param newCount the number of lines of the block after the change
+	 */
+	private void replaceInBlock(int block, int index, int removed, int newCount) {
+		int[] lengths= fLengths[block];
+		byte[] kinds= fKinds[block];
+		int oldChars= 0;
+		for (int i= index; i < index + removed; i++)
+			oldChars+= lengths[i];
+		int newChars= 0;
+		for (int i= 0; i < fNewCount; i++)
+			newChars+= fNewLengths[i];
+
+		int tail= fLineCounts[block] - index - removed;
+		System.arraycopy(lengths, index + removed, lengths, index + fNewCount, tail);
+		System.arraycopy(kinds, index + removed, kinds, index + fNewCount, tail);
+		System.arraycopy(fNewLengths, 0, lengths, index, fNewCount);
+		System.arraycopy(fNewKinds, 0, kinds, index, fNewCount);
+
+		int lineDelta= newCount - fLineCounts[block];
+		fLineCounts[block]= newCount;
+		fCharCounts[block]+= newChars - oldChars;
+		fNumberOfLines+= lineDelta;
+		add(fCharTree, block, newChars - oldChars);
+		add(fLineTree, block, lineDelta);
+	}
+
+	private void setBlock(int block, int[] lengths, byte[] kinds, int start, int count) {
+		int[] blockLengths= new int[BLOCK_SIZE];
+		byte[] blockKinds= new byte[BLOCK_SIZE];
+		System.arraycopy(lengths, start, blockLengths, 0, count);
+		System.arraycopy(kinds, start, blockKinds, 0, count);
+		int chars= 0;
+		for (int i= 0; i < count; i++)
+			chars+= blockLengths[i];
+		fLengths[block]= blockLengths;
+		fKinds[block]= blockKinds;
+		fLineCounts[block]= count;
+		fCharCounts[block]= chars;
+	}
+
+	private void ensureBlockCapacity(int capacity) {
+		if (capacity <= fLineCounts.length)
+			return;
+		int newCapacity= Math.max(capacity, fLineCounts.length * 2);
+		int[][] lengths= new int[newCapacity][];
+		System.arraycopy(fLengths, 0, lengths, 0, fBlockCount);
+		fLengths= lengths;
+		byte[][] kinds= new byte[newCapacity][];
+		System.arraycopy(fKinds, 0, kinds, 0, fBlockCount);
+		fKinds= kinds;
+		int[] lineCounts= new int[newCapacity];
+		System.arraycopy(fLineCounts, 0, lineCounts, 0, fBlockCount);
+		fLineCounts= lineCounts;
+		int[] charCounts= new int[newCapacity];
+		System.arraycopy(fCharCounts, 0, charCounts, 0, fBlockCount);
+		fCharCounts= charCounts;
+	}
+
+	/**
+	 * Rebuilds the Fenwick trees from the block counts in <i>O(b)</i>.
+	 */
+	private void buildTrees() {
+		int n= fBlockCount;
+		if (fCharTree == null || fCharTree.length < n + 1) {
+			fCharTree= new int[fLineCounts.length + 1];
+			fLineTree= new int[fLineCounts.length + 1];
+		}
+		for (int i= 1; i <= n; i++) {
+			fCharTree[i]= fCharCounts[i - 1];
+			fLineTree[i]= fLineCounts[i - 1];
+		}
+		for (int i= 1; i <= n; i++) {
+			int parent= i + (i & -i);
+			if (parent <= n) {
+				fCharTree[parent]+= fCharTree[i];
+				fLineTree[parent]+= fLineTree[i];
+			}
+		}
+		fTopBit= Integer.highestOneBit(n);
+	}
+
+	private void add(int[] tree, int block, int delta) {
+		if (delta == 0)
+			return;
+		for (int i= block + 1; i <= fBlockCount; i+= i & -i)
+			tree[i]+= delta;
+	}
+
+	private static int prefixSum(int[] tree, int block) {
+		int sum= 0;
+		for (int i= block; i > 0; i-= i & -i)
+			sum+= tree[i];
+		return sum;
+	}
+
+	@Override
+	public final String getLineDelimiter(int line) throws BadLocationException {
+		long location= locateLine(line);
+		String delimiter= delimiterOf(blockOf(location), indexOf(location));
+		return delimiter == NO_DELIM ? null : delimiter;
+	}
+
+	@Override
+	public final int computeNumberOfLines(String text) {
+		int count= 0;
+		int start= 0;
+		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, start);
+		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
+			++count;
+			start= delimiterInfo.delimiterIndex + delimiterInfo.delimiterLength;
+			delimiterInfo= nextDelimiterInfo(text, start);
+		}
+		return count;
+	}
+
+	@Override
+	public final int getNumberOfLines() {
+		return fNumberOfLines;
+	}
+
+	@Override
+	public final int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (length == 0)
+			return 1;
+
+		int startLine= getLineNumberOfOffset(offset);
+		int endLine= getLineNumberOfOffset(offset + length);
+
+		return endLine - startLine + 1;
+	}
+
+	@Override
+	public final int getLineOffset(int line) throws BadLocationException {
+		long location= locateLine(line);
+		return offsetOf(blockOf(location), indexOf(location));
+	}
+
+	@Override
+	public final int getLineLength(int line) throws BadLocationException {
+		long location= locateLine(line);
+		return fLengths[blockOf(location)][indexOf(location)];
+	}
+
+	@Override
+	public final int getLineNumberOfOffset(int offset) throws BadLocationException {
+		long location= locateOffset(offset);
+		return prefixSum(fLineTree, blockOf(location)) + indexOf(location);
+	}
+
+	@Override
+	public final IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		long location= locateOffset(offset);
+		return getLineInformation(blockOf(location), indexOf(location));
+	}
+
+	@Override
+	public final IRegion getLineInformation(int line) throws BadLocationException {
+		if (line > 0 && line == fNumberOfLines) {
+			/*
+			 * Backward compatibility: see TreeLineTracker. The last line, if it has a length,
+			 * is followed by an artificial empty line.
+			 */
+			long location= locateLine(line - 1);
+			int block= blockOf(location);
+			int index= indexOf(location);
+			int length= fLengths[block][index];
+			if (length > 0)
+				return new Region(offsetOf(block, index) + length, 0);
+		}
+		long location= locateLine(line);
+		return getLineInformation(blockOf(location), indexOf(location));
+	}
+
+	private IRegion getLineInformation(int block, int index) {
+		int length= fLengths[block][index] - delimiterOf(block, index).length();
+		return new Region(offsetOf(block, index), length);
+	}
+
+	@Override
+	public final void set(String text) {
+		fLengths= new int[16][];
+		fKinds= new byte[16][];
+		fLineCounts= new int[16];
+		fCharCounts= new int[16];
+		fBlockCount= 0;
+		fNumberOfLines= 0;
+
+		int consumed= 0;
+		if (text != null) {
+			DelimiterInfo info= nextDelimiterInfo(text, 0);
+			while (info != null && info.delimiter != null) {
+				int lineLength= info.delimiterIndex - consumed + info.delimiterLength;
+				appendLine(lineLength, kindOf(info.delimiter));
+				consumed+= lineLength;
+				info= nextDelimiterInfo(text, consumed);
+			}
+		}
+		appendLine(text == null ? 0 : text.length() - consumed, (byte) 0);
+
+		buildTrees();
+	}
+
+	/**
+	 * Appends a line to the last block, adding a block if needed. Does not update the Fenwick
+	 * trees.
+	 *
+	 * @param length the length of the line including its delimiter
+	 * @param kind the delimiter index of the line
+	 */
+	private void appendLine(int length, byte kind) {
+		int block= fBlockCount - 1;
+		if (block < 0 || fLineCounts[block] == BLOCK_SIZE) {
+			block= fBlockCount;
+			ensureBlockCapacity(block + 1);
+			fLengths[block]= new int[BLOCK_SIZE];
+			fKinds[block]= new byte[BLOCK_SIZE];
+			fBlockCount++;
+		}
+		int index= fLineCounts[block]++;
+		fLengths[block][index]= length;
+		fKinds[block][index]= kind;
+		fCharCounts[block]+= length;
+		fNumberOfLines++;
+	}
+}
@@ -16,8 +16,6 @@ package org.eclipse.jface.text;
 
 import org.eclipse.core.runtime.Assert;
 
-import org.eclipse.jface.text.MultiStringMatcher.Match;
-
 
 /**
  * Standard implementation of a generic
@@ -61,12 +59,12 @@ public class ConfigurableLineTracker extends AbstractLineTracker {
 	@Override
 	protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 		if (fMatcher != null) {
-			Match m = fMatcher.indexOf(text, offset);
-			if (m == null) {
+			long match= fMatcher.search(text, offset);
+			if (match < 0) {
 				return null;
 			}
-			fDelimiterInfo.delimiterIndex= m.getOffset();
-			fDelimiterInfo.delimiter= m.getText();
+			fDelimiterInfo.delimiterIndex= MultiStringMatcher.matchOffset(match);
+			fDelimiterInfo.delimiter= fMatcher.matchText(match);
 		} else {
 			int index= text.indexOf(fDelimiters[0], offset);
 			if (index == -1)
@@ -37,7 +37,7 @@ public class CopyOnWriteTextStore implements ITextStore {
 	 * Trying to {@link #replace} a text range or {@link #set} new content will throw an
 	 * <code>UnsupportedOperationException</code>.
 	 */
-	private static class StringTextStore implements ITextStore {
+	static class StringTextStore implements ITextStore {
 
 		/** Minimum text limit whether to enable String copying */
 		private static final int SMALL_TEXT_LIMIT= 1024 * 1024;
@@ -60,7 +60,7 @@ public class CopyOnWriteTextStore implements ITextStore {
 		 *
 		 * @param text the initial content
 		 */
-		private StringTextStore(String text) {
+		StringTextStore(String text) {
 			super();
 			fText= text != null ? text : ""; //$NON-NLS-1$
 			fCopyLimit= fText.length() > SMALL_TEXT_LIMIT ? fText.length() / 2 : 0;
@@ -80,6 +80,11 @@ public class CopyOnWriteTextStore implements ITextStore {
 			return fText.substring(offset, offset + length);
 		}
 
+		@Override
+		public void get(int offset, int length, char[] dest, int destPos) {
+			fText.getChars(offset, offset + length, dest, destPos);
+		}
+
 		@Override
 		public int getLength() {
 			return fText.length();
@@ -128,6 +133,11 @@ public class CopyOnWriteTextStore implements ITextStore {
 		return fTextStore.get(offset, length);
 	}
 
+	@Override
+	public void get(int offset, int length, char[] dest, int destPos) {
+		fTextStore.get(offset, length, dest, destPos);
+	}
+
 	@Override
 	public int getLength() {
 		return fTextStore.getLength();
@@ -149,4 +159,17 @@ public class CopyOnWriteTextStore implements ITextStore {
 		fModifiableTextStore.set(""); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns an immutable text store with the current content of this store. The unmodifiable
+	 * initial content is shared as is. For internal use only.
+	 *
+	 * @return a snapshot of the current content
+	 * @since 3.14
+	 */
+	ITextStore createSnapshot() {
+		if (fTextStore instanceof StringTextStore)
+			return fTextStore;
+		return DocumentSnapshot.createSnapshot(fTextStore);
+	}
+
 }
@@ -212,7 +212,13 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
+			Position[] category;
+			if (fDocument instanceof AbstractDocument && getClass() == DefaultPositionUpdater.class) {
+				// positions ending before the change are not affected, subclasses may still adapt them
+				category= ((AbstractDocument) fDocument).getPositionsAffectedByChange(fCategory, fOffset);
+			} else {
+				category= fDocument.getPositions(fCategory);
+			}
 			for (Position element : category) {
 
 				fPosition= element;
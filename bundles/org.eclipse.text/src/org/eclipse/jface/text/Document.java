@@ -15,8 +15,9 @@ package org.eclipse.jface.text;
 
 
 /**
- * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} wrapped
- * inside a {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store.
+ * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} or, for very
+ * large content, a {@link org.eclipse.jface.text.PieceTableTextStore} wrapped inside a
+ * {@link org.eclipse.jface.text.CopyOnWriteTextStore} as text store.
  * <p>
  * The used line tracker considers the following strings as line delimiters: "\n", "\r", "\r\n". In
  * case of a text replacement across line delimiter boundaries and with different line delimiters,
@@ -30,14 +31,16 @@ package org.eclipse.jface.text;
  * </p>
  * <p>
  * <strong>Performance:</strong> The implementation should perform reasonably well for typical
- * source code documents. It is not designed for very large documents of a size of several
- * megabytes. Space-saving implementations are initially used for both the text store and the line
- * tracker; the first modification after a {@link #set(String) set} incurs the cost to transform the
- * document structures to efficiently handle updates.
+ * source code documents. Space-saving implementations are initially used for both the text store
+ * and the line tracker; the first modification after a {@link #set(String) set} incurs the cost to
+ * transform the document structures to efficiently handle updates. Documents of up to several
+ * megabytes are stored in a {@link GapTextStore}; larger documents are stored in a
+ * {@link PieceTableTextStore}, which does not copy the content on the first modification and
+ * handles scattered changes without moving the existing content.
  * </p>
  * <p>
- * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
- * document structures.
+ * See {@link GapTextStore}, {@link PieceTableTextStore} and <code>TreeLineTracker</code> for
+ * algorithmic behavior of the used document structures.
  * </p>
  *
  * @see org.eclipse.jface.text.GapTextStore
@@ -49,7 +52,7 @@ public class Document extends AbstractDocument {
 	 */
 	public Document() {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(new CopyOnWriteTextStore(new AdaptiveTextStore()));
 		setLineTracker(new DefaultLineTracker());
 		completeInitialization();
 	}
@@ -61,7 +64,7 @@ public class Document extends AbstractDocument {
 	 */
 	public Document(String initialContent) {
 		super();
-		setTextStore(new CopyOnWriteTextStore(new GapTextStore()));
+		setTextStore(new CopyOnWriteTextStore(new AdaptiveTextStore()));
 		setLineTracker(new DefaultLineTracker());
 		getStore().set(initialContent);
 		getTracker().set(initialContent);
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+
+
+/**
+ * An immutable {@link IDocument} holding the content of another document at the time of its
+ * creation, see {@link AbstractDocument#createSnapshot()}.
+ * <p>
+ * The content is shared with the original document wherever its text store supports it. The line
+ * information is computed on first access, so creating a snapshot does not scan the content.
+ * Attempts to change the content throw an <code>UnsupportedOperationException</code>.
+ * </p>
+ *
+ * @since 3.14
+ */
+class DocumentSnapshot extends AbstractDocument {
+
+	/**
+	 * A line tracker that is initialized with the content of a text store on first access.
+	 */
+	private static final class SnapshotLineTracker implements ILineTracker {
+
+		/** The content to track */
+		private final ITextStore fStore;
+		/** The delegate, initialized on first access */
+		private final ILineTracker fTracker;
+		/** Tells whether {@link #fTracker} has been initialized */
+		private volatile boolean fInitialized;
+
+		SnapshotLineTracker(ITextStore store, ILineTracker tracker) {
+			fStore= store;
+			fTracker= tracker;
+		}
+
+		private ILineTracker getTracker() {
+			if (!fInitialized) {
+				synchronized (this) {
+					if (!fInitialized) {
+						fTracker.set(fStore.get(0, fStore.getLength()));
+						fInitialized= true;
+					}
+				}
+			}
+			return fTracker;
+		}
+
+		@Override
+		public String[] getLegalLineDelimiters() {
+			return fTracker.getLegalLineDelimiters();
+		}
+
+		@Override
+		public String getLineDelimiter(int line) throws BadLocationException {
+			return getTracker().getLineDelimiter(line);
+		}
+
+		@Override
+		public int computeNumberOfLines(String text) {
+			return fTracker.computeNumberOfLines(text);
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			return getTracker().getNumberOfLines();
+		}
+
+		@Override
+		public int getNumberOfLines(int offset, int length) throws BadLocationException {
+			return getTracker().getNumberOfLines(offset, length);
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			return getTracker().getLineOffset(line);
+		}
+
+		@Override
+		public int getLineLength(int line) throws BadLocationException {
+			return getTracker().getLineLength(line);
+		}
+
+		@Override
+		public int getLineNumberOfOffset(int offset) throws BadLocationException {
+			return getTracker().getLineNumberOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+			return getTracker().getLineInformationOfOffset(offset);
+		}
+
+		@Override
+		public IRegion getLineInformation(int line) throws BadLocationException {
+			return getTracker().getLineInformation(line);
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/** The modification stamp of the original document */
+	private final long fSnapshotModificationStamp;
+
+	/**
+	 * Creates a new snapshot.
+	 *
+	 * @param store the immutable content of the snapshot
+	 * @param lineDelimiters the legal line delimiters of the original document
+	 * @param modificationStamp the modification stamp of the original document
+	 */
+	DocumentSnapshot(ITextStore store, String[] lineDelimiters, long modificationStamp) {
+		super();
+		fSnapshotModificationStamp= modificationStamp;
+		setTextStore(store);
+
+		boolean hasDefaultDelims= Arrays.equals(lineDelimiters, DefaultLineTracker.DELIMITERS);
+		ILineTracker tracker= hasDefaultDelims ? new DefaultLineTracker() : new ConfigurableLineTracker(lineDelimiters);
+		setLineTracker(new SnapshotLineTracker(store, tracker));
+		completeInitialization();
+	}
+
+	/**
+	 * Returns an immutable text store with the current content of the given store, sharing the
+	 * content where the store supports it and copying it otherwise.
+	 *
+	 * @param store the text store
+	 * @return an immutable text store with the same content
+	 */
+	static ITextStore createSnapshot(ITextStore store) {
+		if (store instanceof CopyOnWriteTextStore cowStore)
+			return cowStore.createSnapshot();
+		if (store instanceof AdaptiveTextStore adaptiveStore)
+			return adaptiveStore.createSnapshot();
+		if (store instanceof PieceTableTextStore pieceTable)
+			return pieceTable.createSnapshot();
+		return new CopyOnWriteTextStore.StringTextStore(store.get(0, store.getLength()));
+	}
+
+	@Override
+	public long getModificationStamp() {
+		return fSnapshotModificationStamp;
+	}
+
+	@Override
+	public IDocument createSnapshot() {
+		return this;
+	}
+
+	@Override
+	public void replace(int pos, int length, String text, long modificationStamp) throws BadLocationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String text, long modificationStamp) {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -159,21 +159,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			int patternFlags= getPatternFlags(caseSensitive, regExSearch);
+			findString= toPatternString(findString, wholeWord, regExSearch);
 
 			fFindReplaceMatchOffset= startOffset;
 			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
@@ -192,26 +179,13 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		fFindReplaceState= operationCode;
 
 		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
-			if (regExSearch) {
-				Pattern pattern= fFindReplaceMatcher.pattern();
-				String prevMatch= fFindReplaceMatcher.group();
-				try {
-					replaceText= interpretReplaceEscapes(replaceText, prevMatch);
-					Matcher replaceTextMatcher= pattern.matcher(prevMatch);
-					replaceText= replaceTextMatcher.replaceFirst(replaceText);
-				} catch (IndexOutOfBoundsException ex) {
-					throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
-				}
-			}
+			if (regExSearch)
+				replaceText= computeRegExReplacement(fFindReplaceMatcher.pattern(), fFindReplaceMatcher.group(), replaceText);
 
 			int offset= fFindReplaceMatcher.start();
 			int length= fFindReplaceMatcher.group().length();
 
-			if (fDocument instanceof IRepairableDocumentExtension
-					&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
-				String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
-				throw new PatternSyntaxException(message, replaceText, offset);
-			}
+			checkLineDelimiters(offset, length, replaceText);
 
 			fDocument.replace(offset, length, replaceText);
 
@@ -262,6 +236,86 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Returns the flags of the pattern for the given search criteria.
+	 *
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param regExSearch whether the find string represents a regular expression
+	 * @return the pattern flags
+	 * @since 3.14
+	 */
+	static int getPatternFlags(boolean caseSensitive, boolean regExSearch) {
+		int patternFlags= 0;
+
+		if (regExSearch)
+			patternFlags |= Pattern.MULTILINE;
+
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+		return patternFlags;
+	}
+
+	/**
+	 * Converts the given find string into a regular expression for the given search criteria.
+	 *
+	 * @param findString the string to find
+	 * @param wholeWord indicates whether the find string should be limited by word boundaries
+	 * @param regExSearch whether the find string represents a regular expression
+	 * @return the regular expression
+	 * @throws PatternSyntaxException if \R is used at an illegal position
+	 * @since 3.14
+	 */
+	static String toPatternString(String findString, boolean wholeWord, boolean regExSearch) throws PatternSyntaxException {
+		if (regExSearch)
+			findString= substituteLinebreak(findString);
+		else
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+
+		return findString;
+	}
+
+	/**
+	 * Computes the text that replaces a regular expression match.
+	 *
+	 * @param pattern the pattern that found the match
+	 * @param match the matched text
+	 * @param replaceText the replace pattern
+	 * @return the replacement for the match
+	 * @throws PatternSyntaxException if the replace pattern has invalid syntax
+	 * @since 3.14
+	 */
+	String computeRegExReplacement(Pattern pattern, String match, String replaceText) throws PatternSyntaxException {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, match);
+			Matcher replaceTextMatcher= pattern.matcher(match);
+			return replaceTextMatcher.replaceFirst(replaceText);
+		} catch (IndexOutOfBoundsException ex) {
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
+	/**
+	 * Checks that replacing the given range would not break the line information of the document.
+	 *
+	 * @param offset the offset of the range to replace
+	 * @param length the length of the range to replace
+	 * @param replaceText the replacement
+	 * @throws BadLocationException if the range is invalid
+	 * @throws PatternSyntaxException if the replacement has incompatible line delimiters
+	 * @since 3.14
+	 */
+	void checkLineDelimiters(int offset, int length, String replaceText) throws BadLocationException, PatternSyntaxException {
+		if (fDocument instanceof IRepairableDocumentExtension
+				&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, replaceText, offset);
+		}
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
@@ -270,7 +324,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @throws PatternSyntaxException if \R is added at an illegal position (e.g. in a character set)
 	 * @since 3.4
 	 */
-	private String substituteLinebreak(String findString) throws PatternSyntaxException {
+	private static String substituteLinebreak(String findString) throws PatternSyntaxException {
 		int length= findString.length();
 		StringBuilder buf= new StringBuilder(length);
 
@@ -563,7 +617,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 * @param string the non-regex pattern
 	 * @return the string converted to a regex pattern
 	 */
-	private String asRegPattern(String string) {
+	private static String asRegPattern(String string) {
 		StringBuilder out= new StringBuilder(string.length());
 		boolean quoting= false;
 
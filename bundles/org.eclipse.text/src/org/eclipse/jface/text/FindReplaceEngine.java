@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Finds or replaces all occurrences of a string in a document. Uses the same search criteria and
+ * replace patterns as {@link FindReplaceDocumentAdapter}, but is meant for large documents:
+ * <ul>
+ * <li>The document content is read chunk by chunk through a fixed size window, so the memory
+ * used does not depend on the document size.</li>
+ * <li>The search may run in a background thread. Chunks are read while holding the lock of an
+ * {@link ISynchronizable} document, and the search fails with a
+ * {@link ConcurrentModificationException} if the document changes after this engine was
+ * created.</li>
+ * <li>{@link #computeReplaceAll(String, boolean, IProgressMonitor)} collects all replacements in
+ * one {@link MultiTextEdit} which {@link #apply(MultiTextEdit)} performs in a single
+ * {@link DocumentRewriteSession}.</li>
+ * </ul>
+ * <p>
+ * An engine works on the state of the document at its creation time. It is not thread-safe, but
+ * may be used by another thread than the one that created it.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see FindReplaceDocumentAdapter
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class FindReplaceEngine {
+
+	/**
+	 * A read-only character sequence over a document that keeps only a window of the document
+	 * content in memory.
+	 */
+	private final class ChunkedDocumentSequence implements CharSequence {
+
+		/** The characters of the current window */
+		private final char[] fWindow= new char[CHUNK_SIZE];
+		/** The document offset of the first character in {@link #fWindow} */
+		private int fWindowStart;
+		/** The document offset after the last valid character in {@link #fWindow} */
+		private int fWindowEnd;
+		/** The monitor to report progress to and to check for cancellation */
+		private final SubMonitor fMonitor;
+		/** The units of work reported so far */
+		private int fReported;
+
+		ChunkedDocumentSequence(SubMonitor monitor) {
+			fMonitor= monitor;
+		}
+
+		@Override
+		public int length() {
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < fWindowStart || index >= fWindowEnd)
+				fill(index);
+			return fWindow[index - fWindowStart];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > fLength || start > end)
+				throw new IndexOutOfBoundsException();
+			if (start >= fWindowStart && end <= fWindowEnd)
+				return new String(fWindow, start - fWindowStart, end - start);
+			char[] chars= new char[end - start];
+			read(start, end - start, chars);
+			return new String(chars);
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, fLength).toString();
+		}
+
+		/**
+		 * Moves the window such that it contains the given offset. The window keeps some
+		 * characters before the offset, as the matcher occasionally looks back.
+		 *
+		 * @param index the offset that must be in the window
+		 */
+		private void fill(int index) {
+			if (index < 0 || index >= fLength)
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			if (fMonitor.isCanceled())
+				throw new OperationCanceledException();
+
+			int start= Math.max(0, index - LOOK_BEHIND);
+			int length= Math.min(CHUNK_SIZE, fLength - start);
+			read(start, length, fWindow);
+			fWindowStart= start;
+			fWindowEnd= start + length;
+
+			int units= fWindowEnd / PROGRESS_UNIT;
+			if (units > fReported) {
+				fMonitor.worked(units - fReported);
+				fReported= units;
+			}
+		}
+	}
+
+	/** The size of the window through which the document content is read. */
+	private static final int CHUNK_SIZE= 64 * 1024;
+	/** The number of characters kept before an offset that causes the window to move. */
+	private static final int LOOK_BEHIND= CHUNK_SIZE / 8;
+	/** The number of characters per unit of work reported to a progress monitor. */
+	private static final int PROGRESS_UNIT= 1024;
+
+	/** The document */
+	private final IDocument fDocument;
+	/** The text store of the document if it is an {@link AbstractDocument}, <code>null</code> otherwise */
+	private final ITextStore fStore;
+	/** The lock object of the document, <code>null</code> if none */
+	private final Object fLockObject;
+	/** The modification stamp of the document at creation time */
+	private final long fModificationStamp;
+	/** The length of the document at creation time */
+	private final int fLength;
+	/** The pattern to search for */
+	private final Pattern fPattern;
+	/** Whether the find string is a regular expression */
+	private final boolean fRegExSearch;
+	/** The adapter that interprets replace patterns */
+	private final FindReplaceDocumentAdapter fAdapter;
+
+	/**
+	 * Creates a new engine for the given document and search criteria.
+	 *
+	 * @param document the document to search
+	 * @param findString the string to find, must not be empty
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the find string should be limited by word boundaries.
+	 *            Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> the find string represents a regular expression.
+	 *            Must not be used in combination with <code>wholeWord</code>.
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 */
+	public FindReplaceEngine(IDocument document, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws PatternSyntaxException {
+		Assert.isNotNull(document);
+		Assert.isLegal(findString != null && !findString.isEmpty());
+		Assert.isTrue(!(regExSearch && wholeWord));
+
+		fDocument= document;
+		fStore= document instanceof AbstractDocument ? ((AbstractDocument) document).getStore() : null;
+		fLockObject= document instanceof ISynchronizable ? ((ISynchronizable) document).getLockObject() : null;
+		fAdapter= new FindReplaceDocumentAdapter(document);
+		fRegExSearch= regExSearch;
+		int flags= FindReplaceDocumentAdapter.getPatternFlags(caseSensitive, regExSearch);
+		fPattern= Pattern.compile(FindReplaceDocumentAdapter.toPatternString(findString, wholeWord, regExSearch), flags);
+
+		if (fLockObject != null) {
+			synchronized (fLockObject) {
+				fModificationStamp= getModificationStamp();
+				fLength= document.getLength();
+			}
+		} else {
+			fModificationStamp= getModificationStamp();
+			fLength= document.getLength();
+		}
+	}
+
+	/**
+	 * Returns the regions of all non-empty matches in the document.
+	 *
+	 * @param monitor the progress monitor to use for reporting progress to the user, or
+	 *            <code>null</code> if no progress should be reported
+	 * @return the regions of all matches in ascending order
+	 * @throws OperationCanceledException if the monitor was canceled
+	 * @throws ConcurrentModificationException if the document was modified after this engine was
+	 *             created
+	 * @throws PatternSyntaxException if the pattern is too complex
+	 */
+	public IRegion[] findAll(IProgressMonitor monitor) {
+		List<IRegion> regions= new ArrayList<>();
+		Matcher matcher= createMatcher(monitor);
+		while (find(matcher))
+			regions.add(new Region(matcher.start(), matcher.end() - matcher.start()));
+		return regions.toArray(new IRegion[regions.size()]);
+	}
+
+	/**
+	 * Computes the edit that replaces all non-empty matches in the document. The edit consists of
+	 * one {@link ReplaceEdit} per match.
+	 *
+	 * @param replaceText the replacement
+	 * @param regExReplace if <code>true</code> <code>replaceText</code> represents a regular
+	 *            expression replace pattern, which requires a regular expression search
+	 * @param monitor the progress monitor to use for reporting progress to the user, or
+	 *            <code>null</code> if no progress should be reported
+	 * @return the edit replacing all matches
+	 * @throws OperationCanceledException if the monitor was canceled
+	 * @throws ConcurrentModificationException if the document was modified after this engine was
+	 *             created
+	 * @throws PatternSyntaxException if the replace pattern has invalid syntax or the pattern is
+	 *             too complex
+	 */
+	public MultiTextEdit computeReplaceAll(String replaceText, boolean regExReplace, IProgressMonitor monitor) {
+		Assert.isNotNull(replaceText);
+		Assert.isTrue(!regExReplace || fRegExSearch);
+
+		MultiTextEdit edit= new MultiTextEdit();
+		Matcher matcher= createMatcher(monitor);
+		while (find(matcher)) {
+			int offset= matcher.start();
+			int length= matcher.end() - offset;
+			String replacement= replaceText;
+			if (regExReplace)
+				replacement= fAdapter.computeRegExReplacement(fPattern, matcher.group(), replaceText);
+			edit.addChild(new ReplaceEdit(offset, length, replacement));
+		}
+		return edit;
+	}
+
+	/**
+	 * Applies an edit computed by {@link #computeReplaceAll(String, boolean, IProgressMonitor)}
+	 * to the document in a single {@link DocumentRewriteSession}. Must be called in the thread
+	 * that is allowed to modify the document.
+	 *
+	 * @param edit the edit to apply
+	 * @return the number of replacements
+	 * @throws ConcurrentModificationException if the document was modified after this engine was
+	 *             created
+	 * @throws PatternSyntaxException if a replacement has line delimiters that are incompatible
+	 *             with the document
+	 * @throws BadLocationException if the edit does not fit the document
+	 */
+	public int apply(MultiTextEdit edit) throws BadLocationException {
+		checkModificationStamp();
+		TextEdit[] children= edit.getChildren();
+		for (TextEdit child : children)
+			fAdapter.checkLineDelimiters(child.getOffset(), child.getLength(), ((ReplaceEdit) child).getText());
+		if (children.length == 0)
+			return 0;
+
+		try {
+			new RewriteSessionEditProcessor(fDocument, edit, TextEdit.NONE).performEdits();
+		} catch (MalformedTreeException e) {
+			throw new BadLocationException(e.getMessage());
+		}
+		return children.length;
+	}
+
+	/**
+	 * Creates a matcher over the document content.
+	 *
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return a matcher over the document content
+	 */
+	private Matcher createMatcher(IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, fLength / PROGRESS_UNIT + 1);
+		return fPattern.matcher(new ChunkedDocumentSequence(progress));
+	}
+
+	/**
+	 * Finds the next non-empty match.
+	 *
+	 * @param matcher the matcher
+	 * @return <code>true</code> if a match was found
+	 */
+	private boolean find(Matcher matcher) {
+		try {
+			while (matcher.find()) {
+				if (matcher.end() > matcher.start())
+					return true;
+			}
+			return false;
+		} catch (StackOverflowError e) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, fPattern.pattern(), -1);
+		}
+	}
+
+	/**
+	 * Reads a range of the document into the given array.
+	 *
+	 * @param offset the document offset of the range
+	 * @param length the length of the range
+	 * @param dest the array to read into, starting at index 0
+	 */
+	private void read(int offset, int length, char[] dest) {
+		if (fLockObject != null) {
+			synchronized (fLockObject) {
+				readUnlocked(offset, length, dest);
+			}
+		} else {
+			readUnlocked(offset, length, dest);
+		}
+	}
+
+	private void readUnlocked(int offset, int length, char[] dest) {
+		checkModificationStamp();
+		if (fStore != null) {
+			fStore.get(offset, length, dest, 0);
+		} else {
+			try {
+				fDocument.get(offset, length).getChars(0, length, dest, 0);
+			} catch (BadLocationException e) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private void checkModificationStamp() {
+		if (getModificationStamp() != fModificationStamp || fDocument.getLength() != fLength)
+			throw new ConcurrentModificationException();
+	}
+
+	private long getModificationStamp() {
+		if (fDocument instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) fDocument).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+}
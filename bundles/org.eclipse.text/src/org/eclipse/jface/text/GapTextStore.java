@@ -165,6 +165,20 @@ public class GapTextStore implements ITextStore {
 		return buf.toString();
 	}
 
+	@Override
+	public final void get(int offset, int length, char[] dest, int destPos) {
+		final int end= offset + length;
+		if (fGapStart <= offset) {
+			arrayCopy(offset + gapSize(), dest, destPos, length);
+		} else if (end <= fGapStart) {
+			arrayCopy(offset, dest, destPos, length);
+		} else {
+			final int beforeGap= fGapStart - offset;
+			arrayCopy(offset, dest, destPos, beforeGap);
+			arrayCopy(fGapEnd, dest, destPos + beforeGap, end - fGapStart);
+		}
+	}
+
 	@Override
 	public final int getLength() {
 		return fContent.length - gapSize();
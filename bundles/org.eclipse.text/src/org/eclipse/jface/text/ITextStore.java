@@ -20,7 +20,8 @@ package org.eclipse.jface.text;
  * Provides access to the stored text and allows to manipulate it.</p>
  * <p>
  * Clients may
- * implement this interface or use {@link org.eclipse.jface.text.GapTextStore} or
+ * implement this interface or use {@link org.eclipse.jface.text.GapTextStore},
+ * {@link org.eclipse.jface.text.PieceTableTextStore} or
  * {@link org.eclipse.jface.text.CopyOnWriteTextStore}.</p>
  */
 public interface ITextStore {
@@ -42,6 +43,21 @@ public interface ITextStore {
 	 */
 	String get(int offset, int length);
 
+	/**
+	 * Copies the text of the specified character range into the given array. Implementations
+	 * should override this method if they can copy the characters without creating an
+	 * intermediate string.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @param dest the array to copy the text to
+	 * @param destPos the start position in the destination array
+	 * @since 3.14
+	 */
+	default void get(int offset, int length, char[] dest, int destPos) {
+		get(offset, length).getChars(0, length, dest, destPos);
+	}
+
 	/**
 	 * Returns number of characters stored in this text store.
 	 *
@@ -13,17 +13,24 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Fast matcher to find the occurrences of any of a fixed set of constant strings. Supports finding
  * all (possibly overlapping) matches, or only the leftmost longest match.
+ * <p>
+ * A {@link MultiStringMatcher} is immutable once built and may be shared between threads.
+ * </p>
  *
  * @since 3.9
  */
@@ -36,6 +43,10 @@ public class MultiStringMatcher {
 	// CACM 18(6), 1975.
 	//
 	// The algorithm has been modified to support reporting either all matches or only leftmost longest matches.
+	//
+	// The trie is compiled into arrays when the matcher is built: a dense table holds the goto
+	// transitions of ASCII characters for the states near the root, sorted per-state arrays hold all
+	// other transitions.
 
 	/**
 	 * Describes a match result of {@link MultiStringMatcher#indexOf(CharSequence, int)}, giving
@@ -89,14 +100,14 @@ public class MultiStringMatcher {
 
 	private static class BuilderImpl implements Builder {
 
-		private MultiStringMatcher m;
+		private Node root;
 
 		BuilderImpl() {
-			m= new MultiStringMatcher();
+			root= new Node(0);
 		}
 
 		private void check() {
-			if (m == null) {
+			if (root == null) {
 				throw new IllegalStateException("Builder.build() was already called"); //$NON-NLS-1$
 			}
 		}
@@ -104,30 +115,26 @@ public class MultiStringMatcher {
 		@Override
 		public Builder add(String... searchStrings) {
 			check();
-			m.add(searchStrings);
+			if (searchStrings != null) {
+				for (String searchString : searchStrings) {
+					if (searchString == null || searchString.isEmpty()) {
+						continue;
+					}
+					Node node= root;
+					for (char c : searchString.toCharArray()) {
+						node= node.add(c);
+					}
+					node.match= searchString;
+				}
+			}
 			return this;
 		}
 
 		@Override
 		public MultiStringMatcher build() {
 			check();
-			MultiStringMatcher result= m;
-			m= null;
-			if (!result.root.hasChildren()) {
-				// no search strings were added; return a specialized "matches nothing" matcher
-				return new MultiStringMatcher() {
-					@Override
-					public void find(CharSequence text, int offset, Consumer<Match> matches) {
-						return;
-					}
-
-					@Override
-					public Match indexOf(CharSequence text, int offset) {
-						return null;
-					}
-				};
-			}
-			result.buildLinks();
+			MultiStringMatcher result= new MultiStringMatcher(root);
+			root= null;
 			return result;
 		}
 	}
@@ -185,7 +192,7 @@ public class MultiStringMatcher {
 		}
 	}
 
-	/** A node in the trie built from the search strings. */
+	/** A node in the trie built from the search strings. Only used while building. */
 	private static class Node {
 		HashMap<Character, Node> children;
 
@@ -197,6 +204,9 @@ public class MultiStringMatcher {
 
 		final int depth;
 
+		/** The state number of this node in the compiled automaton. */
+		int id;
+
 		Node(int depth) {
 			this.depth= depth;
 		}
@@ -224,36 +234,129 @@ public class MultiStringMatcher {
 		}
 	}
 
-	/** Root node of the trie. */
-	private final Node root= new Node(0) {
-		@Override
-		Node next(Character c) {
-			// Implements the sentinel loop on the root node for all non-matching characters.
-			Node child= super.next(c);
-			return child == null ? this : child;
-		}
-	};
+	/** The number of characters covered by the dense transition table. */
+	private static final int DENSE_CHARS= 128;
 
-	private MultiStringMatcher() {
-		// Always use a Builder or the static helper methods to create a MultiStringMatcher
-	}
+	/**
+	 * The maximal number of states with a row in the dense transition table. States are numbered
+	 * in breadth-first order, so these are the states closest to the root, where most of the
+	 * scanning happens.
+	 */
+	private static final int MAX_DENSE_STATES= 256;
+
+	// The compiled automaton. State 0 is the root; all arrays are indexed by state unless noted
+	// otherwise, and are never modified after construction.
+
+	/** Goto transitions for ASCII characters of the first {@link #fDenseStates} states, -1 if none. */
+	private final int[] fDense;
+
+	/** The number of states with a row in {@link #fDense}. */
+	private final int fDenseStates;
+
+	/**
+	 * Start of the sparse transitions of a state in {@link #fSparseChars} and
+	 * {@link #fSparseTargets}; has one more element than there are states.
+	 */
+	private final int[] fSparseStart;
+
+	/** The characters of the sparse transitions, sorted per state. */
+	private final char[] fSparseChars;
+
+	/** The target states of the sparse transitions. */
+	private final int[] fSparseTargets;
+
+	/** The fail links. */
+	private final int[] fFail;
 
-	private void add(String... searchStrings) {
-		if (searchStrings != null) {
-			for (String searchString : searchStrings) {
-				if (searchString == null || searchString.isEmpty()) {
-					continue;
+	/** The output links, -1 if none. */
+	private final int[] fOutput;
+
+	/** The depths, i.e., the lengths of the prefixes represented by the states. */
+	private final int[] fDepth;
+
+	/** The search strings matched by the states, <code>null</code> if none. */
+	private final String[] fMatch;
+
+	/** Whether the states have outgoing goto transitions. */
+	private final boolean[] fHasChildren;
+
+	/**
+	 * Compiles the trie with the given root into an automaton.
+	 *
+	 * @param root the root of the trie
+	 */
+	private MultiStringMatcher(Node root) {
+		// Number the nodes in breadth-first order
+		List<Node> nodes= new ArrayList<>();
+		nodes.add(root);
+		int sparseCount= 0;
+		for (int i= 0; i < nodes.size(); i++) {
+			Node node= nodes.get(i);
+			node.id= i;
+			if (node.hasChildren()) {
+				nodes.addAll(node.children.values());
+			}
+		}
+		int stateCount= nodes.size();
+		buildLinks(root);
+
+		fDenseStates= Math.min(stateCount, MAX_DENSE_STATES);
+		fDense= new int[fDenseStates * DENSE_CHARS];
+		Arrays.fill(fDense, -1);
+		for (Node node : nodes) {
+			if (node.hasChildren()) {
+				for (Character c : node.children.keySet()) {
+					if (!isDense(node.id, c.charValue())) {
+						sparseCount++;
+					}
 				}
-				Node node= root;
-				for (char c : searchString.toCharArray()) {
-					node= node.add(c);
+			}
+		}
+
+		fSparseStart= new int[stateCount + 1];
+		fSparseChars= new char[sparseCount];
+		fSparseTargets= new int[sparseCount];
+		fFail= new int[stateCount];
+		fOutput= new int[stateCount];
+		fDepth= new int[stateCount];
+		fMatch= new String[stateCount];
+		fHasChildren= new boolean[stateCount];
+
+		int sparse= 0;
+		for (Node node : nodes) {
+			int id= node.id;
+			fSparseStart[id]= sparse;
+			fFail[id]= node.fail == null ? 0 : node.fail.id;
+			fOutput[id]= node.output == null ? -1 : node.output.id;
+			fDepth[id]= node.depth;
+			fMatch[id]= node.match;
+			fHasChildren[id]= node.hasChildren();
+			if (node.hasChildren()) {
+				List<Character> chars= new ArrayList<>(node.children.keySet());
+				Collections.sort(chars);
+				for (Character c : chars) {
+					int target= node.children.get(c).id;
+					if (isDense(id, c.charValue())) {
+						fDense[id * DENSE_CHARS + c.charValue()]= target;
+					} else {
+						fSparseChars[sparse]= c.charValue();
+						fSparseTargets[sparse]= target;
+						sparse++;
+					}
 				}
-				node.match= searchString;
 			}
 		}
+		fSparseStart[stateCount]= sparse;
+	}
+
+	private boolean isDense(int state, char c) {
+		return c < DENSE_CHARS && state < fDenseStates;
 	}
 
-	private void buildLinks() {
+	private static void buildLinks(Node root) {
+		if (!root.hasChildren()) {
+			return;
+		}
 		// Build the fail and output links. See the paper referenced at the top; this
 		// is a one-to-one implementation of the original algorithm. Variable names
 		// s, r, and state are kept as in the paper.
@@ -277,6 +380,11 @@ public class MultiStringMatcher {
 				Node state= r.fail;
 				Node f;
 				while ((f= state.next(c)) == null) {
+					if (state == root) {
+						// The sentinel loop on the root node for all non-matching characters.
+						f= root;
+						break;
+					}
 					state= state.fail;
 				}
 				s.fail= f;
@@ -289,6 +397,46 @@ public class MultiStringMatcher {
 		}
 	}
 
+	/**
+	 * Returns the goto transition of the given state for the given character.
+	 *
+	 * @param state the state
+	 * @param c the character
+	 * @return the next state, or -1 if there is no transition
+	 */
+	private int transition(int state, char c) {
+		if (isDense(state, c)) {
+			return fDense[state * DENSE_CHARS + c];
+		}
+		int low= fSparseStart[state];
+		int high= fSparseStart[state + 1] - 1;
+		while (low <= high) {
+			int mid= (low + high) >>> 1;
+			char midChar= fSparseChars[mid];
+			if (midChar < c) {
+				low= mid + 1;
+			} else if (midChar > c) {
+				high= mid - 1;
+			} else {
+				return fSparseTargets[mid];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Like {@link #transition(int, char)}, but implements the sentinel loop on the root for all
+	 * non-matching characters.
+	 *
+	 * @param state the state
+	 * @param c the character
+	 * @return the next state, or -1 if there is no transition
+	 */
+	private int next(int state, char c) {
+		int next= transition(state, c);
+		return next < 0 && state == 0 ? 0 : next;
+	}
+
 	/**
 	 * Finds all occurrences of any of the search strings of the {@link MultiStringMatcher} in the
 	 * given {@code text} starting at the given {@code offset}, including overlapping occurrences.
@@ -300,23 +448,26 @@ public class MultiStringMatcher {
 	 * @since 3.10
 	 */
 	public void find(CharSequence text, int offset, Consumer<Match> matches) {
+		if (!fHasChildren[0]) {
+			return;
+		}
 		// Main search loop of the standard Aho-Corasick algorithm.
 		int textEnd= text.length();
-		Node node= root;
+		int state= 0;
 		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
-			Node next;
-			while ((next= node.next(c)) == null) {
-				node= node.fail;
+			char c= text.charAt(i);
+			int next;
+			while ((next= next(state, c)) < 0) {
+				state= fFail[state];
 			}
-			node= next;
-			if (node.match != null) {
-				matches.accept(new MatchResult(node.match, i - node.depth + 1));
+			state= next;
+			if (fMatch[state] != null) {
+				matches.accept(new MatchResult(fMatch[state], i - fDepth[state] + 1));
 			}
-			Node out= node.output;
-			while (out != null) {
-				matches.accept(new MatchResult(out.match, i - out.depth + 1));
-				out= out.output;
+			int out= fOutput[state];
+			while (out >= 0) {
+				matches.accept(new MatchResult(fMatch[out], i - fDepth[out] + 1));
+				out= fOutput[out];
 			}
 		}
 	}
@@ -335,6 +486,60 @@ public class MultiStringMatcher {
 		return matches;
 	}
 
+	/**
+	 * Finds the successive leftmost longest occurrences of any of the search strings of the
+	 * {@link MultiStringMatcher} in the given {@code text}, starting at the given {@code offset}.
+	 * These are the matches that repeated calls to {@link #indexOf(CharSequence, int)} would find
+	 * when each call starts at the end of the previous match; occurrences overlapping a previous
+	 * match are not reported.
+	 * <p>
+	 * Unlike the other find methods, this method does not create an object per match: only the
+	 * offsets of the matches are reported. Use {@link #matchAt(CharSequence, int)} to obtain the
+	 * string matched at a reported offset.
+	 * </p>
+	 *
+	 * @param text to search (not {@code null})
+	 * @param offset to start searching at
+	 * @param offsets {@link IntConsumer} the offsets of all matches are fed to, in ascending order
+	 * @since 3.14
+	 */
+	public void findAll(CharSequence text, int offset, IntConsumer offsets) {
+		if (!fHasChildren[0]) {
+			return;
+		}
+		long match;
+		while ((match= search(text, offset)) >= 0) {
+			int matchOffset= matchOffset(match);
+			offsets.accept(matchOffset);
+			offset= matchOffset + fDepth[matchState(match)];
+		}
+	}
+
+	/**
+	 * Returns the longest search string of the {@link MultiStringMatcher} that occurs in the given
+	 * {@code text} at the given {@code offset}.
+	 *
+	 * @param text to search (not {@code null})
+	 * @param offset the offset at which the search string must occur
+	 * @return the longest search string occurring at {@code offset}, or {@code null} if none does
+	 * @since 3.14
+	 */
+	public String matchAt(CharSequence text, int offset) {
+		int textEnd= text.length();
+		String match= null;
+		int state= 0;
+		for (int i= offset; i < textEnd; i++) {
+			state= transition(state, text.charAt(i));
+			if (state < 0) {
+				break;
+			}
+			if (fMatch[state] != null) {
+				match= fMatch[state];
+			}
+		}
+		return match;
+	}
+
 	/**
 	 * Find the next occurrence of any of the search strings of the {@link MultiStringMatcher} in
 	 * the given {@code text} starting at the given {@code offset}.
@@ -345,9 +550,28 @@ public class MultiStringMatcher {
 	 *
 	 * @param text to search (not {@code null})
 	 * @param offset to start searching at
-	 * @return the leftmost longest match found, or {@code null} if no match was found.
+	 * @return the leftmost longest match found, or {@code null} if no match was found.
 	 */
 	public Match indexOf(CharSequence text, int offset) {
+		if (!fHasChildren[0]) {
+			return null;
+		}
+		long match= search(text, offset);
+		if (match < 0) {
+			return null;
+		}
+		return new MatchResult(fMatch[matchState(match)], matchOffset(match));
+	}
+
+	/**
+	 * Finds the leftmost longest match, see {@link #indexOf(CharSequence, int)}.
+	 *
+	 * @param text to search (not {@code null})
+	 * @param offset to start searching at
+	 * @return the match offset in the upper and the matching state in the lower half, or -1 if no
+	 *         match was found
+	 */
+	long search(CharSequence text, int offset) {
 		// Main search loop of the Aho-Corasick algorithm, modified to stop after
 		// the leftmost longest match.
 		//
@@ -373,61 +597,90 @@ public class MultiStringMatcher {
 		// change to an alternate path but there's a sub-match with a lower offset, we also
 		// may return that. Otherwise we continue normally on the new path.
 		int textEnd= text.length();
-		Match primaryMatch= null;
-		Match subMatch= null;
-		Node node= root;
+		int primaryMatch= -1;
+		int primaryOffset= 0;
+		int subMatch= -1;
+		int subOffset= 0;
+		int state= 0;
 		for (int i= offset; i < textEnd; i++) {
-			Character c= Character.valueOf(text.charAt(i));
-			Node next= node.next(c);
-			if (next == null) {
+			char c= text.charAt(i);
+			int next= next(state, c);
+			if (next < 0) {
 				// Can't continue on this path.
-				if (primaryMatch != null) {
+				if (primaryMatch >= 0) {
 					// Return primary match because any other match must have a higher offset.
-					return primaryMatch;
+					return toMatch(primaryOffset, primaryMatch);
 				}
 				// Search for another path to continue matching.
 				do {
-					node= node.fail;
-				} while ((next= node.next(c)) == null);
-				if (subMatch != null) {
-					if (next == root) {
+					state= fFail[state];
+				} while ((next= next(state, c)) < 0);
+				if (subMatch >= 0) {
+					if (next == 0) {
 						// We fell off the trie and could not switch to another. Return the best
 						// sub-match.
-						return subMatch;
-					} else if (subMatch.getOffset() < i - node.depth) {
-						// The new path starts at i - node.depth == i - next.depth + 1, so if a
+						return toMatch(subOffset, subMatch);
+					} else if (subOffset < i - fDepth[state]) {
+						// The new path starts at i - depth(state) == i - depth(next) + 1, so if a
 						// sub-match is earlier, we may return it. Any primary match on this path
 						// or on any other path we might switch to later on will have a higher
 						// offset, and so will any sub-matches we might discover on these paths.
-						return subMatch;
+						return toMatch(subOffset, subMatch);
 					}
 				}
 			}
-			node= next;
-			if (node.match != null) {
+			state= next;
+			if (fMatch[state] != null) {
 				// Any new primary match is better because all have the same offset but any new one
 				// must be longer. An existing sub-match from a previous path is checked above.
-				primaryMatch= new MatchResult(node.match, i - node.depth + 1);
-				if (!node.hasChildren()) {
+				primaryMatch= state;
+				primaryOffset= i - fDepth[state] + 1;
+				if (!fHasChildren[state]) {
 					// We will fall off the trie on the next character, so we can return right here.
-					return primaryMatch;
+					return toMatch(primaryOffset, primaryMatch);
 				}
 			}
 			// Check for sub matches but only if there is no primary match because only another
 			// primary match can be better.
-			if (primaryMatch == null) {
-				Node out= node.output;
-				if (out != null) {
-					int newOffset= i - out.depth + 1;
-					if (subMatch == null
-							|| newOffset < subMatch.getOffset()
-							|| (newOffset == subMatch.getOffset() && out.depth > subMatch.getText().length())) {
-						subMatch= new MatchResult(out.match, newOffset);
+			if (primaryMatch < 0) {
+				int out= fOutput[state];
+				if (out >= 0) {
+					int newOffset= i - fDepth[out] + 1;
+					if (subMatch < 0
+							|| newOffset < subOffset
+							|| (newOffset == subOffset && fDepth[out] > fDepth[subMatch])) {
+						subMatch= out;
+						subOffset= newOffset;
 					}
 				}
 			}
 		}
-		return primaryMatch != null ? primaryMatch : subMatch;
+		if (primaryMatch >= 0) {
+			return toMatch(primaryOffset, primaryMatch);
+		}
+		return subMatch >= 0 ? toMatch(subOffset, subMatch) : -1;
+	}
+
+	private static long toMatch(int offset, int state) {
+		return (long) offset << 32 | state;
+	}
+
+	static int matchOffset(long match) {
+		return (int) (match >>> 32);
+	}
+
+	private static int matchState(long match) {
+		return (int) match;
+	}
+
+	/**
+	 * Returns the search string of a match found by {@link #search(CharSequence, int)}.
+	 *
+	 * @param match the match
+	 * @return the matched search string
+	 */
+	String matchText(long match) {
+		return fMatch[matchState(match)];
 	}
 
 	/**
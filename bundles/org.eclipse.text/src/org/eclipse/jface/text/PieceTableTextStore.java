@@ -0,0 +1,510 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * A piece table text store. The content is described by a sequence of <em>pieces</em>, each of
+ * which references a range of an immutable source buffer: either the string passed to
+ * {@link #set(String)} or an append-only buffer that receives all inserted text. The pieces are
+ * kept in a balanced binary tree (a treap) that is ordered by document offset and augmented with
+ * the subtree lengths.
+ * <p>
+ * Unlike {@link GapTextStore}, this store never copies or moves the existing content: a
+ * {@link #set(String) set} just references the given string, and a change only splits and links
+ * pieces. This makes it suitable for very large documents with scattered changes.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> Let <var>p</var> be the number of pieces, which grows with the
+ * number of non-contiguous changes since the last {@link #set(String) set}.
+ * {@link #replace(int, int, String) replace} performs in expected <i>O(log p + t)</i> where
+ * <var>t</var> is the length of the inserted text; consecutive typing at the same location extends
+ * the last piece instead of creating new ones. {@link #get(int)} performs in <i>O(log p)</i>, and
+ * in <i>O(1)</i> for offsets that fall into the piece of the previous access.
+ * {@link #get(int, int, char[], int) get(int, <var>length</var>, char[], int)} performs in
+ * <i>O(log p + length)</i> and does not allocate.
+ * </p>
+ * <p>
+ * {@link #createSnapshot()} returns an immutable view of the current content in <i>O(1)</i>. The
+ * snapshot shares the piece tree with the store; the store copies the nodes on the path of a change
+ * instead of modifying nodes that a snapshot may see, so the first changes after a snapshot cost
+ * <i>O(log p)</i> additional node copies.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.14
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTableTextStore implements ITextStore {
+
+	/**
+	 * A node of the piece tree. A node describes exactly one piece, which is backed either by a
+	 * string or by a chunk of the add buffer. A node may only be modified by the store if the node
+	 * is owned by the store's current generation, see {@link PieceTableTextStore#own(Node)}.
+	 */
+	private static final class Node {
+		/** The string backing this piece, or <code>null</code> if backed by a chunk */
+		final String fString;
+		/** The add buffer chunk backing this piece, or <code>null</code> if backed by a string */
+		final char[] fChunk;
+		/** The start of the piece in its backing buffer */
+		final int fStart;
+		/** The length of the piece */
+		int fLength;
+		/** The total length of all pieces in the subtree rooted at this node */
+		int fSize;
+		/** The heap priority of this node */
+		final int fPriority;
+		/** The generation that created this node */
+		final Object fOwner;
+		Node fLeft;
+		Node fRight;
+
+		Node(String string, char[] chunk, int start, int length, int priority, Object owner) {
+			fString= string;
+			fChunk= chunk;
+			fStart= start;
+			fLength= length;
+			fSize= length;
+			fPriority= priority;
+			fOwner= owner;
+		}
+
+		char charAt(int index) {
+			return fChunk != null ? fChunk[fStart + index] : fString.charAt(fStart + index);
+		}
+
+		void getChars(int from, int to, char[] dest, int destPos) {
+			if (fChunk != null)
+				System.arraycopy(fChunk, fStart + from, dest, destPos, to - from);
+			else
+				fString.getChars(fStart + from, fStart + to, dest, destPos);
+		}
+	}
+
+	/**
+	 * An immutable view of the piece tree at the time of its creation.
+	 */
+	private static final class Snapshot implements ITextStore {
+
+		/** The piece tree, never modified */
+		private final Node fRoot;
+
+		Snapshot(Node root) {
+			fRoot= root;
+		}
+
+		@Override
+		public char get(int offset) {
+			Node node= fRoot;
+			int base= 0;
+			while (node != null) {
+				int leftSize= size(node.fLeft);
+				int index= offset - base - leftSize;
+				if (index < 0) {
+					node= node.fLeft;
+				} else if (index < node.fLength) {
+					return node.charAt(index);
+				} else {
+					base+= leftSize + node.fLength;
+					node= node.fRight;
+				}
+			}
+			throw new IndexOutOfBoundsException(Integer.toString(offset));
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			char[] result= new char[length];
+			get(offset, length, result, 0);
+			return new String(result);
+		}
+
+		@Override
+		public void get(int offset, int length, char[] dest, int destPos) {
+			if (offset < 0 || length < 0 || offset + length > getLength())
+				throw new IndexOutOfBoundsException();
+			if (length > 0)
+				copy(fRoot, 0, offset, offset + length, dest, destPos - offset);
+		}
+
+		@Override
+		public int getLength() {
+			return size(fRoot);
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			// modification not supported
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			// modification not supported
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/** The size of the chunks of the add buffer. */
+	private static final int CHUNK_SIZE= 16 * 1024;
+	/**
+	 * Inserted text longer than this is referenced directly instead of being copied into the add
+	 * buffer.
+	 */
+	private static final int DIRECT_REFERENCE_LIMIT= CHUNK_SIZE / 4;
+
+	/** The root of the piece tree, <code>null</code> if the store is empty. */
+	private Node fRoot;
+	/** The add buffer chunk currently being filled, <code>null</code> if none */
+	private char[] fChunk;
+	/** The number of used characters in {@link #fChunk} */
+	private int fChunkLength;
+	/** The state of the priority generator */
+	private int fSeed= 0x2545F491;
+	/**
+	 * The current generation. Nodes of older generations may be shared with snapshots and are
+	 * copied instead of modified.
+	 */
+	private Object fOwner= new Object();
+
+	/** The node of the previous single character access, <code>null</code> if invalid */
+	private Node fCachedNode;
+	/** The document offset of {@link #fCachedNode} */
+	private int fCachedNodeOffset;
+
+	/** The left result of the last {@link #split(Node, int)} */
+	private Node fSplitLeft;
+	/** The right result of the last {@link #split(Node, int)} */
+	private Node fSplitRight;
+
+	/**
+	 * Creates a new empty piece table text store.
+	 */
+	public PieceTableTextStore() {
+	}
+
+	@Override
+	public char get(int offset) {
+		Node cached= fCachedNode;
+		if (cached != null) {
+			int index= offset - fCachedNodeOffset;
+			if (index >= 0 && index < cached.fLength)
+				return cached.charAt(index);
+		}
+
+		Node node= fRoot;
+		int base= 0;
+		while (node != null) {
+			int leftSize= size(node.fLeft);
+			int index= offset - base - leftSize;
+			if (index < 0) {
+				node= node.fLeft;
+			} else if (index < node.fLength) {
+				fCachedNode= node;
+				fCachedNodeOffset= base + leftSize;
+				return node.charAt(index);
+			} else {
+				base+= leftSize + node.fLength;
+				node= node.fRight;
+			}
+		}
+		throw new IndexOutOfBoundsException(Integer.toString(offset));
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		Node node= findNode(offset, length);
+		if (node != null && node.fString != null) {
+			int start= node.fStart + offset - fCachedNodeOffset;
+			return node.fString.substring(start, start + length);
+		}
+
+		char[] result= new char[length];
+		get(offset, length, result, 0);
+		return new String(result);
+	}
+
+	@Override
+	public void get(int offset, int length, char[] dest, int destPos) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length > 0)
+			copy(fRoot, 0, offset, offset + length, dest, destPos - offset);
+	}
+
+	@Override
+	public int getLength() {
+		return size(fRoot);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+
+		fCachedNode= null;
+
+		split(fRoot, offset);
+		Node before= fSplitLeft;
+		split(fSplitRight, length);
+		Node after= fSplitRight;
+		fSplitLeft= null;
+		fSplitRight= null;
+
+		int textLength= text == null ? 0 : text.length();
+		if (textLength > 0)
+			before= append(before, text, textLength);
+
+		fRoot= merge(before, after);
+	}
+
+	@Override
+	public void set(String text) {
+		fCachedNode= null;
+		fChunk= null;
+		fChunkLength= 0;
+		if (text == null || text.isEmpty())
+			fRoot= null;
+		else
+			fRoot= new Node(text, null, 0, text.length(), nextPriority(), fOwner);
+	}
+
+	/**
+	 * Returns an immutable text store with the current content of this store. The snapshot is not
+	 * affected by subsequent changes to this store, and it may be read concurrently by any number
+	 * of threads. Trying to modify the snapshot throws an
+	 * <code>UnsupportedOperationException</code>.
+	 *
+	 * @return a snapshot of the current content
+	 */
+	public ITextStore createSnapshot() {
+		// all existing nodes now belong to the snapshot
+		fOwner= new Object();
+		return new Snapshot(fRoot);
+	}
+
+	/**
+	 * Returns the given node if it belongs to the current generation, or a copy of it that does.
+	 *
+	 * @param node the node to modify
+	 * @return a node with the same content that may be modified
+	 */
+	private Node own(Node node) {
+		if (node.fOwner == fOwner)
+			return node;
+		Node copy= new Node(node.fString, node.fChunk, node.fStart, node.fLength, node.fPriority, fOwner);
+		copy.fSize= node.fSize;
+		copy.fLeft= node.fLeft;
+		copy.fRight= node.fRight;
+		return copy;
+	}
+
+	/**
+	 * Appends the given text to the end of the given tree, extending the last piece of the tree
+	 * if it ends where the text is put in the add buffer.
+	 *
+	 * @param tree the tree to append to, may be <code>null</code>
+	 * @param text the text to append
+	 * @param textLength the length of <code>text</code>
+	 * @return the new root of the tree
+	 */
+	private Node append(Node tree, String text, int textLength) {
+		if (textLength > DIRECT_REFERENCE_LIMIT)
+			return merge(tree, new Node(text, null, 0, textLength, nextPriority(), fOwner));
+
+		if (fChunk == null || fChunkLength + textLength > fChunk.length) {
+			fChunk= new char[CHUNK_SIZE];
+			fChunkLength= 0;
+		}
+		int start= fChunkLength;
+		text.getChars(0, textLength, fChunk, start);
+		fChunkLength+= textLength;
+
+		Node last= tree;
+		if (last != null) {
+			while (last.fRight != null)
+				last= last.fRight;
+			if (last.fChunk == fChunk && last.fStart + last.fLength == start) {
+				// typing case: grow the last piece and the sizes along the right spine
+				tree= own(tree);
+				for (Node node= tree;; node= node.fRight) {
+					node.fSize+= textLength;
+					if (node.fRight == null) {
+						node.fLength+= textLength;
+						break;
+					}
+					node.fRight= own(node.fRight);
+				}
+				return tree;
+			}
+		}
+		return merge(tree, new Node(null, fChunk, start, textLength, nextPriority(), fOwner));
+	}
+
+	/**
+	 * Finds the node whose piece contains the given range and caches it, see
+	 * {@link #fCachedNode}.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the node containing the range, or <code>null</code> if the range spans more than one
+	 *         piece
+	 */
+	private Node findNode(int offset, int length) {
+		Node node= fRoot;
+		int base= 0;
+		while (node != null) {
+			int leftSize= size(node.fLeft);
+			int index= offset - base - leftSize;
+			if (index < 0) {
+				node= node.fLeft;
+			} else if (index < node.fLength) {
+				if (index + length > node.fLength)
+					return null;
+				fCachedNode= node;
+				fCachedNodeOffset= base + leftSize;
+				return node;
+			} else {
+				base+= leftSize + node.fLength;
+				node= node.fRight;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Copies the characters in <code>[from, to)</code> of the given subtree into
+	 * <code>dest</code>, visiting only the nodes that overlap the range.
+	 *
+	 * @param node the root of the subtree, may be <code>null</code>
+	 * @param base the document offset of the subtree
+	 * @param from the start document offset of the range to copy
+	 * @param to the end document offset of the range to copy
+	 * @param dest the destination array
+	 * @param delta the difference between a destination index and its document offset
+	 */
+	private static void copy(Node node, int base, int from, int to, char[] dest, int delta) {
+		while (node != null && from < to) {
+			int pieceStart= base + size(node.fLeft);
+			int pieceEnd= pieceStart + node.fLength;
+			if (from < pieceStart)
+				copy(node.fLeft, base, from, Math.min(to, pieceStart), dest, delta);
+			int start= Math.max(from, pieceStart);
+			int end= Math.min(to, pieceEnd);
+			if (start < end)
+				node.getChars(start - pieceStart, end - pieceStart, dest, start + delta);
+			if (to <= pieceEnd)
+				return;
+			// tail iteration for the right subtree
+			from= Math.max(from, pieceEnd);
+			base= pieceEnd;
+			node= node.fRight;
+		}
+	}
+
+	/**
+	 * Splits the given tree such that {@link #fSplitLeft} contains the first <code>offset</code>
+	 * characters and {@link #fSplitRight} the remainder. A piece containing the split offset is
+	 * divided into two pieces.
+	 *
+	 * @param node the root of the tree to split, may be <code>null</code>
+	 * @param offset the split offset relative to the start of the tree
+	 */
+	private void split(Node node, int offset) {
+		if (node == null) {
+			fSplitLeft= null;
+			fSplitRight= null;
+			return;
+		}
+
+		node= own(node);
+		int leftSize= size(node.fLeft);
+		if (offset <= leftSize) {
+			split(node.fLeft, offset);
+			node.fLeft= fSplitRight;
+			update(node);
+			fSplitRight= node;
+		} else if (offset >= leftSize + node.fLength) {
+			split(node.fRight, offset - leftSize - node.fLength);
+			node.fRight= fSplitLeft;
+			update(node);
+			fSplitLeft= node;
+		} else {
+			int cut= offset - leftSize;
+			// the tail inherits the priority so that it may take over the right subtree
+			Node tail= new Node(node.fString, node.fChunk, node.fStart + cut, node.fLength - cut, node.fPriority, fOwner);
+			tail.fRight= node.fRight;
+			update(tail);
+			node.fRight= null;
+			node.fLength= cut;
+			update(node);
+			fSplitLeft= node;
+			fSplitRight= tail;
+		}
+	}
+
+	/**
+	 * Concatenates two trees.
+	 *
+	 * @param left the tree with the leading content, may be <code>null</code>
+	 * @param right the tree with the trailing content, may be <code>null</code>
+	 * @return the root of the concatenated tree
+	 */
+	private Node merge(Node left, Node right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+
+		if (left.fPriority >= right.fPriority) {
+			left= own(left);
+			left.fRight= merge(left.fRight, right);
+			update(left);
+			return left;
+		}
+		right= own(right);
+		right.fLeft= merge(left, right.fLeft);
+		update(right);
+		return right;
+	}
+
+	private static void update(Node node) {
+		node.fSize= size(node.fLeft) + node.fLength + size(node.fRight);
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.fSize;
+	}
+
+	/**
+	 * Returns the next pseudo-random node priority (xorshift).
+	 *
+	 * @return the next priority
+	 */
+	private int nextPriority() {
+		int x= fSeed;
+		x^= x << 13;
+		x^= x >>> 17;
+		x^= x << 5;
+		fSeed= x;
+		return x;
+	}
+}
@@ -54,6 +54,16 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * Every line start inside a partition is a checkpoint at which the scanner
+ * can be resumed, see {@link IPartitionTokenScanner#setPartialRange(IDocument, int, int, String, int)}.
+ * When a change lies inside a partition, the partitioner first rescans the
+ * changed lines from the checkpoint before the change. If the scanner is still
+ * inside the same partition at the checkpoint after the change, the partitioning
+ * has converged with the previous one and the rest of the partition is not
+ * rescanned. This keeps typing inside very long partitions, e.g. an unterminated
+ * comment, independent of the partition's length.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -306,9 +316,12 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			int newLength= e.getText() == null ? 0 : e.getText().length();
 
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
+			TypedPosition resumePartition= null;
 			if (first > 0)	{
 				TypedPosition partition= (TypedPosition) category[first - 1];
 				if (partition.includes(reparseStart)) {
+					if (partition.getOffset() < reparseStart && e.getOffset() + e.getLength() < partition.getOffset() + partition.getLength())
+						resumePartition= partition;
 					partitionStart= partition.getOffset();
 					contentType= partition.getType();
 					reparseStart= partitionStart;
@@ -338,6 +351,9 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			clearPositionCache();
 			category= getPositions();
 
+			if (resumePartition != null && isConverged(resumePartition, line.getOffset(), e.getOffset() + newLength))
+				return createRegion();
+
 			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
 			int behindLastScannedPosition= reparseStart;
@@ -414,6 +430,43 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		return createRegion();
 	}
 
+	/**
+	 * Tells whether the partitioning is unchanged after a change inside the given partition. The
+	 * changed lines are rescanned from the checkpoint at the given line offset up to the line
+	 * behind the checkpoint that follows the change. The partitioning has converged if the scanner
+	 * either ends the partition where it ended before, or is still inside the partition at that
+	 * checkpoint: from there on the text and the scanner state are the same as before the change.
+	 *
+	 * @param partition the partition containing the change, already updated to the change
+	 * @param resumeOffset the offset of the line containing the change's offset, must be inside
+	 *            the partition
+	 * @param changeEnd the offset behind the changed text
+	 * @return <code>true</code> if the partitioning did not change
+	 * @throws BadLocationException if the offsets are invalid in the document
+	 */
+	private boolean isConverged(TypedPosition partition, int resumeOffset, int changeEnd) throws BadLocationException {
+		if (partition.isDeleted() || partition.getOffset() >= resumeOffset)
+			return false;
+
+		int partitionEnd= partition.getOffset() + partition.getLength();
+		int documentLength= fDocument.getLength();
+		int lines= fDocument.getNumberOfLines();
+		int line= fDocument.getLineOfOffset(changeEnd);
+		int checkpoint= line + 1 < lines ? fDocument.getLineOffset(line + 1) : -1;
+		int scanEnd= line + 2 < lines ? fDocument.getLineOffset(line + 2) : documentLength;
+
+		fScanner.setPartialRange(fDocument, resumeOffset, scanEnd - resumeOffset, partition.getType(), partition.getOffset());
+		IToken token= fScanner.nextToken();
+		if (token.isEOF() || !partition.getType().equals(getTokenContentType(token)) || fScanner.getTokenOffset() != partition.getOffset())
+			return false;
+
+		int tokenEnd= fScanner.getTokenOffset() + fScanner.getTokenLength();
+		if (checkpoint != -1 && checkpoint < partitionEnd && tokenEnd > checkpoint)
+			return true;
+		// the partition ends where it ended before, unless the scan was cut off at its range
+		return tokenEnd == partitionEnd && (tokenEnd < scanEnd || scanEnd == documentLength);
+	}
+
 	/**
 	 * Returns the position in the partitoner's position category which is
 	 * close to the given offset. This is, the position has either an offset which
@@ -15,6 +15,8 @@
 package org.eclipse.jface.text.rules;
 
 
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -30,6 +32,9 @@ import org.eclipse.jface.text.IDocument;
  * which returns <code>true</code> when calling <code>isOther</code>, unless the end
  * of the file is reached. In this case the token returns <code>true</code> when calling
  * <code>isEOF</code>.
+ * <p>
+ * The rules can be compiled into a table, see {@link #setRulesCompiled(boolean)}.
+ * </p>
  *
  * Originally since unknown version, but moved to org.eclipse.text in 3.14
  *
@@ -56,6 +61,27 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 	protected int fColumn;
 	/** Internal setting for the un-initialized column cache. */
 	protected static final int UNDEFINED= -1;
+	/**
+	 * The number of characters covered by the compiled rule table.
+	 * @since 3.14
+	 */
+	private static final int RULE_TABLE_SIZE= 128;
+	/**
+	 * Tells whether the rules are compiled into {@link #fRuleTable}.
+	 * @since 3.14
+	 */
+	private boolean fRulesCompiled= false;
+	/**
+	 * Tells for each character and rule whether the rule may match a token starting with the
+	 * character, or <code>null</code> if not computed.
+	 * @since 3.14
+	 */
+	private boolean[][] fRuleTable;
+	/**
+	 * The rules from which {@link #fRuleTable} has been computed.
+	 * @since 3.14
+	 */
+	private IRule[] fRuleTableRules;
 
 	/**
 	 * Creates a new rule based scanner which does not have any rule.
@@ -76,6 +102,29 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 			fRules= null;
 	}
 
+	/**
+	 * Configures whether the rules of this scanner are compiled into a table which tells, for each
+	 * ASCII character, which rules may match a token starting with that character. The next token
+	 * is then only evaluated against these rules, in their original order, instead of against all
+	 * rules. Tokens starting with other characters are still evaluated against all rules.
+	 * <p>
+	 * The first characters are known for instances of {@link PatternRule},
+	 * {@link SingleLineRule}, {@link MultiLineRule}, {@link EndOfLineRule}, {@link WordRule},
+	 * {@link NumberRule} and {@link WhitespaceRule}; subclasses of these and other rules are
+	 * always evaluated. The word and whitespace detectors are asked once per character when the
+	 * table is computed and must therefore not change their answers afterwards.
+	 * </p>
+	 *
+	 * @param compiled <code>true</code> to compile the rules, <code>false</code> to evaluate
+	 *            all rules for each token, which is the default
+	 * @since 3.14
+	 */
+	public void setRulesCompiled(boolean compiled) {
+		fRulesCompiled= compiled;
+		fRuleTable= null;
+		fRuleTableRules= null;
+	}
+
 	/**
 	 * Configures the scanner's default return token. This is the token
 	 * which is returned when none of the rules fired and EOF has not been
@@ -164,8 +213,22 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		fColumn= UNDEFINED;
 
 		if (fRules != null) {
-			for (IRule fRule : fRules) {
-				IToken token= (fRule.evaluate(this));
+			boolean[] candidates= null;
+			if (fRulesCompiled) {
+				if (fRuleTableRules != fRules) {
+					fRuleTable= compileRules(fRules);
+					fRuleTableRules= fRules;
+				}
+				int c= read();
+				unread();
+				if (c >= 0 && c < RULE_TABLE_SIZE)
+					candidates= fRuleTable[c];
+			}
+			for (int i= 0; i < fRules.length; i++) {
+				// a rule which did not restore the scanner position leaves the next rules with another character
+				if (candidates != null && !candidates[i] && fOffset == fTokenOffset)
+					continue;
+				IToken token= (fRules[i].evaluate(this));
 				if (!token.isUndefined())
 					return token;
 			}
@@ -176,6 +239,46 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		return fDefaultReturnToken;
 	}
 
+	/**
+	 * Computes the rules that may match a token starting with a given character.
+	 *
+	 * @param rules the rules to compile
+	 * @return whether a rule may match, by character and rule
+	 * @since 3.14
+	 */
+	private static boolean[][] compileRules(IRule[] rules) {
+		boolean[][] table= new boolean[RULE_TABLE_SIZE][];
+		for (char c= 0; c < RULE_TABLE_SIZE; c++) {
+			boolean[] candidates= new boolean[rules.length];
+			for (int i= 0; i < rules.length; i++)
+				candidates[i]= mayStartWith(rules[i], c);
+			table[c]= c > 0 && Arrays.equals(candidates, table[c - 1]) ? table[c - 1] : candidates;
+		}
+		return table;
+	}
+
+	/**
+	 * Tells whether the given rule may match a token starting with the given character. A rule
+	 * that does not match the first character reads at most that character and unreads it.
+	 *
+	 * @param rule the rule
+	 * @param c the first character of the token
+	 * @return <code>false</code> if the rule never matches, <code>true</code> if it may match
+	 * @since 3.14
+	 */
+	private static boolean mayStartWith(IRule rule, char c) {
+		Class<?> type= rule.getClass();
+		if (type == PatternRule.class || type == SingleLineRule.class || type == MultiLineRule.class || type == EndOfLineRule.class)
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		if (type == WordRule.class)
+			return ((WordRule) rule).fDetector.isWordStart(c);
+		if (type == NumberRule.class)
+			return Character.isDigit(c);
+		if (type == WhitespaceRule.class)
+			return ((WhitespaceRule) rule).fDetector.isWhitespace(c);
+		return true;
+	}
+
 	@Override
 	public int read() {
 
@@ -105,6 +105,24 @@ public abstract class TextEdit {
 	 */
 	public static final int UPDATE_REGIONS= 1 << 1;
 
+	/**
+	 * Flag indicating that the children of a flat edit tree may be applied to the
+	 * document as one single change that spans from the first to the last child.
+	 * The new content is then computed in one pass over the affected text instead
+	 * of changing the document once per child, which keeps applying trees with very
+	 * many children linear in the size of the affected text.
+	 * <p>
+	 * Positions of the document are updated as for any other single change. In
+	 * particular positions between two children are not preserved. The flag is only
+	 * honored if the root is a {@link MultiTextEdit} whose children are all {@link
+	 * ReplaceEdit}s, {@link InsertEdit}s or {@link DeleteEdit}s without children.
+	 * Otherwise it is ignored.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	public static final int COALESCE_CHANGES= 1 << 2;
+
 	private static class InsertionComparator implements Comparator<TextEdit> {
 		@Override
 		public int compare(TextEdit edit1, TextEdit edit2) throws MalformedTreeException {
@@ -695,7 +713,8 @@ public abstract class TextEdit {
 	 *
 	 * @param document the document to be manipulated
 	 * @param style flags controlling the execution of the edit tree. Valid
-	 *  flags are: <code>CREATE_UNDO</code> and <code>UPDATE_REGIONS</code>.
+	 *  flags are: <code>CREATE_UNDO</code>, <code>UPDATE_REGIONS</code> and
+	 *  <code>COALESCE_CHANGES</code>.
 	 * @return a undo edit, if <code>CREATE_UNDO</code> is specified. Otherwise
 	 *  <code>null</code> is returned.
 	 *
@@ -55,7 +55,8 @@ public class TextEditProcessor {
 	 *  text edit processors. Clients must not modify the edit
 	 *  (e.g adding new children) any longer.
 	 *
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or a combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#COALESCE_CHANGES}
 	 */
 	public TextEditProcessor(IDocument document, TextEdit root, int style) {
 		this(document, root, style, false);
@@ -113,6 +114,7 @@ public class TextEditProcessor {
 	 * @return the style bits
 	 * @see TextEdit#CREATE_UNDO
 	 * @see TextEdit#UPDATE_REGIONS
+	 * @see TextEdit#COALESCE_CHANGES
 	 */
 	public int getStyle() {
 		return fStyle;
@@ -188,6 +190,8 @@ public class TextEditProcessor {
 	//---- execution --------------------------------------------------------------------
 
 	UndoEdit executeDo() throws BadLocationException {
+		if (coalesceChanges() && canCoalesce())
+			return executeCoalesced();
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
@@ -203,6 +207,109 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Tells whether the root is a plain multi-text edit whose children can be applied
+	 * as one single document change.
+	 *
+	 * @return <code>true</code> if the edit tree can be executed coalesced
+	 */
+	private boolean canCoalesce() {
+		if (fRoot.getClass() != MultiTextEdit.class || !considerEdit(fRoot))
+			return false;
+		List<TextEdit> children= fRoot.internalGetChildren();
+		if (children == null || children.isEmpty())
+			return false;
+		for (TextEdit child : children) {
+			if (!(child instanceof ReplaceEdit || child instanceof InsertEdit || child instanceof DeleteEdit))
+				return false;
+			if (child.hasChildren() || !considerEdit(child))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Executes the children of the root as one single document change. The new text
+	 * and the undo edit are computed in one pass over the children. The result is the
+	 * same as the one of {@link #executeDo()}, except that the document receives only
+	 * one change.
+	 *
+	 * @return the undo edit or <code>null</code>
+	 * @throws BadLocationException if the document can't be changed
+	 */
+	private UndoEdit executeCoalesced() throws BadLocationException {
+		List<TextEdit> children= fRoot.internalGetChildren();
+		int size= children.size();
+		int start= children.get(0).getOffset();
+		int end= children.get(size - 1).getExclusiveEnd();
+		String current= fDocument.get(start, end - start);
+
+		int[] deltas= new int[size];
+		int delta= 0;
+		for (int i= 0; i < size; i++) {
+			TextEdit child= children.get(i);
+			deltas[i]= getText(child).length() - child.getLength();
+			delta+= deltas[i];
+		}
+
+		StringBuilder buffer= new StringBuilder(current.length() + delta);
+		ReplaceEdit[] undoEdits= createUndo() ? new ReplaceEdit[size] : null;
+		String lastCurrentText= null;
+		int position= 0;
+		for (int i= 0; i < size; i++) {
+			TextEdit child= children.get(i);
+			int offset= child.getOffset() - start;
+			int length= child.getLength();
+			String text= getText(child);
+			buffer.append(current, position, offset);
+			buffer.append(text);
+			position= offset + length;
+			if (undoEdits != null) {
+				// share equal strings as UndoCollector does
+				String currentText= current.substring(offset, position);
+				if (lastCurrentText != null && lastCurrentText.equals(currentText))
+					currentText= lastCurrentText;
+				else
+					lastCurrentText= currentText;
+				// same order as recorded when executing the children from last to first
+				undoEdits[size - 1 - i]= new ReplaceEdit(child.getOffset(), text.length(), currentText);
+			}
+		}
+		buffer.append(current, position, current.length());
+
+		UndoEdit undo= null;
+		if (undoEdits != null) {
+			undo= new UndoEdit();
+			for (ReplaceEdit undoEdit : undoEdits)
+				undo.add(undoEdit);
+			undo.defineRegion(fRoot.getOffset(), fRoot.getLength() + delta);
+		}
+
+		fDocument.replace(start, end - start, buffer.toString());
+
+		for (int i= 0; i < size; i++) {
+			TextEdit child= children.get(i);
+			child.fDelta= deltas[i];
+			if (deltas[i] != 0)
+				child.adjustLength(deltas[i]);
+		}
+		fRoot.performDocumentUpdating(fDocument);
+		if (delta != 0)
+			fRoot.adjustLength(delta);
+		if (updateRegions()) {
+			fRoot.traverseRegionUpdating(this, fDocument, 0, false);
+		}
+		return undo;
+	}
+
+	private static String getText(TextEdit edit) {
+		if (edit instanceof ReplaceEdit)
+			return ((ReplaceEdit) edit).getText();
+		if (edit instanceof InsertEdit)
+			return ((InsertEdit) edit).getText();
+		return ""; //$NON-NLS-1$
+	}
+
 	private void computeSources() {
 		for (List<TextEdit> list : fSourceEdits) {
 			if (list != null) {
@@ -235,4 +342,8 @@ public class TextEditProcessor {
 	private boolean updateRegions() {
 		return (fStyle & TextEdit.UPDATE_REGIONS) != 0;
 	}
+
+	private boolean coalesceChanges() {
+		return (fStyle & TextEdit.COALESCE_CHANGES) != 0;
+	}
 }
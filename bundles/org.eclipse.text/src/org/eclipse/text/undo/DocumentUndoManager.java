@@ -91,6 +91,17 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The replaced text. */
 		protected String fPreservedText;
 
+		/**
+		 * The handle of the texts in the undo manager's history text store, or <code>-1</code> if
+		 * the texts are held by {@link #fText} and {@link #fPreservedText}.
+		 */
+		int fStoreHandle= -1;
+
+		/**
+		 * The length of the newly inserted text if the texts are held by the history text store.
+		 */
+		int fTextLength;
+
 		/** The undo modification stamp. */
 		protected long fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 
@@ -115,6 +126,10 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * Re-initializes this text change.
 		 */
 		protected void reinitialize() {
+			if (fStoreHandle != -1) {
+				fDocumentUndoManager.fTextStore.remove(fStoreHandle);
+				fStoreHandle= -1;
+			}
 			fStart= fEnd= -1;
 			fText= fPreservedText= null;
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
@@ -139,17 +154,76 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			reinitialize();
 		}
 
+		/**
+		 * Returns the newly inserted text.
+		 *
+		 * @return the newly inserted text
+		 */
+		String getText() {
+			if (fStoreHandle != -1)
+				return fDocumentUndoManager.fTextStore.get(fStoreHandle, 0, fTextLength);
+			return fText;
+		}
+
+		/**
+		 * Returns the replaced text.
+		 *
+		 * @return the replaced text
+		 */
+		String getPreservedText() {
+			if (fStoreHandle != -1)
+				return fDocumentUndoManager.fTextStore.get(fStoreHandle, fTextLength, fDocumentUndoManager.fTextStore.getEntryLength(fStoreHandle));
+			return fPreservedText;
+		}
+
+		/**
+		 * Moves the texts of this change into the undo manager's history text store.
+		 */
+		void pack() {
+			if (fStoreHandle == -1 && fText != null && fPreservedText != null) {
+				int handle= fDocumentUndoManager.fTextStore.add(fText, fPreservedText);
+				if (handle != -1) {
+					fStoreHandle= handle;
+					fTextLength= fText.length();
+					fText= fPreservedText= null;
+				}
+			}
+		}
+
+		/**
+		 * Moves the texts of this change out of the undo manager's history text store.
+		 */
+		void unpack() {
+			if (fStoreHandle != -1) {
+				fText= getText();
+				fPreservedText= getPreservedText();
+				fDocumentUndoManager.fTextStore.remove(fStoreHandle);
+				fStoreHandle= -1;
+			}
+		}
+
+		/**
+		 * Assigns this change to the given undo manager.
+		 *
+		 * @param manager the new undo manager for this change
+		 */
+		void transfer(DocumentUndoManager manager) {
+			unpack();
+			fDocumentUndoManager= manager;
+			pack();
+		}
+
 		/**
 		 * Undo the change described by this change.
 		 */
 		protected void undoTextChange() {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fText
-							.length(), fPreservedText, fUndoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, getTextLength(),
+							getPreservedText(), fUndoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fText.length(),
-							fPreservedText);
+					fDocumentUndoManager.fDocument.replace(fStart, getTextLength(),
+							getPreservedText());
 				}
 			} catch (BadLocationException x) {
 			}
@@ -258,10 +332,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
 				undoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.UNDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.UNDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -273,9 +349,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void redoTextChange() {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, fText, fRedoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, getText(), fRedoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, fText);
+					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, getText());
 				}
 			} catch (BadLocationException x) {
 			}
@@ -292,10 +368,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
 				redoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.REDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.REDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -310,6 +388,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fDocumentUndoManager.fTextBuffer.setLength(0);
 			fPreservedText= fDocumentUndoManager.fPreservedTextBuffer.toString();
 			fDocumentUndoManager.fPreservedTextBuffer.setLength(0);
+			pack();
 		}
 
 		/**
@@ -375,7 +454,16 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			return fStart > -1 && fEnd > -1 && (fText != null || fStoreHandle != -1);
+		}
+
+		/**
+		 * Returns the length of the newly inserted text.
+		 *
+		 * @return the length of the newly inserted text
+		 */
+		int getTextLength() {
+			return fStoreHandle != -1 ? fTextLength : fText.length();
 		}
 
 		@Override
@@ -395,11 +483,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			text.append(fEnd);
 			text.append(delimiter);
 			text.append("text: '"); //$NON-NLS-1$
-			text.append(fText);
+			text.append(getText());
 			text.append('\'');
 			text.append(delimiter);
 			text.append("preservedText: '"); //$NON-NLS-1$
-			text.append(fPreservedText);
+			text.append(getPreservedText());
 			text.append('\'');
 			return text.toString();
 		}
@@ -459,7 +547,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -477,7 +565,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo,
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo,
 						DocumentUndoEvent.UNDONE, size > 1);
 			}
 			return Status.OK_STATUS;
@@ -491,7 +579,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -509,7 +597,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.REDONE, size > 1);
 			}
 
 			return Status.OK_STATUS;
@@ -526,11 +614,14 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			c.fEnd= fEnd;
 			c.fText= fText;
 			c.fPreservedText= fPreservedText;
+			c.fStoreHandle= fStoreHandle;
+			c.fTextLength= fTextLength;
 			c.fUndoModificationStamp= fUndoModificationStamp;
 			c.fRedoModificationStamp= fRedoModificationStamp;
 			add(c);
 
-			// clear out all indexes now that the child is added
+			// clear out all indexes now that the child is added and owns the stored texts
+			fStoreHandle= -1;
 			reinitialize();
 		}
 
@@ -560,6 +651,23 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			return fStart > -1 || !fChanges.isEmpty();
 		}
 
+		@Override
+		public void dispose() {
+			for (UndoableTextChange c : fChanges) {
+				c.dispose();
+			}
+			fChanges.clear();
+			super.dispose();
+		}
+
+		@Override
+		void transfer(DocumentUndoManager manager) {
+			for (UndoableTextChange c : fChanges) {
+				c.transfer(manager);
+			}
+			super.transfer(manager);
+		}
+
 		@Override
 		protected long getUndoModificationStamp() {
 			if (fStart > -1) {
@@ -773,6 +881,16 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The store holding the texts of the committed changes.
+	 */
+	private final HistoryTextStore fTextStore= new HistoryTextStore();
+
+	/**
+	 * The maximal size of the history in bytes, <code>0</code> if the size is not limited.
+	 */
+	private long fMaximalHistorySize;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -816,6 +934,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 		}
 		fCurrent.commit();
+		enforceMaximalHistorySize();
 	}
 
 	@Override
@@ -895,6 +1014,58 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The size is estimated with two bytes per character of the texts recorded by the changes
+	 * of this undo manager, including the change that is currently being recorded.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	@Override
+	public long getHistorySize() {
+		long length= fTextStore.getLength();
+		if (fTextBuffer != null)
+			length+= fTextBuffer.length() + fPreservedTextBuffer.length();
+		return 2 * length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.14
+	 */
+	@Override
+	public void setMaximalHistorySize(long size) {
+		Assert.isLegal(size >= 0);
+		fMaximalHistorySize= size;
+		if (isConnected())
+			enforceMaximalHistorySize();
+	}
+
+	/**
+	 * Removes the oldest changes from the undo history until the history is no larger than the
+	 * maximal history size. The most recent change is always kept.
+	 */
+	private void enforceMaximalHistorySize() {
+		if (fMaximalHistorySize == 0 || getHistorySize() <= fMaximalHistorySize)
+			return;
+
+		IUndoableOperation[] operations= fHistory.getUndoHistory(fUndoContext);
+		for (int i= 0; i < operations.length - 1 && getHistorySize() > fMaximalHistorySize; i++) {
+			IUndoableOperation op= operations[i];
+			if (!(op instanceof UndoableTextChange) || op == fCurrent)
+				continue;
+			if (op.getContexts().length == 1) {
+				fHistory.replaceOperation(op, new IUndoableOperation[0]);
+			} else {
+				// the operation remains undoable in its other contexts
+				op.removeContext(fUndoContext);
+			}
+		}
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -1085,7 +1256,15 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				length= replacedText.length();
 				String[] delimiters= fDocument.getLegalLineDelimiters();
 
-				if ((length == 1)
+				int typedLength= fTextBuffer.length();
+				if (fInserting && length == 1 && typedLength > 1
+						&& modelEnd == fCurrent.fStart + typedLength
+						&& fTextBuffer.charAt(typedLength - 1) == replacedText.charAt(0)) {
+					// backspace over text typed into the current change: take
+					// the character back instead of starting a new change
+					fTextBuffer.setLength(typedLength - 1);
+
+				} else if ((length == 1)
 						|| TextUtilities.equals(delimiters, replacedText) > -1) {
 
 					// whereby selection is empty
@@ -1257,7 +1436,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 			// Now update the manager that owns the text edit.
 			if (op instanceof UndoableTextChange) {
-				((UndoableTextChange)op).fDocumentUndoManager= this;
+				((UndoableTextChange)op).transfer(this);
 			}
 		}
 
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.undo;
+
+import java.util.Arrays;
+
+
+/**
+ * Stores the texts of committed undoable text changes packed into one shared buffer instead of
+ * keeping two strings per change. Each change is stored as one entry that holds its new text
+ * followed by its preserved text; entries are addressed by the handle returned from
+ * {@link #add(String, String)}.
+ * <p>
+ * Removed entries leave unused characters in the buffer. The buffer is compacted once the unused
+ * characters outnumber the used ones, so that the amortized cost of a removal stays constant.
+ * </p>
+ *
+ * @since 3.14
+ */
+class HistoryTextStore {
+
+	/** The number of unused characters that is always tolerated before compacting. */
+	private static final int MIN_GARBAGE= 64 * 1024;
+
+	/** The shared buffer. */
+	private StringBuilder fBuffer= new StringBuilder();
+
+	/** The buffer offsets of the entries, indexed by handle. */
+	private int[] fOffsets= new int[16];
+
+	/** The lengths of the entries, indexed by handle, <code>-1</code> for free handles. */
+	private int[] fLengths= new int[16];
+
+	/** The number of handles in use or on the free list. */
+	private int fHandleCount;
+
+	/** The stack of free handles. */
+	private int[] fFreeHandles= new int[16];
+
+	/** The number of free handles. */
+	private int fFreeCount;
+
+	/** The number of entries. */
+	private int fEntryCount;
+
+	/** The number of characters in use. */
+	private int fLength;
+
+	/**
+	 * Adds an entry consisting of the given texts.
+	 *
+	 * @param text the new text of the change
+	 * @param preservedText the preserved text of the change
+	 * @return the handle of the entry or <code>-1</code> if the store cannot hold the texts
+	 */
+	int add(String text, String preservedText) {
+		int length= text.length() + preservedText.length();
+		if (length < 0 || fLength > Integer.MAX_VALUE - 16 - length)
+			return -1;
+		if (fBuffer.length() > Integer.MAX_VALUE - 16 - length)
+			compact();
+
+		int handle;
+		if (fFreeCount > 0) {
+			handle= fFreeHandles[--fFreeCount];
+		} else {
+			if (fHandleCount == fOffsets.length) {
+				fOffsets= Arrays.copyOf(fOffsets, fHandleCount * 2);
+				fLengths= Arrays.copyOf(fLengths, fHandleCount * 2);
+			}
+			handle= fHandleCount++;
+		}
+		fOffsets[handle]= fBuffer.length();
+		fLengths[handle]= length;
+		fBuffer.append(text).append(preservedText);
+		fLength+= length;
+		fEntryCount++;
+		return handle;
+	}
+
+	/**
+	 * Returns a part of the given entry.
+	 *
+	 * @param handle the handle of the entry
+	 * @param start the start of the part relative to the entry
+	 * @param end the end of the part relative to the entry
+	 * @return the characters of the part
+	 */
+	String get(int handle, int start, int end) {
+		int offset= fOffsets[handle];
+		return fBuffer.substring(offset + start, offset + end);
+	}
+
+	/**
+	 * Returns the length of the given entry.
+	 *
+	 * @param handle the handle of the entry
+	 * @return the number of characters of the entry
+	 */
+	int getEntryLength(int handle) {
+		return fLengths[handle];
+	}
+
+	/**
+	 * Removes the given entry. The handle must not be used afterwards.
+	 *
+	 * @param handle the handle of the entry
+	 */
+	void remove(int handle) {
+		fLength-= fLengths[handle];
+		fLengths[handle]= -1;
+		if (fFreeCount == fFreeHandles.length)
+			fFreeHandles= Arrays.copyOf(fFreeHandles, fFreeCount * 2);
+		fFreeHandles[fFreeCount++]= handle;
+
+		if (--fEntryCount == 0) {
+			fBuffer= new StringBuilder();
+			fHandleCount= fFreeCount= 0;
+		} else {
+			int garbage= fBuffer.length() - fLength;
+			if (garbage > MIN_GARBAGE && garbage > fLength)
+				compact();
+		}
+	}
+
+	/**
+	 * Returns the number of characters stored.
+	 *
+	 * @return the number of characters of all entries
+	 */
+	int getLength() {
+		return fLength;
+	}
+
+	/**
+	 * Copies all entries into a new buffer that only holds their characters.
+	 */
+	private void compact() {
+		StringBuilder buffer= new StringBuilder(fLength + 16);
+		for (int i= 0; i < fHandleCount; i++) {
+			int length= fLengths[i];
+			if (length >= 0) {
+				int offset= fOffsets[i];
+				fOffsets[i]= buffer.length();
+				buffer.append(fBuffer, offset, offset + length);
+			}
+		}
+		fBuffer= buffer;
+	}
+}
@@ -122,6 +122,36 @@ public interface IDocumentUndoManager {
 	 */
 	void setMaximalUndoLevel(int undoLimit);
 
+	/**
+	 * Returns the approximate amount of memory in bytes that is retained by the
+	 * texts of this undo manager's undo and redo history.
+	 * <p>
+	 * The default implementation returns <code>-1</code>.</p>
+	 *
+	 * @return the size of the history in bytes, or <code>-1</code> if unknown
+	 * @since 3.14
+	 */
+	default long getHistorySize() {
+		return -1;
+	}
+
+	/**
+	 * Sets the maximal size of the history in bytes. Whenever the size of the
+	 * history as reported by {@link #getHistorySize()} exceeds this value, the
+	 * oldest changes are removed from the undo history until it fits. The most
+	 * recent change always remains undoable. The provided size supersedes any
+	 * previously set size and applies in addition to the undo limit.
+	 * <p>
+	 * The default implementation does nothing.</p>
+	 *
+	 * @param size the maximal size of the history in bytes, or <code>0</code>
+	 *            to not limit the size
+	 * @since 3.14
+	 */
+	default void setMaximalHistorySize(long size) {
+		// not supported
+	}
+
 	/**
 	 * Resets the history of the undo manager. After that call,
 	 * there aren't any undo-able or redo-able text changes.
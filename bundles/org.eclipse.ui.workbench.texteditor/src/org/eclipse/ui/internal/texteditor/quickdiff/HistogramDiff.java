@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+
+/**
+ * A line oriented histogram diff.
+ * <p>
+ * The lines of both sides are mapped to dense integer keys by their equivalence hash. The
+ * differ then repeatedly picks the longest common run of lines that starts at one of the rarest
+ * lines of the current region, and recurses into the regions before and after that run. Lines
+ * are found through a histogram index of the left region, that is, a chain of the occurrences of
+ * each key. Small regions, and regions whose common lines are all too frequent, are handed to
+ * the <code>RangeDifferencer</code>, which finds a minimal difference.
+ * </p>
+ * <p>
+ * The result has the shape of the one of {@link RangeDifferencer#findRanges}: a list of
+ * alternating <code>NOCHANGE</code> and <code>CHANGE</code> differences covering both sides.
+ * </p>
+ */
+public final class HistogramDiff {
+
+	/**
+	 * Lines occurring more often than this in a region are not used to anchor a common run.
+	 */
+	private static final int MAX_CHAIN_LENGTH= 64;
+
+	/**
+	 * Regions spanning at most this many line pairs are diffed by the <code>RangeDifferencer</code>.
+	 */
+	private static final int MAX_SMALL_REGION= 1 << 12;
+
+	/** Marks the end of an occurrence chain. */
+	private static final int NONE= -1;
+
+	/**
+	 * Compares the lines of two key arrays, used to fall back to the
+	 * <code>RangeDifferencer</code>.
+	 */
+	private static final class KeyComparator implements IRangeComparator {
+
+		private final int[] fKeys;
+		private final int fStart;
+		private final int fLength;
+
+		KeyComparator(int[] keys, int start, int end) {
+			fKeys= keys;
+			fStart= start;
+			fLength= end - start;
+		}
+
+		@Override
+		public int getRangeCount() {
+			return fLength;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			KeyComparator comparator= (KeyComparator) other;
+			return fKeys[fStart + thisIndex] == comparator.fKeys[comparator.fStart + otherIndex];
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+
+	private final int[] fLeft;
+	private final int[] fRight;
+	private final IProgressMonitor fMonitor;
+
+	/** The first occurrence of a key in the indexed region, by key. */
+	private final int[] fHead;
+	/** The number of occurrences of a key in the indexed region, by key. */
+	private final int[] fCount;
+	/** The region a key has last been indexed for, by key. */
+	private final int[] fStamp;
+	/** The next occurrence of the key of a left line, by line. */
+	private final int[] fNext;
+	/** The current region stamp. */
+	private int fRegion;
+
+	/** The common runs found so far, as triples of left start, right start and length. */
+	private final List<int[]> fRuns= new ArrayList<>();
+
+	/**
+	 * Creates a new differ.
+	 *
+	 * @param left the reference lines
+	 * @param right the actual lines
+	 * @param monitor the progress monitor to check for cancellation, may be <code>null</code>
+	 */
+	public HistogramDiff(DocEquivalenceComparator left, DocEquivalenceComparator right, IProgressMonitor monitor) {
+		fMonitor= monitor;
+		Map<Hash, Integer> keys= new HashMap<>();
+		fLeft= computeKeys(left, keys);
+		fRight= computeKeys(right, keys);
+		fHead= new int[keys.size()];
+		fCount= new int[keys.size()];
+		fStamp= new int[keys.size()];
+		fNext= new int[fLeft.length];
+	}
+
+	private static int[] computeKeys(DocEquivalenceComparator comparator, Map<Hash, Integer> keys) {
+		int[] result= new int[comparator.getRangeCount()];
+		for (int i= 0; i < result.length; i++) {
+			Integer key= keys.computeIfAbsent(comparator.getHash(i), hash -> Integer.valueOf(keys.size()));
+			result[i]= key.intValue();
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the differences between both sides.
+	 *
+	 * @return the differences, including the unchanged ranges
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public ArrayList<QuickDiffRangeDifference> findRanges() {
+		Deque<int[]> regions= new ArrayDeque<>();
+		regions.push(new int[] { 0, fLeft.length, 0, fRight.length });
+		while (!regions.isEmpty()) {
+			if (fMonitor != null && fMonitor.isCanceled())
+				throw new OperationCanceledException();
+			int[] region= regions.pop();
+			diff(region[0], region[1], region[2], region[3], regions);
+		}
+
+		fRuns.sort((run1, run2) -> Integer.compare(run1[0], run2[0]));
+
+		ArrayList<QuickDiffRangeDifference> result= new ArrayList<>();
+		int left= 0;
+		int right= 0;
+		int i= 0;
+		while (i < fRuns.size()) {
+			int[] run= fRuns.get(i++);
+			if (run[0] > left || run[1] > right)
+				result.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, run[1] - right, left, run[0] - left));
+			int length= run[2];
+			// join adjacent runs
+			while (i < fRuns.size() && fRuns.get(i)[0] == run[0] + length && fRuns.get(i)[1] == run[1] + length)
+				length+= fRuns.get(i++)[2];
+			result.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, run[1], length, run[0], length));
+			left= run[0] + length;
+			right= run[1] + length;
+		}
+		if (left < fLeft.length || right < fRight.length)
+			result.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, fRight.length - right, left, fLeft.length - left));
+		return result;
+	}
+
+	/**
+	 * Finds the common runs of a region, or splits it into smaller regions.
+	 *
+	 * @param leftStart the first left line of the region
+	 * @param leftEnd the end of the region on the left side, exclusive
+	 * @param rightStart the first right line of the region
+	 * @param rightEnd the end of the region on the right side, exclusive
+	 * @param regions the regions left to diff
+	 */
+	private void diff(int leftStart, int leftEnd, int rightStart, int rightEnd, Deque<int[]> regions) {
+		// common prefix and suffix
+		int prefix= 0;
+		while (leftStart + prefix < leftEnd && rightStart + prefix < rightEnd && fLeft[leftStart + prefix] == fRight[rightStart + prefix])
+			prefix++;
+		if (prefix > 0) {
+			fRuns.add(new int[] { leftStart, rightStart, prefix });
+			leftStart+= prefix;
+			rightStart+= prefix;
+		}
+		int suffix= 0;
+		while (leftEnd - suffix > leftStart && rightEnd - suffix > rightStart && fLeft[leftEnd - suffix - 1] == fRight[rightEnd - suffix - 1])
+			suffix++;
+		if (suffix > 0) {
+			fRuns.add(new int[] { leftEnd - suffix, rightEnd - suffix, suffix });
+			leftEnd-= suffix;
+			rightEnd-= suffix;
+		}
+		if (leftStart == leftEnd || rightStart == rightEnd)
+			return;
+		if ((long) (leftEnd - leftStart) * (rightEnd - rightStart) <= MAX_SMALL_REGION) {
+			fallback(leftStart, leftEnd, rightStart, rightEnd);
+			return;
+		}
+
+		// index the left region, chaining the occurrences of a key in ascending order
+		fRegion++;
+		for (int line= leftEnd - 1; line >= leftStart; line--) {
+			int key= fLeft[line];
+			if (fStamp[key] != fRegion) {
+				fStamp[key]= fRegion;
+				fHead[key]= NONE;
+				fCount[key]= 0;
+			}
+			fNext[line]= fHead[key];
+			fHead[key]= line;
+			fCount[key]++;
+		}
+
+		// find the longest common run anchored at the rarest lines
+		int bestLeft= 0;
+		int bestRight= 0;
+		int bestLength= 0;
+		int lowestCount= MAX_CHAIN_LENGTH;
+		boolean hasCommon= false;
+		int right= rightStart;
+		while (right < rightEnd) {
+			int key= fRight[right];
+			int nextRight= right + 1;
+			if (fStamp[key] == fRegion) {
+				hasCommon= true;
+				if (fCount[key] <= lowestCount) {
+					for (int left= fHead[key]; left != NONE; left= fNext[left]) {
+						int start1= left, start2= right, end1= left + 1, end2= right + 1;
+						int count= fCount[key];
+						while (start1 > leftStart && start2 > rightStart && fLeft[start1 - 1] == fRight[start2 - 1]) {
+							start1--;
+							start2--;
+							count= Math.min(count, fCount[fLeft[start1]]);
+						}
+						while (end1 < leftEnd && end2 < rightEnd && fLeft[end1] == fRight[end2]) {
+							count= Math.min(count, fCount[fLeft[end1]]);
+							end1++;
+							end2++;
+						}
+						if (end1 - start1 > bestLength || count < lowestCount) {
+							bestLeft= start1;
+							bestRight= start2;
+							bestLength= end1 - start1;
+							lowestCount= count;
+						}
+						nextRight= Math.max(nextRight, end2);
+						// skip the occurrences covered by this run
+						while (fNext[left] != NONE && fNext[left] < end1)
+							left= fNext[left];
+					}
+				}
+			}
+			right= nextRight;
+		}
+
+		if (bestLength > 0) {
+			fRuns.add(new int[] { bestLeft, bestRight, bestLength });
+			regions.push(new int[] { bestLeft + bestLength, leftEnd, bestRight + bestLength, rightEnd });
+			regions.push(new int[] { leftStart, bestLeft, rightStart, bestRight });
+		} else if (hasCommon) {
+			// only frequent lines in common
+			fallback(leftStart, leftEnd, rightStart, rightEnd);
+		}
+	}
+
+	/**
+	 * Adds the common runs of a region as found by the <code>RangeDifferencer</code>.
+	 *
+	 * @param leftStart the first left line of the region
+	 * @param leftEnd the end of the region on the left side, exclusive
+	 * @param rightStart the first right line of the region
+	 * @param rightEnd the end of the region on the right side, exclusive
+	 */
+	private void fallback(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		KeyComparator left= new KeyComparator(fLeft, leftStart, leftEnd);
+		KeyComparator right= new KeyComparator(fRight, rightStart, rightEnd);
+		RangeDifference[] differences= RangeDifferencer.findDifferences(fMonitor, left, right);
+		int left1= 0;
+		int right1= 0;
+		for (RangeDifference difference : differences) {
+			if (difference.leftStart() > left1)
+				fRuns.add(new int[] { leftStart + left1, rightStart + right1, difference.leftStart() - left1 });
+			left1= difference.leftEnd();
+			right1= difference.rightEnd();
+		}
+		if (left1 < left.getRangeCount())
+			fRuns.add(new int[] { leftStart + left1, rightStart + right1, left.getRangeCount() - left1 });
+		if (fMonitor != null && fMonitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+}
@@ -89,7 +89,16 @@ public final class DocEquivalenceComparator implements IRangeComparator {
 		return false;
 	}
 
-	Hash getHash(int index) {
+	/**
+	 * Returns the equivalence hash of a line.
+	 *
+	 * @param index the number of the line within this range comparator
+	 * @return the hash of the line
+	 * @throws IndexOutOfBoundsException if <code>index</code> is not a legal line
+	 * @throws ConcurrentModificationException if the document is modified
+	 *         concurrently to this method call
+	 */
+	public Hash getHash(int index) {
 		return fEquivalenceClass.getHash(fLineOffset + index);
 	}
 
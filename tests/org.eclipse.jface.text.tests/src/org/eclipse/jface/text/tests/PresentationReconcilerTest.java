@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.presentation.IPresentationDamager;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+
+/**
+ * Tests for the viewport margin of {@link PresentationReconciler}.
+ *
+ * @since 3.25
+ */
+public class PresentationReconcilerTest {
+
+	/**
+	 * Viewer showing a fixed range of lines.
+	 */
+	private static class ViewportTextViewer extends TestTextViewer {
+
+		int fTop;
+		int fBottom;
+		IViewportListener fViewportListener;
+
+		@Override
+		public int getTopIndex() {
+			return fTop;
+		}
+
+		@Override
+		public int getBottomIndex() {
+			return fBottom;
+		}
+
+		@Override
+		public void addViewportListener(IViewportListener listener) {
+			fViewportListener= listener;
+		}
+
+		void scroll(int top, int bottom) {
+			fTop= top;
+			fBottom= bottom;
+			fViewportListener.viewportChanged(0);
+		}
+	}
+
+	/**
+	 * Damages everything from the changed offset to the end of the document, like opening a
+	 * multi-line comment, and logs the repaired regions.
+	 */
+	private static class DamagerRepairer implements IPresentationDamager, IPresentationRepairer {
+
+		final List<IRegion> fRepaired= new ArrayList<>();
+		private IDocument fDocument;
+
+		@Override
+		public void setDocument(IDocument document) {
+			fDocument= document;
+		}
+
+		@Override
+		public IRegion getDamageRegion(ITypedRegion partition, DocumentEvent event, boolean documentPartitioningChanged) {
+			return new Region(event.getOffset(), fDocument.getLength() - event.getOffset());
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+			fRepaired.add(new Region(damage.getOffset(), damage.getLength()));
+		}
+	}
+
+	private Document fDocument;
+	private ViewportTextViewer fViewer;
+	private PresentationReconciler fReconciler;
+	private DamagerRepairer fDamagerRepairer;
+
+	@Before
+	public void setUp() {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 100; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		fDocument= new Document(content.toString());
+		fDamagerRepairer= new DamagerRepairer();
+		fReconciler= new PresentationReconciler();
+		fReconciler.setDamager(fDamagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setRepairer(fDamagerRepairer, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setViewportMargin(5);
+		fViewer= new ViewportTextViewer();
+		fViewer.fBottom= 9;
+		fReconciler.install(fViewer);
+		fViewer.setDocument(fDocument);
+	}
+
+	@After
+	public void tearDown() {
+		fReconciler.uninstall();
+	}
+
+	@Test
+	public void testOnlyViewportIsRepaired() throws BadLocationException {
+		assertEquals(List.of(lines(0, 15)), fDamagerRepairer.fRepaired);
+		fDamagerRepairer.fRepaired.clear();
+
+		fDocument.replace(fDocument.getLineOffset(2), 0, "/*");
+		assertEquals(List.of(new Region(fDocument.getLineOffset(2), fDocument.getLineOffset(15) - fDocument.getLineOffset(2))), fDamagerRepairer.fRepaired);
+	}
+
+	@Test
+	public void testPendingDamageIsRepairedWhenScrolledIntoView() throws BadLocationException {
+		fDamagerRepairer.fRepaired.clear();
+
+		fViewer.scroll(50, 59);
+		assertEquals(List.of(lines(45, 65)), fDamagerRepairer.fRepaired);
+		fDamagerRepairer.fRepaired.clear();
+
+		fViewer.scroll(0, 9);
+		assertEquals(List.of(), fDamagerRepairer.fRepaired);
+
+		fDocument.replace(fDocument.getLineOffset(30), 0, "/*");
+		fViewer.scroll(25, 34);
+		assertEquals(List.of(lines(20, 40)), fDamagerRepairer.fRepaired);
+		fDamagerRepairer.fRepaired.clear();
+
+		fReconciler.setViewportMargin(-1);
+		assertEquals(List.of(lines(15, 20), lines(40, 100)), fDamagerRepairer.fRepaired);
+	}
+
+	private IRegion lines(int startLine, int endLine) throws BadLocationException {
+		int offset= fDocument.getLineOffset(startLine);
+		int end= endLine < fDocument.getNumberOfLines() - 1 ? fDocument.getLineOffset(endLine) : fDocument.getLength();
+		return new Region(offset, end - offset);
+	}
+}
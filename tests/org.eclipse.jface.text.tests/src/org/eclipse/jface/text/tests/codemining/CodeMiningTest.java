@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jface.text.tests.codemining;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -47,6 +48,7 @@ import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.MonoReconciler;
@@ -194,6 +196,61 @@ public class CodeMiningTest {
 		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
 	}
 
+	@Test
+	public void testViewportScopedCodeMinings() throws BadLocationException {
+		Assume.assumeFalse("See bug 541415. For whatever reason, this shortcut doesn't work on Mac", Util.isMac());
+		List<IRegion> requestedRegions= Collections.synchronizedList(new ArrayList<>());
+		fViewer.setCodeMiningsViewportScoped(true);
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new ICodeMiningProvider() {
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+				throw new AssertionError("the whole document is requested");
+			}
+
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+				requestedRegions.add(region);
+				IDocument document= viewer.getDocument();
+				List<ICodeMining> minings= new ArrayList<>();
+				try {
+					int lastLine= document.getLineOfOffset(region.getOffset() + region.getLength());
+					for (int line= document.getLineOfOffset(region.getOffset()); line <= lastLine; line++) {
+						LineHeaderCodeMining mining= new LineHeaderCodeMining(line, document, this) {
+							// Nothing in particular
+						};
+						mining.setLabel("mining");
+						minings.add(mining);
+					}
+				} catch (BadLocationException e) {
+					return CompletableFuture.failedFuture(e);
+				}
+				return CompletableFuture.completedFuture(minings);
+			}
+
+			@Override
+			public void dispose() {
+			}
+		} });
+		fViewer.getDocument().set(TextViewerTest.generate5000Lines());
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getTextWidget().getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+		final int lastLine= fViewer.getDocument().getNumberOfLines() - 1;
+		final int lastLineOffset= fViewer.getDocument().getLineOffset(lastLine);
+		Assert.assertTrue("The minings of the last line are requested", requestedRegions.stream().allMatch(r -> r.getOffset() + r.getLength() < lastLineOffset));
+
+		TextViewerTest.ctrlEnd(fViewer);
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getTextWidget().getLineVerticalIndent(lastLine) > 0;
+			}
+		}.waitForCondition(fViewer.getControl().getDisplay(), 3000));
+	}
+
 	@Test
 	public void testCodeMiningMultiLine() {
 		fViewer.getDocument().set("a\nbc");
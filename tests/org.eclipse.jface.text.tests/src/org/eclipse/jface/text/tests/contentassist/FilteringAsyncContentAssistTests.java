@@ -32,6 +32,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Shell;
 
+import org.eclipse.text.edits.DeleteEdit;
 import org.eclipse.text.edits.InsertEdit;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -162,6 +163,53 @@ public class FilteringAsyncContentAssistTests {
 		assertEquals("xx", document.get());
 	}
 
+	/**
+	 * CA with filtering with 1 immediate CA processor. Empty text initially. Invoke CA, type 'a',
+	 * 'b', delete 'b', type 'x' and verify the proposals after each step
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testFilteredCa_Backspace() throws Exception {
+		IDocument document= viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("abc", "axy"), IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		assertEquals(2, getFilteredProposals(ca).size());
+
+		new InsertEdit(0, "a").apply(document);
+		viewer.setSelectedRange(1, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(2, getFilteredProposals(ca).size());
+
+		new InsertEdit(1, "b").apply(document);
+		viewer.setSelectedRange(2, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		List<ICompletionProposal> filteredProposals= getFilteredProposals(ca);
+		assertEquals(1, filteredProposals.size());
+		assertEquals("abc", filteredProposals.get(0).getDisplayString());
+
+		new DeleteEdit(1, 1).apply(document);
+		viewer.setSelectedRange(1, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(2, getFilteredProposals(ca).size());
+
+		new InsertEdit(1, "x").apply(document);
+		viewer.setSelectedRange(2, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		filteredProposals= getFilteredProposals(ca);
+		assertEquals(1, filteredProposals.size());
+		assertEquals("axy", filteredProposals.get(0).getDisplayString());
+	}
+
 	/**
 	 * Simple CA with filtering with 1 immediate CA processors. Empty text
 	 * initially. Invoke CA, verify 1 proposal, type 'a', verify no proposals
@@ -359,6 +407,85 @@ public class FilteringAsyncContentAssistTests {
 
 	}
 
+	/**
+	 * CA with filtering with 1 immediate and 1 blocked CA processor. Invoke CA, type 'a' and 'b'
+	 * while the blocked processor computes, unblock it, type 'd' and verify the late proposal is
+	 * not lost by filtering an outdated subset
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testFilteredCa_LateProposals() throws Exception {
+		IDocument document= viewer.getDocument();
+
+		BlockingProcessor processor= new BlockingProcessor("abd");
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("abc"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(processor, IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		new InsertEdit(0, "a").apply(document);
+		viewer.setSelectedRange(1, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		new InsertEdit(1, "b").apply(document);
+		viewer.setSelectedRange(2, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(1, getFilteredProposals(ca, p -> p instanceof CompletionProposal).size());
+
+		processor.blocked.countDown();
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+		assertEquals(2, getComputedProposals(ca, p -> p instanceof CompletionProposal).size());
+
+		new InsertEdit(2, "d").apply(document);
+		viewer.setSelectedRange(3, 0);
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<ICompletionProposal> filteredProposals= getFilteredProposals(ca, p -> p instanceof CompletionProposal);
+		assertNotNull(filteredProposals);
+		assertEquals(1, filteredProposals.size());
+		assertEquals("abd", filteredProposals.get(0).getDisplayString());
+	}
+
+	/**
+	 * CA with 1 immediate and 1 blocked CA processor. Invoke CA, verify the immediate proposal
+	 * shows right away and the progress proposal reports the blocked processor as pending, then
+	 * unblock it and verify both proposals show.
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testSlowProcessorReported() throws Exception {
+		BlockingProcessor processor= new BlockingProcessor("yy");
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xx"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(processor, IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<ICompletionProposal> computedProposals= getComputedProposals(ca);
+		assertEquals(2, computedProposals.size());
+		assertEquals(1, getComputedProposals(ca, p -> p instanceof CompletionProposal).size());
+		String info= computedProposals.stream().filter(p -> !(p instanceof CompletionProposal)).findFirst().get().getAdditionalProposalInfo();
+		assertTrue(info, info.contains(BlockingProcessor.class.getName() + ": pending"));
+		assertTrue(info, info.contains(ImmediateContentAssistProcessor.class.getName() + ": completed"));
+
+		processor.blocked.countDown();
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		computedProposals= getComputedProposals(ca);
+		assertEquals(2, computedProposals.size());
+		assertEquals(2, getComputedProposals(ca, p -> p instanceof CompletionProposal).size());
+	}
+
 	static class ImmediateContentAssistProcessor implements IContentAssistProcessor {
 
 		final private List<String> templates;
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.reconciler.Reconciler;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+/**
+ * Tests for {@link Reconciler}.
+ *
+ * @since 3.25
+ */
+public class ReconcilerTest {
+
+	private static final String COMMENT= "comment";
+
+	/** The time in milliseconds the strategies of overlapping reconciles spend at least */
+	private static final long MIN_RECONCILE_TIME= 20;
+
+	/**
+	 * Strategy logging the dirty regions it reconciles and the threads it runs in.
+	 */
+	private static class LoggingStrategy implements IReconcilingStrategy {
+
+		final List<String> fLog= Collections.synchronizedList(new ArrayList<>());
+		final List<Thread> fThreads= Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch fInitialized= new CountDownLatch(1);
+		final CountDownLatch fReconciled= new CountDownLatch(1);
+		final CountDownLatch fRunning;
+		volatile boolean fOverlapped;
+
+		LoggingStrategy(CountDownLatch running) {
+			fRunning= running;
+		}
+
+		@Override
+		public void setDocument(IDocument document) {
+		}
+
+		@Override
+		public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+			fThreads.add(Thread.currentThread());
+			if (fRunning != null) {
+				// wait for the other strategy to run at the same time
+				fRunning.countDown();
+				try {
+					fOverlapped= fRunning.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				long end= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MIN_RECONCILE_TIME);
+				while (System.nanoTime() < end) {
+					Thread.onSpinWait();
+				}
+			}
+			fLog.add(dirtyRegion.getType() + " " + dirtyRegion.getOffset() + " " + dirtyRegion.getLength() + " " + dirtyRegion.getText());
+			fReconciled.countDown();
+		}
+
+		@Override
+		public void reconcile(IRegion partition) {
+			fInitialized.countDown();
+		}
+	}
+
+	private Reconciler fReconciler;
+
+	@After
+	public void tearDown() {
+		if (fReconciler != null)
+			fReconciler.uninstall();
+	}
+
+	private void install(Document document, int delay, LoggingStrategy... strategies) throws InterruptedException {
+		fReconciler.setDelay(delay);
+		TestTextViewer viewer= new TestTextViewer();
+		viewer.setDocument(document);
+		fReconciler.install(viewer);
+		// let the initial process pass
+		for (LoggingStrategy strategy : strategies) {
+			assertTrue(strategy.fInitialized.await(5, TimeUnit.SECONDS));
+		}
+	}
+
+	private static boolean waitForCondition(BooleanSupplier condition) throws InterruptedException {
+		long end= System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > end)
+				return false;
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	@Test
+	public void testParallelStrategies() throws Exception {
+		Document document= new Document("a\n//b\nc\n");
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new EndOfLineRule("//", new Token(COMMENT)) });
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { COMMENT });
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+
+		CountDownLatch running= new CountDownLatch(2);
+		LoggingStrategy codeStrategy= new LoggingStrategy(running);
+		LoggingStrategy commentStrategy= new LoggingStrategy(running);
+		fReconciler= new Reconciler();
+		fReconciler.setReconcilingStrategy(codeStrategy, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(commentStrategy, COMMENT);
+		fReconciler.setMaximalParallelism(2);
+		install(document, 50, codeStrategy, commentStrategy);
+
+		document.replace(0, document.getLength(), "x\n//y\nz\n");
+
+		assertTrue(codeStrategy.fReconciled.await(5, TimeUnit.SECONDS));
+		assertTrue(commentStrategy.fReconciled.await(5, TimeUnit.SECONDS));
+		assertTrue(codeStrategy.fOverlapped);
+		assertTrue(commentStrategy.fOverlapped);
+		assertNotEquals(codeStrategy.fThreads.get(0), commentStrategy.fThreads.get(0));
+		assertTrue(waitForCondition(() -> fReconciler.getReconcileTime(IDocument.DEFAULT_CONTENT_TYPE) >= MIN_RECONCILE_TIME
+				&& fReconciler.getReconcileTime(COMMENT) >= MIN_RECONCILE_TIME));
+	}
+
+	@Test
+	public void testTypoCoalescing() throws Exception {
+		Document document= new Document("hello\n");
+		LoggingStrategy strategy= new LoggingStrategy(null);
+		fReconciler= new Reconciler();
+		fReconciler.setReconcilingStrategy(strategy, IDocument.DEFAULT_CONTENT_TYPE);
+		install(document, 500, strategy);
+
+		type(document);
+
+		assertTrue(strategy.fReconciled.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(DirtyRegion.INSERT + " 0 3 abd"), strategy.fLog);
+	}
+
+	private void type(Document document) throws BadLocationException {
+		document.replace(0, 0, "a");
+		document.replace(1, 0, "b");
+		document.replace(2, 0, "c");
+		document.replace(2, 1, "");
+		document.replace(2, 0, "d");
+	}
+}
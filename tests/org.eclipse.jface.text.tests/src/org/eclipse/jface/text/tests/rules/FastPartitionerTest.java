@@ -14,7 +14,12 @@
 package org.eclipse.jface.text.tests.rules;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -321,6 +326,89 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testEditsInsideLongPartitions() throws Exception {
+		fPartitioner.disconnect();
+		fPartitioner= createPartitioner(createCommentScanner());
+		fDoc.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDoc);
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 200; i++)
+			text.append(i % 50 == 0 ? "/* " : "").append("line ").append(i).append(i % 70 == 69 ? " */" : "").append(i % 30 == 0 ? " 'str'\n" : "\n");
+		fDoc.set(text.toString());
+
+		String[] insertions= { "x", "\n", "/*", "*/", "'", "\\", "a\nb" };
+		Random random= new Random(4711);
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDoc.getLength() + 1);
+			int length= Math.min(random.nextInt(3), fDoc.getLength() - offset);
+			String insertion= random.nextInt(4) == 0 ? "" : insertions[random.nextInt(insertions.length)];
+			fDoc.replace(offset, length, insertion);
+			assertPartitioning();
+		}
+	}
+
+	@Test
+	public void testTypingInUnterminatedComment() throws Exception {
+		Assume.assumeTrue(fPartitioner instanceof FastPartitioner);
+		fPartitioner.disconnect();
+		int[] scanned= new int[1];
+		IPartitionTokenScanner scanner= new RuleBasedPartitionScanner() {
+			{
+				IToken comment= new Token(COMMENT);
+				IPredicateRule[] rules= new IPredicateRule[] { new MultiLineRule("/*", "*/", comment, (char) 0, true) };
+				setPredicateRules(rules);
+			}
+
+			@Override
+			public void setPartialRange(IDocument document, int offset, int length, String contentType, int partitionOffset) {
+				scanned[0]+= length;
+				super.setPartialRange(document, offset, length, contentType, partitionOffset);
+			}
+		};
+		fPartitioner= createPartitioner(scanner);
+		fDoc.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDoc);
+
+		StringBuilder text= new StringBuilder("code\n/* unterminated\n");
+		for (int i= 0; i < 10000; i++)
+			text.append("line ").append(i).append('\n');
+		fDoc.set(text.toString());
+
+		int offset= fDoc.getLineOffset(5000) + 2;
+		for (int i= 0; i < 20; i++) {
+			scanned[0]= 0;
+			fDoc.replace(offset++, 0, i % 10 == 9 ? "\n" : "x");
+			assertTrue(scanned[0] < 100);
+		}
+		fDoc.replace(offset, 0, "*/");
+		assertEqualPartition(5, offset + 2, COMMENT);
+		assertEqualPartition(offset + 2, fDoc.getLength(), DEFAULT);
+	}
+
+	private IPartitionTokenScanner createCommentScanner() {
+		return new RuleBasedPartitionScanner() {
+			{
+				IToken comment= new Token(COMMENT);
+				IPredicateRule[] rules= new IPredicateRule[] {
+						new MultiLineRule("/*", "*/", comment, (char) 0, true),
+						new SingleLineRule("'", "'", comment, '\\', true) };
+				setPredicateRules(rules);
+			}
+		};
+	}
+
+	private void assertPartitioning() {
+		IDocument expected= new Document(fDoc.get());
+		IDocumentPartitioner partitioner= createPartitioner(createCommentScanner());
+		expected.setDocumentPartitioner(partitioner);
+		partitioner.connect(expected);
+		ITypedRegion[] expectedRegions= partitioner.computePartitioning(0, expected.getLength());
+		ITypedRegion[] actualRegions= fPartitioner.computePartitioning(0, fDoc.getLength());
+		assertEquals(Arrays.asList(expectedRegions), Arrays.asList(actualRegions));
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
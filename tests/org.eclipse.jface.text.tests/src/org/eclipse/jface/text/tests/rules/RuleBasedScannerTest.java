@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.BufferedRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+/**
+ * Tests for the compiled rules of {@link RuleBasedScanner}.
+ *
+ * @since 3.25
+ */
+public class RuleBasedScannerTest {
+
+	private static final String ALPHABET= "ab if else 0123 \"\\/*\n\t#ä€";
+
+	private static class WordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isLetter(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isLetterOrDigit(c);
+		}
+	}
+
+	private static IRule[] createRules() {
+		WordRule words= new WordRule(new WordDetector(), new Token("word"));
+		words.addWord("if", new Token("keyword"));
+		words.addWord("else", new Token("keyword"));
+		WordRule columnWords= new WordRule(new WordDetector());
+		columnWords.addWord("else", new Token("first"));
+		columnWords.setColumnConstraint(0);
+		IRule hash= scanner -> {
+			// not compiled: always evaluated
+			if (scanner.read() == '#')
+				return new Token("hash");
+			scanner.unread();
+			return Token.UNDEFINED;
+		};
+		return new IRule[] {
+				new MultiLineRule("/*", "*/", new Token("comment")),
+				new EndOfLineRule("//", new Token("line")),
+				new SingleLineRule("\"", "\"", new Token("string"), '\\'),
+				columnWords,
+				hash,
+				words,
+				new NumberRule(new Token("number")),
+				new WhitespaceRule(Character::isWhitespace, new Token("whitespace"))
+		};
+	}
+
+	private static List<String> scan(RuleBasedScanner scanner, IDocument document) {
+		scanner.setRules(createRules());
+		scanner.setDefaultReturnToken(new Token("other"));
+		scanner.setRange(document, 0, document.getLength());
+		List<String> tokens= new ArrayList<>();
+		IToken token;
+		do {
+			token= scanner.nextToken();
+			tokens.add(token.getData() + " " + scanner.getTokenOffset() + " " + scanner.getTokenLength());
+		} while (!token.isEOF());
+		return tokens;
+	}
+
+	@Test
+	public void testCompiledRulesFindSameTokens() {
+		Random random= new Random(42);
+		for (int i= 0; i < 200; i++) {
+			StringBuilder text= new StringBuilder();
+			for (int j= random.nextInt(300); j > 0; j--)
+				text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			Document document= new Document(text.toString());
+
+			List<String> expected= scan(new RuleBasedScanner(), document);
+
+			RuleBasedScanner scanner= new RuleBasedScanner();
+			scanner.setRulesCompiled(true);
+			assertEquals(text.toString(), expected, scan(scanner, document));
+
+			BufferedRuleBasedScanner bufferedScanner= new BufferedRuleBasedScanner(16);
+			bufferedScanner.setRulesCompiled(true);
+			assertEquals(text.toString(), expected, scan(bufferedScanner, document));
+		}
+	}
+
+	@Test
+	public void testCompiledRulesFollowSetRules() {
+		Document document= new Document("if 12");
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRulesCompiled(true);
+		scanner.setRules(new NumberRule(new Token("number")));
+		scanner.setRange(document, 3, 2);
+		assertEquals("number", scanner.nextToken().getData());
+
+		scanner.setRules(new WordRule(new WordDetector(), new Token("word")));
+		scanner.setRange(document, 0, 5);
+		assertEquals("word", scanner.nextToken().getData());
+		assertEquals(2, scanner.getTokenLength());
+	}
+}
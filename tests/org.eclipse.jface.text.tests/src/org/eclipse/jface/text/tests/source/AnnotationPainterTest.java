@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests for the viewport-scoped mode of {@link AnnotationPainter}.
+ *
+ * @since 3.25
+ */
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "painter.test";
+
+	private static final String HIGHLIGHTING= "painter.test.highlighting";
+
+	private Shell fParent;
+	private SourceViewer fViewer;
+	private Document fDocument;
+	private AnnotationModel fModel;
+	private AnnotationPainter fPainter;
+	/** The regions of the text presentation invalidations, in document offsets */
+	private final List<IRegion> fInvalidations= new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		fParent= new Shell(SWT.ON_TOP);
+		fParent.setSize(300, 300);
+		fParent.setLayout(new FillLayout());
+		fViewer= new SourceViewer(fParent, null, SWT.V_SCROLL);
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		fDocument= new Document(content.toString());
+		fModel= new AnnotationModel();
+		fViewer.addTextListener(event -> {
+			if (event.getDocumentEvent() == null && event.getLength() > 0)
+				fInvalidations.add(new Region(event.getOffset(), event.getLength()));
+		});
+	}
+
+	@After
+	public void tearDown() {
+		fParent.dispose();
+	}
+
+	private void createPainter(boolean viewportScoped) {
+		fPainter= new AnnotationPainter(fViewer, new AccessAllAnnoations());
+		fPainter.addTextStyleStrategy(HIGHLIGHTING, new AnnotationPainter.HighlightingStrategy());
+		fPainter.addAnnotationType(TYPE, HIGHLIGHTING);
+		fPainter.setAnnotationTypeColor(TYPE, new Color(fParent.getDisplay(), new RGB(255, 0, 0)));
+		fViewer.addPainter(fPainter);
+		fViewer.addTextPresentationListener(fPainter);
+		fPainter.setViewportScoped(viewportScoped);
+		fViewer.setDocument(fDocument, fModel);
+		fParent.open();
+		DisplayHelper.driveEventQueue(fParent.getDisplay());
+		fInvalidations.clear();
+	}
+
+	private Annotation addAnnotation(int line) throws BadLocationException {
+		Annotation annotation= new Annotation(TYPE, false, "line " + line);
+		fModel.addAnnotation(annotation, new Position(fDocument.getLineOffset(line), 4));
+		return annotation;
+	}
+
+	private boolean isInvalidated(int line) throws BadLocationException {
+		int offset= fDocument.getLineOffset(line);
+		for (IRegion region : fInvalidations) {
+			if (region.getOffset() <= offset && offset < region.getOffset() + region.getLength())
+				return true;
+		}
+		return false;
+	}
+
+	private boolean waitForInvalidation(int line) {
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				try {
+					return isInvalidated(line);
+				} catch (BadLocationException e) {
+					return false;
+				}
+			}
+		}.waitForCondition(fParent.getDisplay(), 3000);
+	}
+
+	/**
+	 * Returns the lines that are highlighted by the painter's text presentation.
+	 *
+	 * @return the highlighted lines
+	 * @throws BadLocationException if the document changed
+	 */
+	private List<Integer> getHighlightedLines() throws BadLocationException {
+		TextPresentation presentation= new TextPresentation(new Region(0, fDocument.getLength()), 10);
+		fPainter.applyTextPresentation(presentation);
+		List<Integer> lines= new ArrayList<>();
+		for (Iterator<StyleRange> iter= presentation.getAllStyleRangeIterator(); iter.hasNext();) {
+			StyleRange range= iter.next();
+			if (range.background != null)
+				lines.add(Integer.valueOf(fDocument.getLineOfOffset(range.start)));
+		}
+		return lines;
+	}
+
+	private boolean waitForHighlightedLines(List<Integer> expected) {
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				try {
+					return expected.equals(getHighlightedLines());
+				} catch (BadLocationException e) {
+					return false;
+				}
+			}
+		}.waitForCondition(fParent.getDisplay(), 3000);
+	}
+
+	@Test
+	public void testInvalidationOutsideViewportIsDeferred() throws BadLocationException {
+		createPainter(true);
+		addAnnotation(900);
+		addAnnotation(1);
+		assertTrue(waitForInvalidation(1));
+		DisplayHelper.sleep(fParent.getDisplay(), 100);
+		assertFalse(isInvalidated(900));
+
+		fViewer.setTopIndex(895);
+		assertTrue(waitForInvalidation(900));
+	}
+
+	@Test
+	public void testInvalidationWithoutViewportScope() throws BadLocationException {
+		createPainter(false);
+		addAnnotation(900);
+		assertTrue(waitForInvalidation(900));
+	}
+
+	@Test
+	public void testDeferredInvalidationIsFlushed() throws BadLocationException {
+		createPainter(true);
+		addAnnotation(900);
+		addAnnotation(1);
+		assertTrue(waitForInvalidation(1));
+		assertFalse(isInvalidated(900));
+
+		fPainter.setViewportScoped(false);
+		assertTrue(isInvalidated(900));
+	}
+
+	@Test
+	public void testModelUpdatesInPlace() throws BadLocationException {
+		createPainter(true);
+		Annotation first= addAnnotation(2);
+		Annotation second= addAnnotation(5);
+		assertTrue(waitForHighlightedLines(List.of(Integer.valueOf(2), Integer.valueOf(5))));
+
+		fModel.removeAnnotation(first);
+		assertTrue(waitForHighlightedLines(List.of(Integer.valueOf(5))));
+
+		fModel.modifyAnnotationPosition(second, new Position(fDocument.getLineOffset(7), 4));
+		assertTrue(waitForHighlightedLines(List.of(Integer.valueOf(7))));
+
+		fModel.removeAllAnnotations();
+		assertTrue(waitForHighlightedLines(List.of()));
+		assertEquals(List.of(), getHighlightedLines());
+	}
+
+	@Test
+	public void testScrolledDecorationsAreFound() throws BadLocationException {
+		createPainter(true);
+		addAnnotation(3);
+		addAnnotation(950);
+		assertTrue(waitForHighlightedLines(List.of(Integer.valueOf(3), Integer.valueOf(950))));
+
+		fViewer.setTopIndex(940);
+		DisplayHelper.driveEventQueue(fParent.getDisplay());
+		assertEquals(List.of(Integer.valueOf(3), Integer.valueOf(950)), getHighlightedLines());
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests for {@link OverviewRuler}.
+ *
+ * @since 3.25
+ */
+public class OverviewRulerTest {
+
+	private static final String TYPE= "overview.test";
+
+	private Shell fParent;
+	private OverviewRuler fRuler;
+	private SourceViewer fViewer;
+
+	@Before
+	public void setUp() {
+		fParent= new Shell(SWT.ON_TOP);
+		fParent.setSize(300, 300);
+		fParent.setLayout(new FillLayout());
+		Display display= fParent.getDisplay();
+		fRuler= new OverviewRuler(new AccessAllAnnoations(), 12, rgb -> new Color(display, rgb));
+		fRuler.addAnnotationType(TYPE);
+		fRuler.setAnnotationTypeLayer(TYPE, 0);
+		fRuler.setAnnotationTypeColor(TYPE, new Color(display, new RGB(255, 0, 0)));
+		fRuler.setUseSaturatedColors(true);
+		fViewer= new SourceViewer(fParent, null, fRuler, true, SWT.NONE);
+	}
+
+	@After
+	public void tearDown() {
+		fParent.dispose();
+	}
+
+	@Test
+	public void testRemovedAnnotationIsCleared() throws BadLocationException {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 200; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		Document document= new Document(content.toString());
+		AnnotationModel model= new AnnotationModel();
+		Annotation first= new Annotation(TYPE, false, "first");
+		model.addAnnotation(first, new Position(0, 1));
+		model.addAnnotation(new Annotation(TYPE, false, "last"), new Position(document.getLineOffset(199), 1));
+		fViewer.setDocument(document, model);
+		fParent.open();
+
+		Control canvas= fRuler.getControl();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return hasPaintedRows(canvas, true) && hasPaintedRows(canvas, false);
+			}
+		}.waitForCondition(canvas.getDisplay(), 3000));
+
+		model.removeAnnotation(first);
+
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !hasPaintedRows(canvas, true) && hasPaintedRows(canvas, false);
+			}
+		}.waitForCondition(canvas.getDisplay(), 3000));
+	}
+
+	/**
+	 * Tells whether the top or the bottom rows of the given ruler show an annotation.
+	 *
+	 * @param canvas the ruler control
+	 * @param top <code>true</code> to check the top rows, <code>false</code> for the bottom rows
+	 * @return <code>true</code> if some pixel differs from the background
+	 */
+	private static boolean hasPaintedRows(Control canvas, boolean top) {
+		int width= canvas.getSize().x;
+		int height= canvas.getSize().y;
+		if (width <= 0 || height <= 20)
+			return false;
+		Image image= new Image(canvas.getDisplay(), width, height);
+		GC gc= new GC(canvas);
+		gc.copyArea(image, 0, 0);
+		gc.dispose();
+		ImageData imageData= image.getImageData();
+		image.dispose();
+		RGB background= canvas.getBackground().getRGB();
+		int start= top ? 0 : height - 10;
+		for (int y= start; y < start + 10; y++) {
+			for (int x= 0; x < width; x++) {
+				if (!imageData.palette.getRGB(imageData.getPixel(x, y)).equals(background))
+					return true;
+			}
+		}
+		return false;
+	}
+}
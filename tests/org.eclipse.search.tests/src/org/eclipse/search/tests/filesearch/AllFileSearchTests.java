@@ -22,11 +22,13 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
 		AnnotationManagerTest.class,
 		FileSearchTests.class,
+		IndexedTextSearchEngineTest.class,
 		LineAnnotationManagerTest.class,
 		PositionTrackerTest.class,
 		ResultUpdaterTest.class,
 		SearchResultPageTest.class,
-		SortingTest.class
+		SortingTest.class,
+		TrigramIndexTest.class
 })
 public class AllFileSearchTests {
 	@ClassRule
@@ -75,6 +75,27 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testLargeAsciiFile() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < 1_200_000) {
+			buf.append("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890@\'\"\n$"); //$NON-NLS-1$
+		}
+		testForEncoding(buf, StandardCharsets.UTF_8.name());
+		testForEncoding(buf, StandardCharsets.US_ASCII.name());
+	}
+
+	@Test
+	public void testLargeFile() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < 1_200_000) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.UTF_8.name());
+		testForEncoding(buf, StandardCharsets.ISO_8859_1.name());
+		testForEncoding(buf, StandardCharsets.UTF_16.name());
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
@@ -16,6 +16,7 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,8 @@ import org.junit.ClassRule;
 import org.junit.Test;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -41,9 +44,15 @@ import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.core.text.TextSearchScope;
 import org.eclipse.search.internal.core.text.PatternConstructor;
 import org.eclipse.search.internal.ui.SearchPlugin;
+import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+import org.eclipse.search.internal.ui.text.LineElement;
 import org.eclipse.search.tests.ResourceHelper;
 import org.eclipse.search.tests.SearchTestPlugin;
 import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
 
 public class FileSearchTests {
 
@@ -538,6 +547,136 @@ public class FileSearchTests {
 		assertEquals("Number of total results", 1, results.length);
 	}
 
+	@Test
+	public void testNestedFoldersSerial() throws Exception {
+		testNestedFolders(new SerialTestResultCollector());
+	}
+
+	@Test
+	public void testNestedFoldersParallel() throws Exception {
+		testNestedFolders(new ParallelTestResultCollector());
+	}
+
+	private void testNestedFolders(TestResultCollector collector) throws Exception {
+		int numberOfFiles= 0;
+		for (int i= 0; i < 5; i++) {
+			IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder" + i));
+			for (int k= 0; k < 4; k++) {
+				IFolder subFolder= ResourceHelper.createFolder(folder.getFolder("sub" + k));
+				ResourceHelper.createFile(subFolder, "file.txt", "hello\n");
+				ResourceHelper.createFile(subFolder, "file.bin", "hello\n");
+				numberOfFiles++;
+			}
+		}
+
+		Pattern searchPattern= PatternConstructor.createPattern("hello", false, true);
+
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, new String[] { "*.txt" }, false);
+		MultiStatus status= new MultiStatus(SearchPlugin.getID(), IStatus.OK, "", null);
+		assertEquals("Number of files in scope", numberOfFiles, scope.evaluateFilesInScope(status).length);
+		assertTrue(status.isOK());
+		TextSearchEngine.create().search(scope, collector, searchPattern, null);
+
+		TestResult[] results= collector.getResults();
+		assertEquals("Number of total results", numberOfFiles, results.length);
+		for (TestResult result : results) {
+			assertEquals("file.txt", result.resource.getName());
+		}
+	}
+
+	@Test
+	public void testWorkspaceScopeWithClosedProject() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", "closedProjectTest\n");
+		IProject closedProject= ResourceHelper.createProject("closed-project");
+		try {
+			ResourceHelper.createFile(ResourceHelper.createFolder(closedProject.getFolder("folder1")), "file1", "closedProjectTest\n");
+			closedProject.close(null);
+
+			FileTextSearchScope scope= FileTextSearchScope.newWorkspaceScope(null, false);
+			MultiStatus status= new MultiStatus(SearchPlugin.getID(), IStatus.OK, "", null);
+			scope.evaluateFilesInScope(status);
+			assertTrue(status.toString(), status.isOK());
+
+			TestResultCollector collector= new ParallelTestResultCollector();
+			IStatus searchStatus= TextSearchEngine.create().search(scope, collector, PatternConstructor.createPattern("closedProjectTest", false, true), null);
+			assertTrue(searchStatus.toString(), searchStatus.isOK());
+
+			TestResult[] results= collector.getResults();
+			assertEquals("Number of total results", 1, results.length);
+			assertEquals(file, results[0].resource);
+		} finally {
+			ResourceHelper.deleteProject("closed-project");
+		}
+	}
+
+	@Test
+	public void testMatchesOfSeveralFilesAddedAtOnce() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		int numberOfFiles= 50;
+		for (int i= 0; i < numberOfFiles; i++) {
+			ResourceHelper.createFile(folder, "file" + i, "hello\nmore hello\n");
+		}
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, (String[]) null, false);
+		FileSearchQuery query= new FileSearchQuery("hello", false, true, scope);
+		FileSearchResult result= (FileSearchResult) query.getSearchResult();
+		int[] addedMatches= new int[1];
+		int[] events= new int[1];
+		result.addListener(e -> {
+			if (e instanceof MatchEvent matchEvent && matchEvent.getKind() == MatchEvent.ADDED) {
+				synchronized (events) {
+					events[0]++;
+					addedMatches[0]+= matchEvent.getMatches().length;
+				}
+			}
+		});
+		int maxPendingMatches= FileSearchQuery.MAX_PENDING_MATCHES;
+		long maxPendingNanos= FileSearchQuery.MAX_PENDING_NANOS;
+		try {
+			// add the matches of five files at once, independent of the time taken
+			FileSearchQuery.MAX_PENDING_MATCHES= 10;
+			FileSearchQuery.MAX_PENDING_NANOS= Long.MAX_VALUE;
+			query.run(null);
+		} finally {
+			FileSearchQuery.MAX_PENDING_MATCHES= maxPendingMatches;
+			FileSearchQuery.MAX_PENDING_NANOS= maxPendingNanos;
+		}
+
+		assertEquals("Number of total results", 2 * numberOfFiles, result.getMatchCount());
+		synchronized (events) {
+			assertEquals("Number of added matches", 2 * numberOfFiles, addedMatches[0]);
+			assertTrue("Number of events", events[0] < numberOfFiles);
+			assertTrue("Number of events", events[0] <= 2 * numberOfFiles / 10 + 1);
+		}
+	}
+
+	@Test
+	public void testLineElements() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file= ResourceHelper.createFile(folder, "file1", "hello hello\nworld\n\tmore hello");
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, (String[]) null, false);
+		FileSearchQuery query= new FileSearchQuery("hello", false, true, scope);
+		query.run(null);
+		FileSearchResult result= (FileSearchResult) query.getSearchResult();
+
+		Match[] matches= result.getMatches(file);
+		assertEquals("Number of total results", 3, matches.length);
+		LineElement first= ((FileMatch) matches[0]).getLineElement();
+		LineElement second= ((FileMatch) matches[1]).getLineElement();
+		LineElement third= ((FileMatch) matches[2]).getLineElement();
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertEquals(1, first.getLine());
+		assertEquals(0, first.getOffset());
+		assertEquals("hello hello ", first.getContents());
+		assertEquals(2, first.getNumberOfMatches(result));
+		assertEquals(3, third.getLine());
+		assertEquals(18, third.getOffset());
+		assertEquals(" more hello", third.getContents());
+		assertEquals(file, third.getParent());
+		assertEquals(1, third.getMatches(result).length);
+	}
+
 	private TestResult[] performSearch(TestResultCollector collector, String[] fileNamePatterns, Pattern searchPattern) {
 		collector.reset();
 		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, fileNamePatterns, false);
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.IndexedTextSearchEngine;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
+import org.eclipse.search.internal.ui.SearchPlugin;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.tests.SearchTestPlugin;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+public class IndexedTextSearchEngineTest {
+
+	private static class FileCollector extends TextSearchRequestor {
+
+		final Set<IFile> fFiles= new HashSet<>();
+
+		@Override
+		public boolean acceptPatternMatch(TextSearchMatchAccess match) {
+			synchronized (fFiles) {
+				fFiles.add(match.getFile());
+			}
+			return true;
+		}
+	}
+
+	private IProject fProject;
+	private IFolder fFolder;
+	private TrigramIndex fIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("indexed-project"); //$NON-NLS-1$
+		fFolder= ResourceHelper.createFolder(fProject.getFolder("folder1")); //$NON-NLS-1$
+		fIndex= SearchCorePlugin.getDefault().getTrigramIndexManager().getIndex();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SearchPlugin.getActivePage().closeAllEditors(false);
+		ResourceHelper.deleteProject("indexed-project"); //$NON-NLS-1$
+	}
+
+	private static void waitForIndex() throws InterruptedException {
+		Job.getJobManager().join(TrigramIndexManager.FAMILY_INDEX_UPDATE, null);
+	}
+
+	private Set<IFile> search(String pattern) {
+		FileCollector collector= new FileCollector();
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, (String[]) null, false);
+		IStatus status= new IndexedTextSearchEngine().search(scope, collector, PatternConstructor.createPattern(pattern, false, true), null);
+		assertTrue(status.toString(), status.isOK());
+		return collector.fFiles;
+	}
+
+	private static void setContents(IFile file, String contents) throws Exception {
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1)), true, false, null);
+	}
+
+	@Test
+	public void testIndexedFiles() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1", "hello world"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile file2= ResourceHelper.createFile(fFolder, "file2", "goodbye world"); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForIndex();
+
+		assertEquals(file1.getModificationStamp(), fIndex.getStamp(TrigramIndexManager.getKey(file1)));
+		assertEquals(file2.getModificationStamp(), fIndex.getStamp(TrigramIndexManager.getKey(file2)));
+		Set<String> indexed= fIndex.findFiles(TrigramIndex.computeTrigrams(PatternConstructor.createPattern("hello", false, true))); //$NON-NLS-1$
+		assertTrue(indexed.contains(TrigramIndexManager.getKey(file1)));
+		assertTrue(!indexed.contains(TrigramIndexManager.getKey(file2)));
+
+		assertEquals(Set.of(file1), search("hello")); //$NON-NLS-1$
+		assertEquals(Set.of(file1, file2), search("world")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUpdatesFromResourceChanges() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1", "hello world"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile file2= ResourceHelper.createFile(fFolder, "file2", "goodbye world"); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForIndex();
+
+		// found whether or not the index has been updated yet
+		setContents(file2, "hello again"); //$NON-NLS-1$
+		assertEquals(Set.of(file1, file2), search("hello")); //$NON-NLS-1$
+
+		waitForIndex();
+		assertEquals(file2.getModificationStamp(), fIndex.getStamp(TrigramIndexManager.getKey(file2)));
+		assertEquals(Set.of(file1, file2), search("hello")); //$NON-NLS-1$
+		assertEquals(Set.of(file1), search("world")); //$NON-NLS-1$
+
+		String key1= TrigramIndexManager.getKey(file1);
+		file1.delete(true, null);
+		waitForIndex();
+		assertEquals(TrigramIndex.NO_STAMP, fIndex.getStamp(key1));
+		assertEquals(Set.of(file2), search("hello")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCharsetChanges() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1", "gr\u00FC\u00DFe", StandardCharsets.UTF_8.name()); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForIndex();
+		assertEquals(Set.of(file1), search("gr\u00FC\u00DFe")); //$NON-NLS-1$
+
+		// the modification stamp stays the same, the content decodes differently
+		long stamp= file1.getModificationStamp();
+		file1.setCharset(StandardCharsets.ISO_8859_1.name(), null);
+		assertEquals(stamp, file1.getModificationStamp());
+		assertEquals(Set.of(file1), search("gr\u00C3\u00BC")); //$NON-NLS-1$
+
+		waitForIndex();
+		assertEquals(Set.of(file1), search("gr\u00C3\u00BC")); //$NON-NLS-1$
+		assertEquals(Set.of(), search("gr\u00FC\u00DFe")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUnindexedAndOutdatedFilesAreSearched() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1", "hello world"); //$NON-NLS-1$ //$NON-NLS-2$
+		IFile file2= ResourceHelper.createFile(fFolder, "file2", "hello again"); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForIndex();
+
+		// no resource change tells the manager about these modifications of the index
+		fIndex.remove(TrigramIndexManager.getKey(file1));
+		fIndex.add(TrigramIndexManager.getKey(file2), file2.getModificationStamp() - 1, TrigramIndex.computeTrigrams(new StringReader("goodbye"))); //$NON-NLS-1$
+
+		assertEquals(Set.of(file1, file2), search("hello")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testDirtyFilesAreSearched() throws Exception {
+		IFile file1= ResourceHelper.createFile(fFolder, "file1", "goodbye world"); //$NON-NLS-1$ //$NON-NLS-2$
+		ResourceHelper.createFile(fFolder, "file2", "goodbye again"); //$NON-NLS-1$ //$NON-NLS-2$
+		waitForIndex();
+
+		ITextEditor editor= (ITextEditor) SearchTestPlugin.openTextEditor(SearchPlugin.getActivePage(), file1);
+		editor.getDocumentProvider().getDocument(editor.getEditorInput()).set("hello world"); //$NON-NLS-1$
+		assertTrue(editor.isDirty());
+
+		assertEquals(Set.of(file1), search("hello")); //$NON-NLS-1$
+	}
+}
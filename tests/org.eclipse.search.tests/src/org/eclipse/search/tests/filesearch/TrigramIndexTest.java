@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+
+public class TrigramIndexTest {
+
+	private static TrigramIndex createIndex() throws IOException {
+		TrigramIndex index= new TrigramIndex();
+		index.add("/p/a.txt", 1, TrigramIndex.computeTrigrams(new StringReader("Hello World"))); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("/p/b.txt", 2, TrigramIndex.computeTrigrams(new StringReader("goodbye world"))); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("/p/c.txt", 3, TrigramIndex.computeTrigrams(new StringReader("say HELLO"))); //$NON-NLS-1$ //$NON-NLS-2$
+		return index;
+	}
+
+	private static Set<String> find(TrigramIndex index, String pattern, boolean isRegex, boolean isCaseSensitive) {
+		Pattern searchPattern= PatternConstructor.createPattern(pattern, isRegex, true, isCaseSensitive, false);
+		int[] trigrams= TrigramIndex.computeTrigrams(searchPattern);
+		assertNotNull(pattern, trigrams);
+		return index.findFiles(trigrams);
+	}
+
+	@Test
+	public void testFindFiles() throws Exception {
+		TrigramIndex index= createIndex();
+		assertEquals(Set.of("/p/a.txt", "/p/c.txt"), find(index, "hello", false, false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Set.of("/p/a.txt", "/p/b.txt"), find(index, "world", false, true)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Set.of("/p/a.txt"), find(index, "hel*rld", false, false)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Set.of("/p/b.txt"), find(index, "good(bye)? w", true, false)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Set.of(), find(index, "hello there", false, false)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUpdateAndRemove() throws Exception {
+		TrigramIndex index= createIndex();
+		index.add("/p/a.txt", 4, TrigramIndex.computeTrigrams(new StringReader("goodbye"))); //$NON-NLS-1$ //$NON-NLS-2$
+		index.remove("/p/c.txt"); //$NON-NLS-1$
+		assertEquals(Set.of(), find(index, "hello", false, false)); //$NON-NLS-1$
+		assertEquals(Set.of("/p/a.txt", "/p/b.txt"), find(index, "goodbye", false, false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(4, index.getStamp("/p/a.txt")); //$NON-NLS-1$
+		assertEquals(TrigramIndex.NO_STAMP, index.getStamp("/p/c.txt")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		TrigramIndex index= createIndex();
+		index.remove("/p/b.txt"); //$NON-NLS-1$
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		index.save(out);
+		TrigramIndex loaded= TrigramIndex.load(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(Set.of("/p/a.txt", "/p/c.txt"), loaded.getPaths()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(3, loaded.getStamp("/p/c.txt")); //$NON-NLS-1$
+		assertEquals(Set.of("/p/a.txt", "/p/c.txt"), find(loaded, "hello", false, false)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(Set.of("/p/a.txt"), find(loaded, "world", false, false)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testPatternsWithoutRequiredLiterals() {
+		assertNull(TrigramIndex.computeTrigrams(Pattern.compile("hello|world"))); //$NON-NLS-1$
+		assertNull(TrigramIndex.computeTrigrams(Pattern.compile("he.lo"))); //$NON-NLS-1$
+		assertNull(TrigramIndex.computeTrigrams(Pattern.compile("[hH]el+o"))); //$NON-NLS-1$
+		assertNull(TrigramIndex.computeTrigrams(Pattern.compile(""))); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Synthetic but realistic texts the benchmarks run on. The texts are generated from a fixed seed,
+ * so all runs of a benchmark work on the same content.
+ */
+public enum Corpus {
+
+	/** Java source code with comments, string literals and nested blocks. */
+	JAVA {
+		@Override
+		void append(StringBuilder text, Random random, int index) {
+			text.append("\t/**\n\t * Returns the value of element ").append(index).append(".\n\t *\n\t * @return the value\n\t */\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			text.append("\tpublic int getValue").append(index).append("() {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			int statements= 1 + random.nextInt(6);
+			for (int i= 0; i < statements; i++) {
+				if (random.nextInt(4) == 0)
+					text.append("\t\t// compute the next part\n"); //$NON-NLS-1$
+				text.append("\t\tString s").append(i).append("= \"value ").append(random.nextInt(1000)).append("\"; //$NON-NLS-1$\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			text.append("\t\treturn fValues[").append(index % 97).append("] + s0.length();\n\t}\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	},
+
+	/** A server log with one timestamped entry per line. */
+	LOG {
+		@Override
+		void append(StringBuilder text, Random random, int index) {
+			String[] levels= { "INFO", "INFO", "INFO", "DEBUG", "WARN", "ERROR" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			text.append("2026-01-01T12:").append(10 + index / 60000 % 50).append(':').append(10 + index / 1000 % 50).append('.').append(100 + index % 900); //$NON-NLS-1$
+			text.append(' ').append(levels[random.nextInt(levels.length)]).append(" [worker-").append(random.nextInt(16)).append("] "); //$NON-NLS-1$ //$NON-NLS-2$
+			text.append("request ").append(random.nextInt(100000)).append(" completed in ").append(random.nextInt(5000)).append(" ms\r\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	},
+
+	/** Minified JSON on a single line. */
+	JSON {
+		@Override
+		void append(StringBuilder text, Random random, int index) {
+			text.append(index == 0 ? "[" : ","); //$NON-NLS-1$ //$NON-NLS-2$
+			text.append("{\"id\":").append(index).append(",\"name\":\"item ").append(random.nextInt(100000)); //$NON-NLS-1$ //$NON-NLS-2$
+			text.append("\",\"tags\":[\"a\",\"b\"],\"price\":").append(random.nextInt(10000) / 100.0).append('}'); //$NON-NLS-1$
+		}
+
+		@Override
+		void finish(StringBuilder text) {
+			text.append(']');
+		}
+	};
+
+	/**
+	 * Creates a text of this corpus with about the given length.
+	 *
+	 * @param size the length of the text
+	 * @return the text
+	 */
+	public String create(int size) {
+		Random random= new Random(4711);
+		StringBuilder text= new StringBuilder(size + 1024);
+		for (int i= 0; text.length() < size; i++)
+			append(text, random, i);
+		finish(text);
+		return text.toString();
+	}
+
+	abstract void append(StringBuilder text, Random random, int index);
+
+	void finish(StringBuilder text) {
+	}
+}
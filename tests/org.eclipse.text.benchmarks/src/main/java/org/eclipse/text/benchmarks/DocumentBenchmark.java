@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Benchmarks changing a {@link Document} that holds many positions, as the annotations and
+ * markers of an editor do, and looking up positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class DocumentBenchmark {
+
+	private static final String CATEGORY= "benchmark"; //$NON-NLS-1$
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	@Param({ "0", "1000", "20000" })
+	public int positions;
+
+	@Param({ "TYPING", "RANDOM", "PASTE" })
+	public EditPattern pattern;
+
+	private String fContent;
+	private Document fDocument;
+	private EditPattern.Edits fEdits;
+	private Random fRandom;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() throws BadLocationException, BadPositionCategoryException {
+		fDocument= new Document(fContent);
+		fDocument.addPositionCategory(CATEGORY);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(CATEGORY));
+		int distance= positions == 0 ? 0 : fContent.length() / positions;
+		for (int i= 0; i < positions; i++)
+			fDocument.addPosition(CATEGORY, new Position(i * distance, Math.min(5, distance)));
+		fEdits= new EditPattern.Edits(pattern, fContent);
+		fRandom= new Random(42);
+	}
+
+	@Benchmark
+	public int replace() throws BadLocationException {
+		fEdits.next(fDocument.getLength());
+		fDocument.replace(fEdits.offset, fEdits.length, fEdits.text);
+		return fDocument.getLength();
+	}
+
+	@Benchmark
+	public int computeIndexInCategory() throws BadLocationException, BadPositionCategoryException {
+		return fDocument.computeIndexInCategory(CATEGORY, fRandom.nextInt(fDocument.getLength() + 1));
+	}
+
+	@Benchmark
+	public Position[] getOverlappingPositions() throws BadPositionCategoryException {
+		int offset= fRandom.nextInt(fDocument.getLength() - 2000);
+		return fDocument.getPositions(CATEGORY, offset, 2000, true, true);
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+
+/**
+ * The edit patterns the benchmarks apply to a text. A pattern is turned into a sequence of edits
+ * by an {@link Edits} generator.
+ */
+public enum EditPattern {
+
+	/** Typing at a cursor in the middle of the text, with a line break every 40 characters. */
+	TYPING,
+
+	/** Small replacements at random offsets that keep the text length stable on average. */
+	RANDOM,
+
+	/** Pasting blocks of 4K characters at random offsets, replacing as many characters. */
+	PASTE;
+
+	/**
+	 * Generates the edits of an {@link EditPattern}.
+	 */
+	public static final class Edits {
+
+		private static final String[] REPLACEMENTS= { "", "x", "foo", "\n", "a new line\n", "/* */", "\"s\"" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+		private final EditPattern fPattern;
+		private final Random fRandom= new Random(1234);
+		private final String fBlock;
+		private int fCursor;
+		private int fCount;
+
+		/** The offset of the current edit. */
+		public int offset;
+		/** The length of the current edit. */
+		public int length;
+		/** The text of the current edit. */
+		public String text;
+
+		/**
+		 * Creates a new generator.
+		 *
+		 * @param pattern the edit pattern
+		 * @param content the text the edits are applied to
+		 */
+		public Edits(EditPattern pattern, String content) {
+			fPattern= pattern;
+			fCursor= content.length() / 2;
+			int start= Math.max(0, fCursor - 2048);
+			fBlock= content.substring(start, Math.min(content.length(), start + 4096));
+		}
+
+		/**
+		 * Computes the next edit for a text of the given length.
+		 *
+		 * @param textLength the current length of the text
+		 */
+		public void next(int textLength) {
+			switch (fPattern) {
+				case TYPING:
+					fCursor= Math.min(fCursor, textLength);
+					offset= fCursor;
+					length= 0;
+					text= ++fCount % 40 == 0 ? "\n" : "x"; //$NON-NLS-1$ //$NON-NLS-2$
+					fCursor+= text.length();
+					break;
+				case RANDOM:
+					offset= fRandom.nextInt(textLength + 1);
+					text= REPLACEMENTS[fRandom.nextInt(REPLACEMENTS.length)];
+					length= Math.min(fRandom.nextInt(2 * text.length() + 1), textLength - offset);
+					break;
+				default:
+					offset= fRandom.nextInt(textLength + 1);
+					length= Math.min(fBlock.length(), textLength - offset);
+					text= fBlock;
+			}
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Benchmarks the line tracking of {@link DefaultLineTracker}. Right after its text has been set,
+ * the tracker uses a list of lines, or a compact representation for very large texts. The first
+ * change converts the list to a tree. The <code>edited</code> parameter selects whether queries run
+ * before or after that conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class LineTrackerBenchmark {
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "100000", "10000000" })
+	public int size;
+
+	@Param({ "TYPING", "RANDOM", "PASTE" })
+	public EditPattern pattern;
+
+	@Param({ "false", "true" })
+	public boolean edited;
+
+	private String fContent;
+	private DefaultLineTracker fTracker;
+	private int fLength;
+	private EditPattern.Edits fEdits;
+	private Random fRandom;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() throws BadLocationException {
+		fTracker= new DefaultLineTracker();
+		fTracker.set(fContent);
+		fLength= fContent.length();
+		fEdits= new EditPattern.Edits(pattern, fContent);
+		fRandom= new Random(42);
+		if (edited) {
+			for (int i= 0; i < 1000; i++)
+				replace();
+		}
+	}
+
+	@Benchmark
+	public int set() {
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		tracker.set(fContent);
+		return tracker.getNumberOfLines();
+	}
+
+	@Benchmark
+	public int replace() throws BadLocationException {
+		fEdits.next(fLength);
+		fTracker.replace(fEdits.offset, fEdits.length, fEdits.text);
+		fLength+= fEdits.text.length() - fEdits.length;
+		return fTracker.getNumberOfLines();
+	}
+
+	@Benchmark
+	public int getLineNumberOfOffset() throws BadLocationException {
+		return fTracker.getLineNumberOfOffset(fRandom.nextInt(fLength + 1));
+	}
+
+	@Benchmark
+	public IRegion getLineInformation() throws BadLocationException {
+		return fTracker.getLineInformation(fRandom.nextInt(fTracker.getNumberOfLines()));
+	}
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected by the given JMH command line options. Unless the command line
+ * specifies otherwise, the results are written as JSON to <code>jmh-result.json</code>, so that
+ * they can be compared across builds and releases.
+ * <p>
+ * Usage: <code>java -jar benchmarks.jar [JMH options] [benchmark regexp]</code>, e.g.
+ * <code>java -jar benchmarks.jar -p size=100000 LineTrackerBenchmark</code>.
+ * </p>
+ */
+public class Main {
+
+	private static final String RESULT_FILE= "jmh-result.json"; //$NON-NLS-1$
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine= new CommandLineOptions(args);
+		if (commandLine.shouldHelp()) {
+			commandLine.showHelp();
+			return;
+		}
+		if (commandLine.shouldList()) {
+			new Runner(commandLine).list();
+			return;
+		}
+		ChainedOptionsBuilder builder= new OptionsBuilder().parent(commandLine);
+		if (!commandLine.getResultFormat().hasValue())
+			builder.resultFormat(ResultFormatType.JSON);
+		if (!commandLine.getResult().hasValue())
+			builder.result(RESULT_FILE);
+		new Runner(builder.build()).run();
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPartitionTokenScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Benchmarks the initial and the incremental partitioning of a {@link FastPartitioner} with a
+ * scanner for Java-like comments and strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class PartitionerBenchmark {
+
+	private static final String COMMENT= "__comment"; //$NON-NLS-1$
+	private static final String STRING= "__string"; //$NON-NLS-1$
+	private static final String[] CONTENT_TYPES= { IDocument.DEFAULT_CONTENT_TYPE, COMMENT, STRING };
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	@Param({ "TYPING", "RANDOM", "PASTE" })
+	public EditPattern pattern;
+
+	private String fContent;
+	private Document fDocument;
+	private FastPartitioner fPartitioner;
+	private EditPattern.Edits fEdits;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		fDocument= new Document(fContent);
+		fPartitioner= new FastPartitioner(createScanner(), CONTENT_TYPES);
+		fDocument.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDocument);
+		fEdits= new EditPattern.Edits(pattern, fContent);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		fPartitioner.disconnect();
+	}
+
+	@Benchmark
+	public int replace() throws BadLocationException {
+		fEdits.next(fDocument.getLength());
+		fDocument.replace(fEdits.offset, fEdits.length, fEdits.text);
+		return fDocument.getLength();
+	}
+
+	@Benchmark
+	public String initialize() {
+		Document document= new Document(fContent);
+		FastPartitioner partitioner= new FastPartitioner(createScanner(), CONTENT_TYPES);
+		partitioner.connect(document);
+		return partitioner.getContentType(document.getLength() / 2);
+	}
+
+	private static IPartitionTokenScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		IToken comment= new Token(COMMENT);
+		IToken string= new Token(STRING);
+		scanner.setPredicateRules(new IPredicateRule[] {
+				new EndOfLineRule("//", comment), //$NON-NLS-1$
+				new MultiLineRule("/*", "*/", comment, (char) 0, true), //$NON-NLS-1$ //$NON-NLS-2$
+				new SingleLineRule("\"", "\"", string, '\\') //$NON-NLS-1$ //$NON-NLS-2$
+		});
+		return scanner;
+	}
+}
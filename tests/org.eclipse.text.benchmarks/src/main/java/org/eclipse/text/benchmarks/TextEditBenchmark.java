@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+/**
+ * Benchmarks applying a {@link MultiTextEdit} with many replace edits, as produced by a rename
+ * refactoring or a replace all.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class TextEditBenchmark {
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "1000000" })
+	public int size;
+
+	@Param({ "1000", "100000" })
+	public int edits;
+
+	@Param({ "false", "true" })
+	public boolean coalesce;
+
+	private String fContent;
+	private Document fDocument;
+	private MultiTextEdit fEdit;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		fDocument= new Document(fContent);
+		fEdit= new MultiTextEdit();
+		int distance= fContent.length() / edits;
+		for (int i= 0; i < edits; i++)
+			fEdit.addChild(new ReplaceEdit(i * distance, 3, "renamed")); //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public UndoEdit apply() throws BadLocationException {
+		int style= TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS;
+		if (coalesce)
+			style|= TextEdit.COALESCE_CHANGES;
+		return fEdit.apply(fDocument, style);
+	}
+}
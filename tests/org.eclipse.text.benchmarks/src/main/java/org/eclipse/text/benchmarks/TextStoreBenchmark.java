@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+/**
+ * Benchmarks changing and reading the text stores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class TextStoreBenchmark {
+
+	/** The text store implementations. */
+	public enum Store {
+		/** {@link GapTextStore} */
+		GAP,
+		/** {@link PieceTableTextStore} */
+		PIECE_TABLE
+	}
+
+	@Param({ "GAP", "PIECE_TABLE" })
+	public Store store;
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "100000", "10000000" })
+	public int size;
+
+	@Param({ "TYPING", "RANDOM", "PASTE" })
+	public EditPattern pattern;
+
+	private String fContent;
+	private ITextStore fStore;
+	private EditPattern.Edits fEdits;
+	private Random fRandom;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		fStore= store == Store.GAP ? new GapTextStore() : new PieceTableTextStore();
+		fStore.set(fContent);
+		fEdits= new EditPattern.Edits(pattern, fContent);
+		fRandom= new Random(42);
+		// the stores are only ever read after some changes
+		for (int i= 0; i < 1000; i++)
+			replace();
+	}
+
+	@Benchmark
+	public int replace() {
+		fEdits.next(fStore.getLength());
+		fStore.replace(fEdits.offset, fEdits.length, fEdits.text);
+		return fStore.getLength();
+	}
+
+	@Benchmark
+	public String get() {
+		int offset= fRandom.nextInt(fStore.getLength() - 80);
+		return fStore.get(offset, 80);
+	}
+
+	@Benchmark
+	public int getChars() {
+		int offset= fRandom.nextInt(fStore.getLength() - 80);
+		int hash= 0;
+		for (int i= offset; i < offset + 80; i++)
+			hash= 31 * hash + fStore.get(i);
+		return hash;
+	}
+}
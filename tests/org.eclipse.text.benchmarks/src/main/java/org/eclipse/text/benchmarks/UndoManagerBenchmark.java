@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.eclipse.core.commands.ExecutionException;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.text.undo.DocumentUndoManager;
+
+/**
+ * Benchmarks recording changes in a {@link DocumentUndoManager} and undoing and redoing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations= 3, time= 1)
+@Measurement(iterations= 5, time= 1)
+@Fork(1)
+public class UndoManagerBenchmark {
+
+	@Param({ "JAVA", "LOG", "JSON" })
+	public Corpus corpus;
+
+	@Param({ "100000", "10000000" })
+	public int size;
+
+	@Param({ "TYPING", "RANDOM", "PASTE" })
+	public EditPattern pattern;
+
+	@Param({ "25", "1000" })
+	public int undoLimit;
+
+	private String fContent;
+	private Document fDocument;
+	private DocumentUndoManager fManager;
+	private EditPattern.Edits fEdits;
+
+	@Setup(Level.Trial)
+	public void createContent() {
+		fContent= corpus.create(size);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() throws BadLocationException {
+		fDocument= new Document(fContent);
+		fManager= new DocumentUndoManager(fDocument);
+		fManager.connect(this);
+		fManager.setMaximalUndoLevel(undoLimit);
+		fEdits= new EditPattern.Edits(pattern, fContent);
+		for (int i= 0; i < 2 * undoLimit; i++)
+			replace();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		fManager.disconnect(this);
+	}
+
+	@Benchmark
+	public int replace() throws BadLocationException {
+		fEdits.next(fDocument.getLength());
+		fDocument.replace(fEdits.offset, fEdits.length, fEdits.text);
+		return fDocument.getLength();
+	}
+
+	@Benchmark
+	public boolean undoRedo() throws ExecutionException {
+		fManager.undo();
+		fManager.redo();
+		return fManager.undoable();
+	}
+}
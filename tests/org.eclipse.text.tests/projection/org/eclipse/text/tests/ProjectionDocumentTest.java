@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -2651,4 +2652,146 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void testReplaceMasterDocumentRanges() throws BadLocationException {
+		createProjectionA();
+		List<DocumentEvent> events= new ArrayList<>();
+		fSlaveDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+
+		IRegion[] ranges= {
+			new Region(0, 20),
+			new Region(40, 20),
+			new Region(100, 20),
+			new Region(120, 10),
+			new Region(125, 15),
+			new Region(150, 0),
+			new Region(160, 20)
+		};
+		fSlaveDocument.replaceMasterDocumentRanges(ranges);
+
+		Position[] expected= {
+			new Position(0, 20),
+			new Position(40, 20),
+			new Position(100, 40),
+			new Position(160, 20)
+		};
+		assertFragmentation(expected);
+		assertSlaveContents(LINES ?
+			"1111111111111111111\n" +
+			"3333333333333333333\n" +
+			"6666666666666666666\n" +
+			"7777777777777777777\n" +
+			"9999999999999999999\n"
+		:
+			"11111111111111111111" +
+			"33333333333333333333" +
+			"66666666666666666666" +
+			"77777777777777777777" +
+			"99999999999999999999");
+
+		Assert.assertEquals(1, events.size());
+		DocumentEvent event= events.get(0);
+		Assert.assertEquals(40, event.getOffset());
+		Assert.assertEquals(20, event.getLength());
+		Assert.assertEquals(fMasterDocument.get(100, 20), event.getText());
+
+		// no change
+		fSlaveDocument.replaceMasterDocumentRanges(ranges);
+		Assert.assertEquals(1, events.size());
+
+		// the projection still follows master document changes
+		fMasterDocument.replace(100, 0, "x");
+		assertSlaveContents(fMasterDocument.get(0, 20) + fMasterDocument.get(40, 20) + fMasterDocument.get(100, 41) + fMasterDocument.get(161, 20));
+	}
+
+	@Test
+	public void testReplaceMasterDocumentRangesAtMasterEnd() throws BadLocationException {
+		fMasterDocument.set("a\nb\nc\n");
+		createIdenticalProjection();
+
+		fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] { new Region(0, 2) });
+
+		Position[] expected= {
+			new Position(0, 2),
+			new Position(6, 0)
+		};
+		assertFragmentation(expected);
+		assertSlaveContents("a\n");
+
+		// text typed at the end of the projection goes to the end of the master document
+		fSlaveDocument.replace(2, 0, "X");
+		Assert.assertEquals("a\nb\nc\nX", fMasterDocument.get());
+		assertSlaveContents("a\nX");
+	}
+
+	@Test
+	public void testReplaceMasterDocumentRangesWithNone() throws BadLocationException {
+		fMasterDocument.set("a\nb\nc\n");
+		createIdenticalProjection();
+
+		fSlaveDocument.replaceMasterDocumentRanges(new IRegion[0]);
+
+		Position[] expected= {
+			new Position(6, 0)
+		};
+		assertFragmentation(expected);
+		assertSlaveContents("");
+
+		fSlaveDocument.replace(0, 0, "X");
+		Assert.assertEquals("a\nb\nc\nX", fMasterDocument.get());
+		assertSlaveContents("X");
+	}
+
+	@Test
+	public void testReplaceMasterDocumentRangesRandomly() throws BadLocationException {
+		Random random= new Random(42);
+		int length= fMasterDocument.getLength();
+		for (int round= 0; round < 500; round++) {
+			String before= fSlaveDocument.get();
+			List<DocumentEvent> events= new ArrayList<>();
+			IDocumentListener listener= new IDocumentListener() {
+				@Override
+				public void documentAboutToBeChanged(DocumentEvent event) {
+				}
+
+				@Override
+				public void documentChanged(DocumentEvent event) {
+					events.add(event);
+				}
+			};
+			fSlaveDocument.addDocumentListener(listener);
+
+			List<IRegion> ranges= new ArrayList<>();
+			StringBuilder expected= new StringBuilder();
+			int offset= random.nextInt(30);
+			while (offset < length) {
+				int end= Math.min(length, offset + random.nextInt(40));
+				ranges.add(new Region(offset, end - offset));
+				expected.append(fMasterDocument.get(offset, end - offset));
+				offset= end + random.nextInt(40);
+			}
+			fSlaveDocument.replaceMasterDocumentRanges(ranges.toArray(new IRegion[ranges.size()]));
+			fSlaveDocument.removeDocumentListener(listener);
+
+			assertSlaveContents(expected.toString());
+			Assert.assertTrue(events.size() <= 1);
+			if (events.isEmpty()) {
+				Assert.assertEquals(before, expected.toString());
+			} else {
+				DocumentEvent event= events.get(0);
+				String applied= before.substring(0, event.getOffset()) + event.getText() + before.substring(event.getOffset() + event.getLength());
+				Assert.assertEquals(expected.toString(), applied);
+			}
+		}
+	}
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Tests position updating and region queries of documents with many positions.
+ */
+public class DocumentPositionsTest {
+
+	/**
+	 * Adapts detached copies of positions the same way as {@link DefaultPositionUpdater} does.
+	 */
+	private static class ReferenceUpdater extends DefaultPositionUpdater {
+
+		ReferenceUpdater() {
+			super(IDocument.DEFAULT_CATEGORY);
+		}
+
+		void update(List<Position> positions, int offset, int length, String text) {
+			fOffset= offset;
+			fLength= length;
+			fReplaceLength= text.length();
+			for (Position position : positions) {
+				if (position.isDeleted())
+					continue;
+				fPosition= position;
+				fOriginalPosition.offset= position.offset;
+				fOriginalPosition.length= position.length;
+				if (fOffset < fPosition.offset && (fPosition.offset + fPosition.length < fOffset + fLength))
+					fPosition.delete();
+				else
+					adaptToReplace();
+			}
+		}
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random= new Random(17);
+		char[] content= new char[2000];
+		Arrays.fill(content, 'x');
+		Document document= new Document(new String(content));
+
+		List<Position> positions= new ArrayList<>();
+		List<Position> expected= new ArrayList<>();
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(document.getLength());
+			int length= random.nextInt(Math.min(random.nextInt(10) == 0 ? 500 : 20, document.getLength() - offset) + 1);
+			Position position= new Position(offset, length);
+			document.addPosition(position);
+			positions.add(position);
+			expected.add(new Position(offset, length));
+		}
+
+		ReferenceUpdater reference= new ReferenceUpdater();
+		for (int i= 0; i < 1000; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(Math.min(10, document.getLength() - offset) + 1);
+			String text= "yyyy".substring(random.nextInt(5));
+			document.replace(offset, length, text);
+			reference.update(expected, offset, length, text);
+		}
+
+		for (int i= 0; i < positions.size(); i++) {
+			assertEquals(expected.get(i).isDeleted(), positions.get(i).isDeleted());
+			if (!expected.get(i).isDeleted())
+				assertEquals(expected.get(i), positions.get(i));
+		}
+
+		Position[] managed= document.getPositions(IDocument.DEFAULT_CATEGORY);
+		for (int i= 1; i < managed.length; i++)
+			assertTrue(managed[i - 1].offset <= managed[i].offset);
+	}
+
+	@Test
+	public void testOverlappingPositions() throws Exception {
+		Random random= new Random(4711);
+		char[] content= new char[5000];
+		Arrays.fill(content, 'x');
+		Document document= new Document(new String(content));
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(document.getLength());
+			int length= random.nextInt(Math.min(random.nextInt(50) == 0 ? 3000 : 30, document.getLength() - offset) + 1);
+			document.addPosition(new Position(offset, length));
+		}
+
+		Position[] all= document.getPositions(IDocument.DEFAULT_CATEGORY);
+		for (int i= 0; i < 200; i++) {
+			int offset= random.nextInt(document.getLength());
+			int length= random.nextInt(4) == 0 ? 0 : random.nextInt(document.getLength() - offset);
+
+			Set<Position> expected= Collections.newSetFromMap(new IdentityHashMap<>());
+			Position region= new Position(offset, length);
+			for (Position position : all) {
+				if (region.overlapsWith(position.offset, position.length))
+					expected.add(position);
+			}
+
+			Position[] actual= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, true, true);
+			Set<Position> actualSet= Collections.newSetFromMap(new IdentityHashMap<>());
+			actualSet.addAll(Arrays.asList(actual));
+			assertEquals(expected.size(), actual.length);
+			assertEquals(expected, actualSet);
+		}
+	}
+
+	@Test
+	public void testOverlappingPositionsAfterChange() throws Exception {
+		Document document= new Document("0123456789".repeat(100));
+		List<Position> positions= new ArrayList<>();
+		for (int i= 0; i < 100; i++) {
+			Position position= new Position(i * 10, 5);
+			positions.add(position);
+			document.addPosition(position);
+		}
+		assertEquals(0, document.getPositions(IDocument.DEFAULT_CATEGORY, 7, 2, true, true).length);
+
+		// grows the first position to cover the queried region
+		document.replace(2, 0, "abcdef");
+		Position[] actual= document.getPositions(IDocument.DEFAULT_CATEGORY, 7, 2, true, true);
+		assertEquals(1, actual.length);
+		assertTrue(actual[0] == positions.get(0));
+	}
+
+	@Test
+	public void testSubclassedUpdaterVisitsAllPositions() throws Exception {
+		Document document= new Document("0123456789".repeat(10));
+		for (int i= 0; i < 10; i++)
+			document.addPosition(new Position(i * 10, 5));
+		Set<Position> visited= Collections.newSetFromMap(new IdentityHashMap<>());
+		document.addPositionUpdater(new DefaultPositionUpdater(IDocument.DEFAULT_CATEGORY) {
+			@Override
+			protected void adaptToInsert() {
+				visited.add(fPosition);
+				super.adaptToInsert();
+			}
+		});
+
+		document.replace(95, 0, "x");
+		assertEquals(10, visited.size());
+	}
+
+	@Test
+	public void testConcurrentOverlapQueries() throws Exception {
+		Random random= new Random(815);
+		Document document= new Document("x".repeat(5000));
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(document.getLength());
+			document.addPosition(new Position(offset, random.nextInt(Math.min(30, document.getLength() - offset) + 1)));
+		}
+		int expected= document.getPositions(IDocument.DEFAULT_CATEGORY, 2000, 100, true, true).length;
+		// discards the index, so that the readers compute it concurrently
+		document.addPosition(new Position(0, 1));
+
+		List<Thread> threads= new ArrayList<>();
+		List<Throwable> errors= Collections.synchronizedList(new ArrayList<>());
+		for (int t= 0; t < 4; t++) {
+			Thread thread= new Thread(() -> {
+				try {
+					for (int i= 0; i < 200; i++)
+						assertEquals(expected, document.getPositions(IDocument.DEFAULT_CATEGORY, 2000, 100, true, true).length);
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(List.of(), errors);
+	}
+}
@@ -14,16 +14,25 @@
 package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 
 
@@ -471,4 +480,51 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testSnapshot() throws BadLocationException {
+		String original= fDocument.get();
+		long stamp= fDocument.getModificationStamp();
+		IDocument snapshot= fDocument.createSnapshot();
+
+		fDocument.replace(0, 7, "module");
+		fDocument.replace(fDocument.getLength(), 0, "\n// end");
+		IDocument second= fDocument.createSnapshot();
+		fDocument.replace(30, 5, "");
+
+		assertEquals(original, snapshot.get());
+		assertEquals(stamp, ((IDocumentExtension4) snapshot).getModificationStamp());
+		assertEquals(13, snapshot.getNumberOfLines());
+		assertEquals(fDocument.getLength() + 5, second.getLength());
+		assertEquals(14, second.getNumberOfLines());
+		IRegion line= second.getLineInformation(13);
+		assertEquals("// end", second.get(line.getOffset(), line.getLength()));
+		assertSame(snapshot, ((AbstractDocument) snapshot).createSnapshot());
+
+		try {
+			snapshot.replace(0, 0, "x");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testSnapshotReadConcurrently() throws Exception {
+		ExecutorService executor= Executors.newFixedThreadPool(2);
+		try {
+			for (int i= 0; i < 20; i++) {
+				String content= fDocument.get();
+				IDocument snapshot= fDocument.createSnapshot();
+				Future<String> text= executor.submit(() -> snapshot.get());
+				Future<Integer> lines= executor.submit(() -> Integer.valueOf(snapshot.getNumberOfLines()));
+				for (int j= 0; j < 50; j++)
+					fDocument.replace((i * 31 + j * 7) % fDocument.getLength(), 0, j % 10 == 0 ? "\n" : "x");
+				assertEquals(content, text.get());
+				assertEquals(new Document(content).getNumberOfLines(), lines.get().intValue());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
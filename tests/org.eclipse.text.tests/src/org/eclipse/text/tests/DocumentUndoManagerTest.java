@@ -355,6 +355,101 @@ public class DocumentUndoManagerTest {
 		assertEquals(INITIAL_DOCUMENT_CONTENT, reverted);
 	}
 
+	@Test
+	public void testBackspaceWhileTyping() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document("x");
+		createUndoManager(document);
+
+		int offset = 1;
+		for (char c : " helo".toCharArray())
+			document.replace(offset++, 0, String.valueOf(c));
+		document.replace(--offset, 1, "");
+		for (char c : "lo world".toCharArray())
+			document.replace(offset++, 0, String.valueOf(c));
+		assertEquals("x hello world", document.get());
+
+		fUndoManager.undo();
+		assertEquals("x", document.get());
+		fUndoManager.redo();
+		assertEquals("x hello world", document.get());
+	}
+
+	@Test
+	public void testHistorySize() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document(INITIAL_DOCUMENT_CONTENT);
+		createUndoManager(document);
+		assertEquals(0, fUndoManager.getHistorySize());
+
+		document.replace(0, 5, "abc");
+		document.replace(10, 0, "0123456789");
+		document.replace(30, 0, "x");
+		fUndoManager.commit();
+		assertEquals(2 * (3 + 5 + 10 + 1), fUndoManager.getHistorySize());
+
+		fUndoManager.undo();
+		fUndoManager.undo();
+		assertEquals(2 * (3 + 5 + 10 + 1), fUndoManager.getHistorySize());
+		document.replace(0, 0, "y");
+		fUndoManager.commit();
+		assertEquals(2 * (3 + 5 + 1), fUndoManager.getHistorySize());
+
+		fUndoManager.undo();
+		fUndoManager.undo();
+		assertEquals(INITIAL_DOCUMENT_CONTENT, document.get());
+	}
+
+	@Test
+	public void testMaximalHistorySize() throws ExecutionException, BadLocationException {
+		final IDocument document = new Document(INITIAL_DOCUMENT_CONTENT);
+		createUndoManager(document);
+		fUndoManager.setMaximalHistorySize(2 * 1000);
+
+		for (int i = 0; i < 100; i++)
+			document.replace(i % 40, 0, createRandomString(40));
+		fUndoManager.commit();
+		assertTrue(fUndoManager.getHistorySize() <= 2 * 1000);
+
+		int undone = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undone++;
+		}
+		assertEquals(25, undone);
+		assertEquals(INITIAL_DOCUMENT_CONTENT.length() + 75 * 40, document.get().length());
+
+		// a single change larger than the maximal size remains undoable
+		String text = document.get();
+		document.replace(0, 0, createRandomString(2000));
+		fUndoManager.commit();
+		assertTrue(fUndoManager.undoable());
+		fUndoManager.undo();
+		assertEquals(text, document.get());
+	}
+
+	@Test
+	public void testTransferUndoHistory() throws ExecutionException, BadLocationException {
+		final IDocument oldDocument = new Document(INITIAL_DOCUMENT_CONTENT);
+		IDocumentUndoManager oldUndoManager = new DocumentUndoManager(oldDocument);
+		oldUndoManager.connect(this);
+		oldUndoManager.beginCompoundChange();
+		oldDocument.replace(0, 3, "abc");
+		oldDocument.replace(10, 3, "def");
+		oldUndoManager.endCompoundChange();
+		oldDocument.replace(20, 0, "ghi");
+		oldUndoManager.commit();
+
+		final IDocument document = new Document(oldDocument.get());
+		createUndoManager(document);
+		fUndoManager.transferUndoHistory(oldUndoManager);
+		oldUndoManager.disconnect(this);
+		assertEquals(0, oldUndoManager.getHistorySize());
+		assertEquals(2 * (3 + 3 + 3 + 3 + 3), fUndoManager.getHistorySize());
+
+		while (fUndoManager.undoable())
+			fUndoManager.undo();
+		assertEquals(INITIAL_DOCUMENT_CONTENT, document.get());
+	}
+
 	@Test
 	public void testDocumentStamp() throws ExecutionException, BadLocationException {
 		final Document document = new Document(INITIAL_DOCUMENT_CONTENT);
@@ -34,13 +34,17 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		LineTrackerTest4.class,
 		DocumentExtensionTest.class,
 		LineTrackerTest3.class,
+		LargeLineTrackerTest.class,
 		DocumentTest.class,
 		FindReplaceDocumentAdapterTest.class,
+		FindReplaceEngineTest.class,
 		PositionUpdatingCornerCasesTest.class,
+		DocumentPositionsTest.class,
 		ExclusivePositionUpdaterTest.class,
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		PieceTableTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
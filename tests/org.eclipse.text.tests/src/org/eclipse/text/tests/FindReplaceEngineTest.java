@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.text.edits.MultiTextEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
+import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.FindReplaceEngine;
+import org.eclipse.jface.text.IRegion;
+
+public class FindReplaceEngineTest {
+
+	private Document fDocument;
+
+	@Before
+	public void setUp() {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 20000; i++) {
+			text.append("line ").append(i).append(": Foo foo FOO bar");
+			text.append(i % 3 == 0 ? "\r\n" : "\n");
+		}
+		fDocument= new Document(text.toString());
+	}
+
+	private List<IRegion> findWithAdapter(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		List<IRegion> regions= new ArrayList<>();
+		int offset= 0;
+		IRegion region;
+		while (offset <= fDocument.getLength() && (region= adapter.find(offset, findString, true, caseSensitive, wholeWord, regExSearch)) != null) {
+			regions.add(region);
+			offset= region.getOffset() + region.getLength();
+		}
+		return regions;
+	}
+
+	private void assertFindAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, findString, caseSensitive, wholeWord, regExSearch);
+		IRegion[] regions= engine.findAll(null);
+		assertEquals(findWithAdapter(findString, caseSensitive, wholeWord, regExSearch), List.of(regions));
+	}
+
+	@Test
+	public void testFindAll() throws BadLocationException {
+		assertFindAll("foo", true, false, false);
+		assertFindAll("foo", false, false, false);
+		assertFindAll("Foo", false, true, false);
+		assertFindAll("1\\d*:", true, false, true);
+		assertFindAll("bar\\R", true, false, true);
+		assertFindAll("^line 9", true, false, true);
+		assertFindAll("(?<=FOO )bar$", true, false, true);
+	}
+
+	@Test
+	public void testFindAllAcrossChunks() throws BadLocationException {
+		// matches that are longer than the window and start before it
+		assertFindAll("line 1\\d*:[\\s\\S]{70000}", true, false, true);
+	}
+
+	@Test
+	public void testReplaceAll() throws BadLocationException {
+		String original= fDocument.get();
+		List<DocumentRewriteSessionEvent> events= new ArrayList<>();
+		fDocument.addDocumentRewriteSessionListener(events::add);
+
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, "(\\d+): (foo)", false, false, true);
+		MultiTextEdit edit= engine.computeReplaceAll("$2 \\C$1", true, new NullProgressMonitor());
+		assertEquals(20000, engine.apply(edit));
+
+		assertEquals(original.replaceAll("(\\d+): (Foo)", "$2 $1"), fDocument.get());
+		assertEquals(2, events.size());
+		assertEquals(DocumentRewriteSessionEvent.SESSION_START, events.get(0).getChangeType());
+	}
+
+	@Test
+	public void testReplaceAllLiteral() throws BadLocationException {
+		String original= fDocument.get();
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, "foo", true, true, false);
+		assertEquals(20000, engine.apply(engine.computeReplaceAll("$1\\x", false, null)));
+		assertEquals(original.replace(" foo ", " $1\\x "), fDocument.get());
+	}
+
+	@Test
+	public void testNoMatch() throws BadLocationException {
+		String original= fDocument.get();
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, "baz", true, false, false);
+		assertEquals(0, engine.findAll(null).length);
+		assertEquals(0, engine.apply(engine.computeReplaceAll("x", false, null)));
+		assertEquals(original, fDocument.get());
+	}
+
+	@Test
+	public void testCancel() {
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, "foo", true, false, false);
+		try {
+			engine.findAll(monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testConcurrentModification() throws BadLocationException {
+		FindReplaceEngine engine= new FindReplaceEngine(fDocument, "foo", true, false, false);
+		MultiTextEdit edit= engine.computeReplaceAll("x", false, null);
+		fDocument.replace(0, 0, "foo");
+		try {
+			engine.findAll(null);
+			fail();
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+		try {
+			engine.apply(edit);
+			fail();
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+		assertTrue(fDocument.get().startsWith("fooline 0"));
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Tests the line tracking of texts that are large enough to be tracked compactly. A tracker whose
+ * text is set is compared against a tracker that received the same text by a modification.
+ */
+public class LargeLineTrackerTest {
+
+	private static final String[] DELIMITERS= { "\n", "\r\n", "\r" };
+
+	private static final int TEXT_LENGTH= 9 * 1024 * 1024;
+
+	private Random fRandom;
+	private StringBuilder fText;
+	private ILineTracker fTracker;
+	private ILineTracker fReference;
+
+	@Before
+	public void setUp() throws BadLocationException {
+		fRandom= new Random(1234);
+		fText= new StringBuilder(TEXT_LENGTH + 1024);
+		while (fText.length() < TEXT_LENGTH)
+			fText.append(createText(40, 4));
+
+		fTracker= new DefaultLineTracker();
+		fTracker.set(fText.toString());
+		fReference= new DefaultLineTracker();
+		fReference.set("");
+		fReference.replace(0, 0, fText.toString());
+	}
+
+	private String createText(int maxLineLength, int lines) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < lines; i++) {
+			int length= fRandom.nextInt(maxLineLength + 1);
+			for (int j= 0; j < length; j++)
+				text.append((char) ('a' + fRandom.nextInt(26)));
+			text.append(DELIMITERS[fRandom.nextInt(DELIMITERS.length)]);
+		}
+		if (fRandom.nextBoolean())
+			text.append("tail");
+		return text.toString();
+	}
+
+	private void replace(int offset, int length, String text) throws BadLocationException {
+		fTracker.replace(offset, length, text);
+		fReference.replace(offset, length, text);
+		fText.replace(offset, offset + length, text);
+	}
+
+	private void checkLine(int line) throws BadLocationException {
+		assertEquals("offset of line " + line, fReference.getLineOffset(line), fTracker.getLineOffset(line));
+		assertEquals("length of line " + line, fReference.getLineLength(line), fTracker.getLineLength(line));
+		assertEquals("delimiter of line " + line, fReference.getLineDelimiter(line), fTracker.getLineDelimiter(line));
+		IRegion expected= fReference.getLineInformation(line);
+		assertEquals("information of line " + line, expected, fTracker.getLineInformation(line));
+	}
+
+	private void checkOffset(int offset) throws BadLocationException {
+		assertEquals("line of offset " + offset, fReference.getLineNumberOfOffset(offset), fTracker.getLineNumberOfOffset(offset));
+		assertEquals("information of offset " + offset, fReference.getLineInformationOfOffset(offset), fTracker.getLineInformationOfOffset(offset));
+	}
+
+	private void checkAround(int offset) throws BadLocationException {
+		assertEquals("number of lines", fReference.getNumberOfLines(), fTracker.getNumberOfLines());
+		int line= fReference.getLineNumberOfOffset(offset);
+		int lines= fReference.getNumberOfLines();
+		for (int i= Math.max(0, line - 3); i < Math.min(lines, line + 4); i++)
+			checkLine(i);
+		for (int i= Math.max(0, offset - 5); i <= Math.min(fText.length(), offset + 5); i++)
+			checkOffset(i);
+		checkLine(fRandom.nextInt(lines));
+		checkOffset(fRandom.nextInt(fText.length() + 1));
+	}
+
+	private void checkAll() throws BadLocationException {
+		int lines= fReference.getNumberOfLines();
+		assertEquals("number of lines", lines, fTracker.getNumberOfLines());
+		for (int i= 0; i < lines; i++)
+			checkLine(i);
+
+		// the line after the last line, see TreeLineTracker#getLineInformation(int)
+		IRegion expected;
+		try {
+			expected= fReference.getLineInformation(lines);
+		} catch (BadLocationException e) {
+			expected= null;
+		}
+		try {
+			assertEquals("information of line " + lines, expected, fTracker.getLineInformation(lines));
+		} catch (BadLocationException e) {
+			assertEquals("information of line " + lines, expected, null);
+		}
+	}
+
+	@Test
+	public void testSet() throws BadLocationException {
+		checkAll();
+		checkOffset(0);
+		checkOffset(fText.length());
+		assertEquals(fReference.getNumberOfLines(0, fText.length()), fTracker.getNumberOfLines(0, fText.length()));
+	}
+
+	@Test
+	public void testInvalidLocations() {
+		int lines= fTracker.getNumberOfLines();
+		int[] invalidLines= { -1, lines, lines + 1 };
+		for (int line : invalidLines) {
+			try {
+				fTracker.getLineOffset(line);
+				fail("line " + line);
+			} catch (BadLocationException e) {
+				// expected
+			}
+		}
+		int[] invalidOffsets= { -1, fText.length() + 1 };
+		for (int offset : invalidOffsets) {
+			try {
+				fTracker.getLineNumberOfOffset(offset);
+				fail("offset " + offset);
+			} catch (BadLocationException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testTyping() throws BadLocationException {
+		int offset= fText.length() / 2;
+		for (int i= 0; i < 500; i++) {
+			String text= i % 40 == 39 ? "\r\n" : "x";
+			replace(offset, 0, text);
+			offset+= text.length();
+			checkAround(offset);
+		}
+		for (int i= 0; i < 300; i++) {
+			offset--;
+			replace(offset, 1, "");
+			checkAround(offset);
+		}
+		checkAll();
+	}
+
+	@Test
+	public void testRandomEdits() throws BadLocationException {
+		for (int i= 0; i < 400; i++) {
+			int offset= fRandom.nextInt(fText.length() + 1);
+			int maxLength= i % 10 == 0 ? 20000 : 50;
+			int length= Math.min(fRandom.nextInt(maxLength), fText.length() - offset);
+			String text;
+			switch (fRandom.nextInt(4)) {
+				case 0:
+					text= "";
+					break;
+				case 1:
+					text= DELIMITERS[fRandom.nextInt(DELIMITERS.length)];
+					break;
+				case 2:
+					text= createText(10, 1);
+					break;
+				default:
+					text= createText(30, i % 10 == 5 ? 2000 : 5);
+			}
+			replace(offset, length, text);
+			checkAround(offset);
+		}
+		checkAll();
+	}
+
+	@Test
+	public void testSetSmallText() throws BadLocationException {
+		fTracker.set("a\nb\r\nc");
+		fReference.set("a\nb\r\nc");
+		fText.setLength(0);
+		fText.append("a\nb\r\nc");
+		replace(1, 2, "\r\r");
+		checkAll();
+	}
+}
@@ -14,9 +14,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -474,6 +478,121 @@ public class MultiStringMatcherTest {
 		assertEquals("Scanned too far", 5, text.getLastIndex());
 	}
 
+	private static void assertFindAllLikeIndexOf(MultiStringMatcher matcher, String text) {
+		List<Integer> expected= new ArrayList<>();
+		List<String> expectedTexts= new ArrayList<>();
+		int offset= 0;
+		Match m;
+		while ((m= matcher.indexOf(text, offset)) != null) {
+			expected.add(Integer.valueOf(m.getOffset()));
+			expectedTexts.add(m.getText());
+			offset= m.getOffset() + m.getText().length();
+		}
+		List<Integer> actual= new ArrayList<>();
+		matcher.findAll(text, 0, actual::add);
+		assertEquals(expected, actual);
+		for (int i= 0; i < actual.size(); i++) {
+			assertEquals(expectedTexts.get(i), matcher.matchAt(text, actual.get(i).intValue()));
+		}
+	}
+
+	@Test
+	public void testFindAll() throws Exception {
+		MultiStringMatcher matcher= MultiStringMatcher.create("\r", "\n", "\r\n");
+		assertFindAllLikeIndexOf(matcher, "a\r\nb\n\nc\r\rd\r\n\r");
+		List<Integer> offsets= new ArrayList<>();
+		matcher.findAll("a\r\nb\nc", 2, offsets::add);
+		assertEquals(List.of(Integer.valueOf(2), Integer.valueOf(4)), offsets);
+		assertFindAllLikeIndexOf(MultiStringMatcher.create("ab", "cab", "abc", "bcc", "c"), "dcccacabcccabccabcab");
+	}
+
+	@Test
+	public void testFindAllNoSearchStrings() throws Exception {
+		MultiStringMatcher matcher= MultiStringMatcher.create();
+		matcher.findAll("abc", 0, offset -> fail());
+		assertNull(matcher.matchAt("abc", 0));
+	}
+
+	@Test
+	public void testMatchAt() throws Exception {
+		MultiStringMatcher matcher= MultiStringMatcher.create("ab", "abcd", "b", "\u00e4\u00f6");
+		assertEquals("abcd", matcher.matchAt("xabcde", 1));
+		assertEquals("ab", matcher.matchAt("xabc", 1));
+		assertEquals("b", matcher.matchAt("xabc", 2));
+		assertEquals("\u00e4\u00f6", matcher.matchAt("\u00e4\u00f6", 0));
+		assertNull(matcher.matchAt("xabc", 0));
+		assertNull(matcher.matchAt("xabc", 4));
+	}
+
+	@Test
+	public void testRandomLargeMatcher() throws Exception {
+		// many search strings and non-ASCII characters exercise the sparse transitions
+		Random random= new Random(42);
+		String alphabet= "abcd\u00e4\u00f6\u4e2d";
+		List<String> searchStrings= new ArrayList<>();
+		for (int i= 0; i < 500; i++) {
+			StringBuilder string= new StringBuilder();
+			int length= 1 + random.nextInt(6);
+			for (int j= 0; j < length; j++) {
+				string.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			searchStrings.add(string.toString());
+		}
+		MultiStringMatcher matcher= MultiStringMatcher.create(searchStrings.toArray(new String[0]));
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 5000; i++) {
+			text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			if (random.nextInt(20) == 0) {
+				text.append('x');
+			}
+		}
+		assertFindAllLikeIndexOf(matcher, text.toString());
+
+		// compare the overlapping matches with a brute force search
+		String content= text.toString();
+		List<String> expected= new ArrayList<>();
+		for (int i= 0; i < content.length(); i++) {
+			for (String searchString : new HashSet<>(searchStrings)) {
+				if (content.startsWith(searchString, i)) {
+					expected.add("[" + searchString + ", " + i + "]");
+				}
+			}
+		}
+		Collections.sort(expected);
+		List<String> actual= new ArrayList<>();
+		matcher.find(text, 0, match -> actual.add(match.toString()));
+		Collections.sort(actual);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testConcurrentUse() throws Exception {
+		MultiStringMatcher matcher= MultiStringMatcher.create("\r", "\n", "\r\n", "foo", "oof");
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 10000; i++) {
+			text.append(i % 2 == 0 ? "foof\r\n" : "oo\n");
+		}
+		List<Integer> expected= new ArrayList<>();
+		matcher.findAll(text, 0, expected::add);
+		Thread[] threads= new Thread[4];
+		List<List<Integer>> results= Collections.synchronizedList(new ArrayList<>());
+		for (int i= 0; i < threads.length; i++) {
+			threads[i]= new Thread(() -> {
+				List<Integer> offsets= new ArrayList<>();
+				matcher.findAll(text, 0, offsets::add);
+				results.add(offsets);
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(threads.length, results.size());
+		for (List<Integer> result : results) {
+			assertEquals(expected, result);
+		}
+	}
+
 	private static class TestCharSequence implements CharSequence {
 
 		private final String value;
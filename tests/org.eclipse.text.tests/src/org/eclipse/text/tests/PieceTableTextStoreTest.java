@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class PieceTableTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTableTextStore();
+	}
+
+	@Test
+	public void testRandomEdits() {
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder("0123456789abcdefghijklmnopqrstuvwxyz");
+		store.set(expected.toString());
+		Random random= new Random(4711);
+
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(8, expected.length() - offset) + 1);
+			String text= random.nextInt(4) == 0 ? "" : Integer.toString(i);
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+
+			assertEquals(expected.length(), store.getLength());
+			if (expected.length() > 0) {
+				int probe= random.nextInt(expected.length());
+				assertEquals(expected.charAt(probe), store.get(probe));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+
+		for (int i= 0; i < 100; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(expected.length() - offset + 1);
+			assertEquals(expected.substring(offset, offset + length), store.get(offset, length));
+		}
+	}
+
+	@Test
+	public void testTyping() {
+		ITextStore store= createTextStore();
+		store.set("<>");
+		StringBuilder expected= new StringBuilder("<>");
+		for (int i= 0; i < 1000; i++) {
+			String c= Character.toString((char) ('a' + i % 26));
+			store.replace(1 + i, 0, c);
+			expected.insert(1 + i, c);
+		}
+		for (int i= 0; i < 100; i++) {
+			store.replace(1000 - i, 1, null);
+			expected.deleteCharAt(1000 - i);
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testGetIntoArray() {
+		ITextStore store= createTextStore();
+		store.set("hello world");
+		store.replace(5, 1, ", ");
+		store.replace(0, 0, ">");
+
+		char[] dest= new char[8];
+		store.get(3, 6, dest, 1);
+		assertEquals("\0llo, w\0", new String(dest));
+	}
+
+	@Test
+	public void testLargeInsert() {
+		ITextStore store= createTextStore();
+		store.set("[]");
+		StringBuilder large= new StringBuilder();
+		for (int i= 0; i < 10000; i++)
+			large.append(i);
+		store.replace(1, 0, large.toString());
+		assertEquals("[" + large + "]", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testSnapshots() {
+		PieceTableTextStore store= new PieceTableTextStore();
+		StringBuilder expected= new StringBuilder("0123456789abcdefghijklmnopqrstuvwxyz");
+		store.set(expected.toString());
+		Random random= new Random(4711);
+		List<ITextStore> snapshots= new ArrayList<>();
+		List<String> contents= new ArrayList<>();
+
+		for (int i= 0; i < 2000; i++) {
+			if (i % 50 == 0) {
+				snapshots.add(store.createSnapshot());
+				contents.add(expected.toString());
+			}
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(8, expected.length() - offset) + 1);
+			// typing extends the last piece, which may be shared with a snapshot
+			String text= i % 3 == 0 ? "x" : Integer.toString(i);
+			if (i % 3 == 0 && i > 0)
+				offset= Math.min(offset, expected.length());
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+
+		for (int i= 0; i < snapshots.size(); i++) {
+			ITextStore snapshot= snapshots.get(i);
+			String content= contents.get(i);
+			assertEquals(content.length(), snapshot.getLength());
+			assertEquals(content, snapshot.get(0, snapshot.getLength()));
+			for (int j= 0; j < content.length(); j+= 7)
+				assertEquals(content.charAt(j), snapshot.get(j));
+		}
+	}
+
+	@Test
+	public void testSnapshotWhileTyping() {
+		PieceTableTextStore store= new PieceTableTextStore();
+		store.set("<>");
+		StringBuilder expected= new StringBuilder("<>");
+		ITextStore snapshot= null;
+		String content= null;
+		for (int i= 0; i < 100; i++) {
+			if (i % 10 == 5) {
+				snapshot= store.createSnapshot();
+				content= expected.toString();
+			}
+			store.replace(1 + i, 0, "a");
+			expected.insert(1 + i, "a");
+			if (snapshot != null)
+				assertEquals(content, snapshot.get(0, snapshot.getLength()));
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+
+		try {
+			snapshot.replace(0, 0, "x");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -41,7 +42,9 @@ import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 
 public class TextEditTests {
@@ -1385,6 +1388,86 @@ public class TextEditTests {
 		assertEquals(result, 2, 1);
 	}
 
+	@Test
+	public void testCoalesceChanges() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			content.append("line ").append(i).append('\n');
+		IDocument expected= new Document(content.toString());
+		IDocument actual= new Document(content.toString());
+		MultiTextEdit expectedRoot= createFlatEdit(new Random(42), content.length());
+		MultiTextEdit actualRoot= createFlatEdit(new Random(42), content.length());
+		int[] changes= new int[1];
+		actual.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				changes[0]++;
+			}
+		});
+
+		UndoEdit expectedUndo= expectedRoot.apply(expected, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS);
+		UndoEdit actualUndo= actualRoot.apply(actual, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.COALESCE_CHANGES);
+		Assert.assertEquals("Buffer content", expected.get(), actual.get());
+		Assert.assertEquals("Document changes", 1, changes[0]);
+		assertEquals(actualRoot, expectedRoot.getOffset(), expectedRoot.getLength());
+		TextEdit[] expectedChildren= expectedRoot.getChildren();
+		TextEdit[] actualChildren= actualRoot.getChildren();
+		for (int i= 0; i < expectedChildren.length; i++)
+			assertEquals(actualChildren[i], expectedChildren[i].getOffset(), expectedChildren[i].getLength());
+		Assert.assertEquals("Undo", expectedUndo.toString(), actualUndo.toString());
+
+		actualUndo.apply(actual);
+		Assert.assertEquals("Buffer content restored", content.toString(), actual.get());
+	}
+
+	@Test
+	public void testCoalesceChangesNoUndo() throws Exception {
+		fRoot.addChild(new InsertEdit(0, "xx"));
+		fRoot.addChild(new DeleteEdit(2, 3));
+		fRoot.addChild(new ReplaceEdit(7, 2, "y"));
+		Assert.assertNull(fRoot.apply(fDocument, TextEdit.COALESCE_CHANGES));
+		Assert.assertEquals("Buffer content", "xx0156y9", fDocument.get());
+	}
+
+	@Test
+	public void testCoalesceChangesIgnored() throws Exception {
+		MoveSourceEdit s1= new MoveSourceEdit(2, 2);
+		MoveTargetEdit t1= new MoveTargetEdit(7, s1);
+		fRoot.addChild(s1);
+		fRoot.addChild(t1);
+		fRoot.addChild(new ReplaceEdit(8, 1, "x"));
+		UndoEdit undo= fRoot.apply(fDocument, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.COALESCE_CHANGES);
+		Assert.assertEquals("Buffer content", "01456237x9", fDocument.get());
+		doUndoRedo(undo, "01456237x9");
+	}
+
+	private static MultiTextEdit createFlatEdit(Random random, int length) {
+		MultiTextEdit root= new MultiTextEdit();
+		int offset= random.nextInt(20);
+		while (offset < length) {
+			int editLength= Math.min(random.nextInt(6), length - offset);
+			switch (random.nextInt(4)) {
+				case 0:
+					root.addChild(new InsertEdit(offset, "ins" + offset));
+					editLength= 0;
+					break;
+				case 1:
+					root.addChild(new DeleteEdit(offset, editLength));
+					break;
+				case 2:
+					root.addChild(new ReplaceEdit(offset, editLength, "line"));
+					break;
+				default:
+					root.addChild(new ReplaceEdit(offset, editLength, random.nextBoolean() ? "" : "\n"));
+			}
+			offset+= editLength + random.nextInt(20);
+		}
+		return root;
+	}
+
 	private void doUndoRedo(UndoEdit undo, String redoResult) throws Exception {
 		UndoEdit redo= undo.apply(fDocument);
 		assertBufferContent();
@@ -14,15 +14,21 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.ILineDiffInfo;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
 /**
  * Tests for the {@link DocumentLineDiffer}.
@@ -169,4 +175,104 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that the differences of a large document are computed by line, both when the differ
+	 * initializes and when large blocks of lines are pasted.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void largeDocumentIsDiffedByLine() throws Exception {
+		// given
+		StringBuilder reference= new StringBuilder();
+		for (int i= 0; i < 3000; i++)
+			reference.append("line ").append(i).append('\n');
+		fDocument.set(reference.toString());
+		fDocument.replace(fDocument.getLineOffset(10), fDocument.getLineLength(10), "changed\n");
+		fLineDiffer.setReferenceProvider(new ReferenceProvider(new Document(reference.toString())));
+
+		// when
+		fLineDiffer.connect(fDocument);
+		waitForSynchronization();
+
+		// then
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(9).getChangeType());
+		assertEquals(ILineDiffInfo.CHANGED, fLineDiffer.getLineInfo(10).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(11).getChangeType());
+
+		// when
+		StringBuilder paste= new StringBuilder();
+		for (int i= 0; i < 40; i++)
+			paste.append("pasted ").append(i).append('\n');
+		fDocument.replace(fDocument.getLineOffset(100), 0, paste.toString());
+
+		// then
+		assertTrue(fLineDiffer.isSynchronized());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(99).getChangeType());
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(100).getChangeType());
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(139).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(140).getChangeType());
+
+		// when
+		paste.setLength(0);
+		for (int i= 0; i < 2000; i++)
+			paste.append("large paste ").append(i).append('\n');
+		fDocument.replace(fDocument.getLineOffset(1000), 0, paste.toString());
+		waitForSynchronization();
+
+		// then
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(999).getChangeType());
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(1000).getChangeType());
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(2999).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(3000).getChangeType());
+
+		fLineDiffer.disconnect(fDocument);
+	}
+
+	private void waitForSynchronization() throws InterruptedException {
+		long timeout= System.currentTimeMillis() + 10000;
+		while (!fLineDiffer.isSynchronized() && System.currentTimeMillis() < timeout)
+			Thread.sleep(50);
+		assertTrue(fLineDiffer.isSynchronized());
+	}
+
+	/**
+	 * Reference provider returning a fixed document.
+	 */
+	private static final class ReferenceProvider implements IQuickDiffReferenceProvider {
+
+		private final IDocument fReference;
+
+		ReferenceProvider(IDocument reference) {
+			fReference= reference;
+		}
+
+		@Override
+		public IDocument getReference(IProgressMonitor monitor) {
+			return fReference;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getId() {
+			return "test";
+		}
+
+		@Override
+		public void setActiveEditor(ITextEditor editor) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void setId(String id) {
+		}
+	}
+
 }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDiff;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+/**
+ * Tests for the {@link HistogramDiff}, with regions too large for the <code>RangeDifferencer</code>
+ * and lines that repeat.
+ */
+public class HistogramDiffTest {
+
+	/**
+	 * Test that random documents over small alphabets, with lines repeating more or less often
+	 * than the differ anchors runs at, are diffed into valid differences.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void repeatedLinesAreDiffed() throws Exception {
+		int[] alphabetSizes= { 4, 16, 64, 256 };
+		for (int seed= 0; seed < 20; seed++) {
+			Random random= new Random(seed);
+			int alphabetSize= alphabetSizes[seed % alphabetSizes.length];
+			List<String> left= new ArrayList<>();
+			for (int i= 0, n= 200 + random.nextInt(800); i < n; i++)
+				left.add("line " + random.nextInt(alphabetSize));
+			List<String> right= new ArrayList<>();
+			for (String line : left) {
+				int edit= random.nextInt(20);
+				if (edit < 2)
+					continue; // deleted
+				if (edit < 4)
+					right.add("line " + random.nextInt(alphabetSize)); // inserted
+				right.add(edit == 4 ? "changed" : line);
+			}
+
+			assertValidDifferences("seed " + seed, left, right);
+		}
+	}
+
+	/**
+	 * Test that a region whose common lines all occur more often than the differ anchors runs at
+	 * is diffed minimally.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void frequentLinesAreDiffed() throws Exception {
+		Random random= new Random(42);
+		List<String> left= new ArrayList<>();
+		List<String> right= new ArrayList<>();
+		for (int i= 0; i < 300; i++) {
+			left.add(i % 3 == 0 ? "left " + i : random.nextBoolean() ? "x" : "y");
+			right.add(i % 3 == 0 ? "right " + i : random.nextBoolean() ? "x" : "y");
+		}
+		assertTrue(left.stream().filter("x"::equals).count() > 64);
+		assertTrue(left.stream().filter("y"::equals).count() > 64);
+
+		int unchanged= assertValidDifferences("frequent", left, right);
+		assertEquals(longestCommonSubsequence(left, right), unchanged);
+	}
+
+	/**
+	 * Diffs both sides and checks that the differences alternate between unchanged and changed
+	 * ranges, cover both sides, and that the unchanged lines are equal on both sides.
+	 *
+	 * @param message the assertion message
+	 * @param left the reference lines
+	 * @param right the actual lines
+	 * @return the number of unchanged lines
+	 * @throws BadLocationException if the documents are not built as expected
+	 */
+	private static int assertValidDifferences(String message, List<String> left, List<String> right) throws BadLocationException {
+		IDocument leftDocument= new Document(String.join("\n", left));
+		IDocument rightDocument= new Document(String.join("\n", right));
+		assertTrue(message, (long) leftDocument.getNumberOfLines() * rightDocument.getNumberOfLines() > 1 << 12);
+		DJBHashFunction hash= new DJBHashFunction();
+		DocEquivalenceComparator leftComparator= new DocEquivalenceComparator(new DocumentEquivalenceClass(leftDocument, hash), null);
+		DocEquivalenceComparator rightComparator= new DocEquivalenceComparator(new DocumentEquivalenceClass(rightDocument, hash), null);
+
+		List<QuickDiffRangeDifference> differences= new HistogramDiff(leftComparator, rightComparator, null).findRanges();
+
+		int leftLine= 0;
+		int rightLine= 0;
+		int previousKind= -1;
+		List<String> leftUnchanged= new ArrayList<>();
+		List<String> rightUnchanged= new ArrayList<>();
+		for (QuickDiffRangeDifference difference : differences) {
+			assertNotEquals(message, previousKind, difference.kind());
+			previousKind= difference.kind();
+			assertEquals(message, leftLine, difference.leftStart());
+			assertEquals(message, rightLine, difference.rightStart());
+			if (difference.kind() == RangeDifference.NOCHANGE) {
+				assertEquals(message, difference.leftLength(), difference.rightLength());
+				assertTrue(message, difference.leftLength() > 0);
+				for (int i= 0; i < difference.leftLength(); i++) {
+					String line= getLine(leftDocument, difference.leftStart() + i);
+					assertEquals(message, line, getLine(rightDocument, difference.rightStart() + i));
+					leftUnchanged.add(line);
+					rightUnchanged.add(getLine(rightDocument, difference.rightStart() + i));
+				}
+			} else {
+				assertEquals(message, RangeDifference.CHANGE, difference.kind());
+				assertTrue(message, difference.leftLength() > 0 || difference.rightLength() > 0);
+			}
+			leftLine= difference.leftEnd();
+			rightLine= difference.rightEnd();
+		}
+		assertEquals(message, leftDocument.getNumberOfLines(), leftLine);
+		assertEquals(message, rightDocument.getNumberOfLines(), rightLine);
+		// taken in ascending order from both sides, the unchanged lines are a common subsequence
+		assertEquals(message, leftUnchanged, rightUnchanged);
+		return leftUnchanged.size();
+	}
+
+	private static String getLine(IDocument document, int line) throws BadLocationException {
+		IRegion region= document.getLineInformation(line);
+		return document.get(region.getOffset(), region.getLength());
+	}
+
+	private static int longestCommonSubsequence(List<String> left, List<String> right) {
+		int[][] lengths= new int[left.size() + 1][right.size() + 1];
+		for (int i= left.size() - 1; i >= 0; i--) {
+			for (int j= right.size() - 1; j >= 0; j--) {
+				lengths[i][j]= left.get(i).equals(right.get(j))
+						? lengths[i + 1][j + 1] + 1
+						: Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+			}
+		}
+		return lengths[0][0];
+	}
+}
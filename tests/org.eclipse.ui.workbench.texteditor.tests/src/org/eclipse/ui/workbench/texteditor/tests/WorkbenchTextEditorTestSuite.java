@@ -41,6 +41,7 @@ import org.eclipse.ui.workbench.texteditor.tests.rulers.RulerTestSuite;
 		ScreenshotTest.class,
 		AbstractTextZoomHandlerTest.class,
 		DocumentLineDifferTest.class,
+		HistogramDiffTest.class,
 		MinimapPageTest.class,
 		MinimapWidgetTest.class,
 		TextEditorPluginTest.class,